@@ -0,0 +1,45 @@
+package com.ambientbytes.observables;
+
+/**
+ * Snapshot that holds a copy of all items of a list.
+ * Lists that cannot share their storage with snapshots copy their items under the read lock,
+ * so taking the snapshot takes O(n) while writers wait.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+final class ArraySnapshot<T> implements IListSnapshot<T> {
+
+	private final Object[] items;
+
+	private ArraySnapshot(Object[] items) {
+		this.items = items;
+	}
+
+	static <T> IListSnapshot<T> copyOf(IReadOnlyObservableList<T> list, IReadWriteMonitor monitor) {
+		final IResource res = monitor.acquireRead();
+
+		try {
+			final Object[] items = new Object[list.getSize()];
+
+			for (int i = 0; i < items.length; ++i) {
+				items[i] = list.getAt(i);
+			}
+
+			return new ArraySnapshot<>(items);
+		} finally {
+			res.release();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getAt(int index) {
+		return (T) items[index];
+	}
+
+	@Override
+	public int getSize() {
+		return items.length;
+	}
+}
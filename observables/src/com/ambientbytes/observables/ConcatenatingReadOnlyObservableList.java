@@ -0,0 +1,250 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observable list that concatenates lists of a list set without copying their items.
+ * Unlike MergingReadOnlyObservableList, the list keeps only sizes of the concatenated lists in a Fenwick tree;
+ * getAt() finds the list that owns the index by a search in the tree and reads the item from that list,
+ * and events of the lists are reported shifted by their offsets.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of the list item.
+ */
+final class ConcatenatingReadOnlyObservableList<T> implements ILinkedReadOnlyObservableList<T> {
+
+	private final IReadWriteMonitor monitor;
+	private final ListObservers<T> observers;
+	private final List<ListInfo> lists;
+	private final Map<IReadOnlyObservableList<T>, ListInfo> listInfos;	// list infos by their lists, compared by identity
+	private final FenwickTree sizes;	// sizes of lists in the "lists" collection as seen by observers
+	private final IListSet<T> listSet;
+	private final IListSetListener<T> listSetListener;
+
+	//
+	// Observer of one of the concatenated lists. The size of the list as seen by observers of the concatenation
+	// is kept in the "sizes" tree and differs from the actual size of the list while the list is reporting a change.
+	//
+	private final class ListInfo implements IListObserver {
+		private final IReadOnlyObservableList<T> list;
+		private int index;	// index of the list in the "lists" collection
+
+		ListInfo(IReadOnlyObservableList<T> list, int index) {
+			this.list = list;
+			this.index = index;
+			this.list.addObserver(this);
+		}
+
+		void unlink() {
+			list.removeObserver(this);
+		}
+
+		int offset() {
+			return sizes.prefixSum(index);
+		}
+
+		void resize(int difference) {
+			sizes.set(index, sizes.get(index) + difference);
+		}
+
+		@Override
+		public void added(int startIndex, int count) {
+			resize(count);
+			observers.added(offset() + startIndex, count);
+		}
+
+		@Override
+		public void changing(int startIndex, int count) {
+			observers.changing(offset() + startIndex, count);
+		}
+
+		@Override
+		public void changed(int startIndex, int count) {
+			observers.changed(offset() + startIndex, count);
+		}
+
+		@Override
+		public void removing(int startIndex, int count) {
+			observers.removing(offset() + startIndex, count);
+		}
+
+		@Override
+		public void removed(int startIndex, int count) {
+			resize(-count);
+			observers.removed(offset() + startIndex, count);
+		}
+
+		@Override
+		public void moved(int oldStartIndex, int newStartIndex, int count) {
+			final int offset = offset();
+
+			observers.moved(offset + oldStartIndex, offset + newStartIndex, count);
+		}
+
+		@Override
+		public void permuted(int[] newPositions) {
+			//
+			// Items of other lists keep their positions in the concatenation.
+			//
+			final int offset = offset();
+			final int[] positions = new int[sizes.sum()];
+
+			for (int i = 0; i < positions.length; ++i) {
+				positions[i] = i;
+			}
+			for (int i = 0; i < newPositions.length; ++i) {
+				positions[offset + i] = offset + newPositions[i];
+			}
+			observers.permuted(positions);
+		}
+
+		@Override
+		public void resetting() {
+			observers.resetting();
+		}
+
+		@Override
+		public void reset() {
+			sizes.set(index, list.getSize());
+			observers.reset();
+		}
+	}
+
+	ConcatenatingReadOnlyObservableList(IListSet<T> listSet, IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.observers = new ListObservers<>(monitor);
+		this.lists = new ArrayList<>();
+		this.listInfos = new IdentityHashMap<>();
+		this.sizes = new FenwickTree();
+		this.listSet = listSet;
+
+		for (IReadOnlyObservableList<T> list : listSet) {
+			add(list);
+		}
+		this.listSetListener = new IListSetListener<T>() {
+
+			@Override
+			public void added(IListSet<T> source, IReadOnlyObservableList<T> list) {
+				add(list);
+			}
+
+			@Override
+			public void removed(IListSet<T> source, IReadOnlyObservableList<T> list) {
+				remove(list);
+			}
+
+		};
+		this.listSet.addListener(this.listSetListener);
+	}
+
+	@Override
+	public T getAt(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		//
+		// The search skips empty lists because it finds the first list whose items end past the index.
+		//
+		final int listIndex = sizes.indexOf(index);
+
+		return lists.get(listIndex).list.getAt(index - sizes.prefixSum(listIndex));
+	}
+
+	@Override
+	public int getSize() {
+		return sizes.sum();
+	}
+
+	@Override
+	public <R> R read(IListReader<T, R> reader) {
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		return ArraySnapshot.copyOf(this, monitor);
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			listSet.removeListener(listSetListener);
+			for (ListInfo list : lists) {
+				list.unlink();
+			}
+			lists.clear();
+			listInfos.clear();
+			sizes.clear();
+		} finally {
+			res.release();
+		}
+	}
+
+	private void add(IReadOnlyObservableList<T> list) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (listInfos.containsKey(list)) {
+				throw new IllegalArgumentException("duplicate list in the collection");
+			}
+
+			final int startIndex = sizes.sum();
+			final int length = list.getSize();
+			final ListInfo info = new ListInfo(list, lists.size());
+
+			lists.add(info);
+			listInfos.put(list, info);
+			sizes.append(length);
+
+			if (length > 0) {
+				observers.added(startIndex, length);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	private void remove(IReadOnlyObservableList<T> list) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			final ListInfo info = listInfos.remove(list);
+
+			if (info != null) {
+				final int offset = info.offset();
+				final int length = sizes.get(info.index);
+
+				info.unlink();
+				if (length > 0) {
+					observers.removing(offset, length);
+				}
+				lists.remove(info.index);
+				sizes.remove(info.index, 1);
+				for (int i = info.index; i < lists.size(); ++i) {
+					lists.get(i).index = i;
+				}
+				if (length > 0) {
+					observers.removed(offset, length);
+				}
+			}
+		} finally {
+			res.release();
+		}
+	}
+}
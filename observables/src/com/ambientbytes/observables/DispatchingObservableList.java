@@ -7,7 +7,7 @@ import java.util.List;
 final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T> {
 
 	private final IDispatcher dispatcher;
-	private final ArrayListEx<T> data;
+	private final SegmentedList<T> data;
 		
 	DispatchingObservableList(
 			IReadOnlyObservableList<T> source,
@@ -17,7 +17,7 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 		int size = source.getSize();
 
 		this.dispatcher = dispatcher;
-		this.data = new ArrayListEx<>(source.getSize());
+		this.data = new SegmentedList<>();
 		
 		final IResource lock = monitor.acquireRead();
 		final Collection<T> initialData = new ArrayList<>(source.getSize());
@@ -57,6 +57,24 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 		return data.size();
 	}
 
+	@Override
+	public <R> R read(IListReader<T, R> reader) {
+		//
+		// Contents of the list are changed by actions dispatched by the dispatcher, not under the monitor,
+		// so the list may be read consistently only by the dispatcher's thread.
+		//
+		return reader.read(this);
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		//
+		// Like read(), the snapshot must be taken by the dispatcher's thread; the snapshot itself
+		// may then be passed to and read by any other thread.
+		//
+		return data.snapshot();
+	}
+
 	@Override
 	protected void onAdded(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		final List<T> addedItems = new ArrayList<>(count);
@@ -124,6 +142,16 @@ final class DispatchingObservableList<T> extends LinkedReadOnlyObservableList<T>
 		});
 	}
 	
+	@Override
+	protected void onPermuted(IReadOnlyObservableList<T> source, final int[] newPositions) {
+		dispatcher.dispatch(new IAction() {
+			@Override public void execute() {
+				data.permute(0, newPositions);
+				notifyPermuted(newPositions);
+			}
+		});
+	}
+	
 	@Override
 	protected void onResetting(IReadOnlyObservableList<T> source) {
 		dispatcher.dispatch(new IAction() {
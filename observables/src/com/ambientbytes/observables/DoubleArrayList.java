@@ -0,0 +1,70 @@
+package com.ambientbytes.observables;
+
+/**
+ * Growable array of primitive double values with the range operations needed by observable double lists.
+ * @author Pavel Karpenko
+ *
+ */
+final class DoubleArrayList extends PrimitiveArrayList<double[]> {
+
+	DoubleArrayList() {
+		this(16);
+	}
+
+	DoubleArrayList(int capacity) {
+		super(capacity);
+	}
+
+	double get(int index) {
+		checkIndex(index);
+		return array()[index];
+	}
+
+	void set(int index, double value) {
+		checkIndex(index);
+		array()[index] = value;
+	}
+
+	void add(double value) {
+		add(size(), value);
+	}
+
+	void add(int index, double value) {
+		open(index, 1);
+		array()[index] = value;
+	}
+
+	@Override
+	double[] newArray(int length) {
+		return new double[length];
+	}
+
+	@Override
+	double[] read(IReadOnlyObservableList<?> source, int startIndex, int count) {
+		final IReadOnlyObservableDoubleList doubleSource = (IReadOnlyObservableDoubleList) source;
+		final double[] values = new double[count];
+
+		for (int i = 0; i < count; ++i) {
+			values[i] = doubleSource.getDouble(startIndex + i);
+		}
+
+		return values;
+	}
+
+	@Override
+	double[] select(double[] values, int[] indexes) {
+		final double[] selected = new double[indexes.length];
+
+		for (int i = 0; i < indexes.length; ++i) {
+			selected[i] = values[indexes[i]];
+		}
+
+		return selected;
+	}
+
+	@Override
+	boolean same(double[] values, int index, double[] otherValues, int otherIndex) {
+		// Double.compare also finds NaN values, which are not equal to themselves.
+		return Double.compare(values[index], otherValues[otherIndex]) == 0;
+	}
+}
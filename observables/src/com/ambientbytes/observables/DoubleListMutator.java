@@ -0,0 +1,83 @@
+package com.ambientbytes.observables;
+
+public final class DoubleListMutator implements IDoubleListMutator, IDoubleListMutatorListener {
+
+	private final MutatorListeners<IDoubleListMutator> listeners;
+
+	public DoubleListMutator(IReadWriteMonitor monitor) {
+		this.listeners = new MutatorListeners<>(monitor, new IDoubleListMutator[0]);
+	}
+
+	@Override
+	public void addListener(IDoubleListMutator listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(IDoubleListMutator listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void add(double value) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, double value) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, double[] values) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, double value) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, double[] values) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(double[] newValues) {
+		for (IDoubleListMutator mutator : listeners.get()) {
+			mutator.reset(newValues);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick (binary indexed) tree of non-negative integer values that calculates sums of the first values
+ * and finds the value that contains a running total in O(log n).
+ * Appending a value takes O(log n); inserting, removing and moving values rebuilds the tree in O(n).
+ * @author Pavel Karpenko
+ */
+final class FenwickTree {
+
+	private int[] values;
+	private int[] tree;	// one-based tree of partial sums; tree[i] is the sum of values (i - lowbit(i), i]
+	private int size;
+
+	FenwickTree() {
+		this(0);
+	}
+
+	FenwickTree(int capacity) {
+		this.values = new int[Math.max(capacity, 1)];
+		this.tree = new int[this.values.length + 1];
+		this.size = 0;
+	}
+
+	/**
+	 * Get the number of values in the tree.
+	 * @return number of values in the tree.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the value at the specified index.
+	 * @param index zero-based index of the value.
+	 * @return value at the index.
+	 */
+	int get(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Change the value at the specified index.
+	 * @param index zero-based index of the value.
+	 * @param value new value.
+	 */
+	void set(int index, int value) {
+		checkIndex(index);
+
+		final int delta = value - values[index];
+
+		if (delta != 0) {
+			values[index] = value;
+
+			for (int i = index + 1; i <= size; i += i & -i) {
+				tree[i] += delta;
+			}
+		}
+	}
+
+	/**
+	 * Calculate the sum of the first values.
+	 * @param count number of the first values to sum up.
+	 * @return sum of values with indexes lower than count.
+	 */
+	int prefixSum(int count) {
+		if (count < 0 || count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int sum = 0;
+
+		for (int i = count; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Calculate the sum of all values.
+	 * @return sum of all values in the tree.
+	 */
+	int sum() {
+		return prefixSum(size);
+	}
+
+	/**
+	 * Find the value that contains the specified running total, that is the lowest index
+	 * for which prefixSum(index + 1) is greater than the total.
+	 * @param total running total; must be non-negative and less than sum().
+	 * @return zero-based index of the value.
+	 */
+	int indexOf(int total) {
+		return locationIndex(locate(total));
+	}
+
+	/**
+	 * Find the value that contains the specified running total and the sum of the values before it
+	 * in one walk of the tree.
+	 * @param total running total; must be non-negative and less than sum().
+	 * @return location of the value; locationIndex() and locationStart() extract the index of the value
+	 * and prefixSum() of the index from the location.
+	 */
+	long locate(int total) {
+		if (total < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int index = 0;
+		int remainder = total;
+
+		for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+			final int next = index + step;
+
+			if (next <= size && tree[next] <= remainder) {
+				index = next;
+				remainder -= tree[next];
+			}
+		}
+
+		if (index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return ((long) index << 32) | (total - remainder);
+	}
+
+	/**
+	 * Extract the index of the value from a location returned by locate().
+	 * @param location location of the value.
+	 * @return zero-based index of the value.
+	 */
+	static int locationIndex(long location) {
+		return (int) (location >>> 32);
+	}
+
+	/**
+	 * Extract the sum of the values before the located value from a location returned by locate().
+	 * @param location location of the value.
+	 * @return sum of values with indexes lower than the index of the located value.
+	 */
+	static int locationStart(long location) {
+		return (int) location;
+	}
+
+	/**
+	 * Add a value after the last value.
+	 * @param value value to add.
+	 */
+	void append(int value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+
+		//
+		// The new node covers the new value and the values summed up by its children, which are
+		// the nodes at size - 1, size - 1 - lowbit(size - 1) and so on down to size - lowbit(size).
+		//
+		int sum = value;
+
+		for (int i = size - 1; i > size - (size & -size); i -= i & -i) {
+			sum += tree[i];
+		}
+		tree[size] = sum;
+	}
+
+	/**
+	 * Insert values at the specified index.
+	 * @param index zero-based index where the first inserted value will appear.
+	 * @param newValues values to insert.
+	 * @param count number of values from newValues to insert.
+	 */
+	void insert(int index, int[] newValues, int count) {
+		if (index < 0 || index > size || count < 0 || count > newValues.length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (count > 0) {
+			ensureCapacity(size + count);
+			System.arraycopy(values, index, values, index + count, size - index);
+			System.arraycopy(newValues, 0, values, index, count);
+			size += count;
+			rebuild();
+		}
+	}
+
+	/**
+	 * Remove a range of values.
+	 * @param index zero-based index of the first removed value.
+	 * @param count number of values to remove.
+	 */
+	void remove(int index, int count) {
+		if (index < 0 || count < 0 || index + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (count > 0) {
+			System.arraycopy(values, index + count, values, index, size - index - count);
+			size -= count;
+			rebuild();
+		}
+	}
+
+	/**
+	 * Move a range of values.
+	 * @param source index of the first moved value.
+	 * @param destination index where the first moved value will appear.
+	 * @param count number of values to move.
+	 */
+	void move(int source, int destination, int count) {
+		if (count < 0 || source < 0 || destination < 0 || source + count > size || destination + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && count > 0) {
+			final int[] moved = Arrays.copyOfRange(values, source, source + count);
+
+			if (source < destination) {
+				System.arraycopy(values, source + count, values, source, destination - source);
+			} else {
+				System.arraycopy(values, destination, values, destination + count, source - destination);
+			}
+			System.arraycopy(moved, 0, values, destination, count);
+			rebuild();
+		}
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	void clear() {
+		size = 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			final int newLength = Math.max(capacity, values.length + (values.length >> 1));
+			values = Arrays.copyOf(values, newLength);
+			tree = Arrays.copyOf(tree, newLength + 1);
+		}
+	}
+
+	private void rebuild() {
+		//
+		// Build the tree in linear time by pushing each partial sum to its parent.
+		//
+		Arrays.fill(tree, 0, size + 1, 0);
+
+		for (int i = 1; i <= size; ++i) {
+			tree[i] += values[i - 1];
+
+			final int parent = i + (i & -i);
+
+			if (parent <= size) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.ambientbytes.observables;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evaluator of an item filter over a list of items that splits large lists into chunks
+ * evaluated in parallel by a fork/join pool.
+ * The caller keeps holding the write lock while the pool evaluates the filter, so the filter
+ * must not acquire the lock or change the evaluated items; it must be safe to call from several threads.
+ * @author Pavel Karpenko
+ */
+final class FilterEvaluator {
+
+	//
+	// Lists shorter than the threshold are evaluated on the calling thread;
+	// larger lists are split into chunks of at most CHUNK_SIZE items.
+	//
+	static final int PARALLEL_THRESHOLD = 2048;
+	static final int CHUNK_SIZE = 1024;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Create an evaluator.
+	 * @param pool fork/join pool that evaluates filters over large lists; if null, all lists are evaluated
+	 * on the calling thread.
+	 */
+	FilterEvaluator(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Evaluate the filter for all items in the list.
+	 * @param filter filter to evaluate.
+	 * @param items random access list of evaluated items.
+	 * @return array of results of the filter; the result at index i is the result for the item at index i.
+	 */
+	<T> boolean[] evaluate(final IItemFilter<T> filter, final List<T> items) {
+		final int size = items.size();
+		final boolean[] results = new boolean[size];
+		final RangeTask.Operation evaluation = new RangeTask.Operation() {
+			@Override
+			void compute(int startIndex, int endIndex) {
+				for (int i = startIndex; i < endIndex; ++i) {
+					results[i] = filter.isIn(items.get(i));
+				}
+			}
+		};
+
+		if (pool == null || size < PARALLEL_THRESHOLD) {
+			evaluation.compute(0, size);
+		} else {
+			RangeTask.invoke(pool, evaluation, size, CHUNK_SIZE);
+		}
+
+		return results;
+	}
+}
@@ -0,0 +1,54 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable double list that keeps values of another observable double list that pass through a filter,
+ * in the same order as in the source list.
+ * @author Pavel Karpenko
+ *
+ */
+final class FilteringReadOnlyObservableDoubleList
+		extends FilteringReadOnlyObservablePrimitiveList<Double, double[], IDoubleFilter>
+		implements IReadOnlyObservableDoubleList {
+
+	private final DoubleArrayList data;
+
+	FilteringReadOnlyObservableDoubleList(
+			IReadOnlyObservableDoubleList source,
+			IObservableReference<IDoubleFilter> filter,
+			IReadWriteMonitor monitor) {
+		this(source, filter, new DoubleArrayList(), monitor);
+	}
+
+	private FilteringReadOnlyObservableDoubleList(
+			IReadOnlyObservableDoubleList source,
+			IObservableReference<IDoubleFilter> filter,
+			DoubleArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, filter, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Double getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected int filter(IDoubleFilter filter, double[] values, int[] flags) {
+		int visibleCount = 0;
+
+		for (int i = 0; i < values.length; ++i) {
+			if (filter.isIn(values[i])) {
+				flags[i] = 1;
+				values[visibleCount++] = values[i];
+			}
+		}
+
+		return visibleCount;
+	}
+}
@@ -0,0 +1,54 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable int list that keeps values of another observable int list that pass through a filter,
+ * in the same order as in the source list.
+ * @author Pavel Karpenko
+ *
+ */
+final class FilteringReadOnlyObservableIntList
+		extends FilteringReadOnlyObservablePrimitiveList<Integer, int[], IIntFilter>
+		implements IReadOnlyObservableIntList {
+
+	private final IntArrayList data;
+
+	FilteringReadOnlyObservableIntList(
+			IReadOnlyObservableIntList source,
+			IObservableReference<IIntFilter> filter,
+			IReadWriteMonitor monitor) {
+		this(source, filter, new IntArrayList(), monitor);
+	}
+
+	private FilteringReadOnlyObservableIntList(
+			IReadOnlyObservableIntList source,
+			IObservableReference<IIntFilter> filter,
+			IntArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, filter, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Integer getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected int filter(IIntFilter filter, int[] values, int[] flags) {
+		int visibleCount = 0;
+
+		for (int i = 0; i < values.length; ++i) {
+			if (filter.isIn(values[i])) {
+				flags[i] = 1;
+				values[visibleCount++] = values[i];
+			}
+		}
+
+		return visibleCount;
+	}
+}
@@ -1,29 +1,51 @@
 package com.ambientbytes.observables;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableList<T> {
-	
-	private final ArrayListEx<ItemContainer> data;
-	private final Map<T, ItemContainer> filteredOutItems;
+
+	//
+	// Released slots are compacted when there are more of them than visible items and at least this many.
+	//
+	private static final int MIN_RELEASED_SLOTS = 64;
+
+	private final SegmentedList<ItemContainer> data;
+	//
+	// Visible containers are appended to "data" and take the next slot of the tree; the tree has 1 for slots
+	// of visible containers and 0 for slots released by containers that have been removed from "data",
+	// so the index of a visible container in "data" is the prefix sum of its slot.
+	//
+	private final FenwickTree slots;
+	//
+	// Containers of all items of the source list, both visible and filtered out, keyed by identity
+	// of the contained item. Containers of the same item included in the source more than once
+	// are chained through ItemContainer.duplicate.
+	//
+	private final Map<T, ItemContainer> containers;
 	private final IObservableReference<IItemFilter<T>> filterRef;
     private final IReferenceListener<IItemFilter<T>> filterListener;
-	private Set<Integer> pendingChange;
-	
+	private final FilterEvaluator evaluator;
+	private int[] pendingChange;
+	private int pendingChangeLength;
+
 	private final class ItemContainer implements IObjectMutationObserver {
-		
+
 		private final T item;
-		private final IMutableObject mutable;
-		
+		private IMutableObject mutable;
+		private ItemContainer duplicate;
+		private int slot;	// slot of the container in "slots" or -1 if the item is filtered out
+
 		public ItemContainer(T item) {
 			this.item = item;
-			
+			this.duplicate = null;
+			this.slot = -1;
+
 			if (item instanceof IMutableObject) {
 				this.mutable = (IMutableObject) item;
 				this.mutable.addObserver(this);
@@ -31,20 +53,27 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 				this.mutable = null;
 			}
 		}
-		
+
 		public T item() {
 			return item;
 		}
-		
+
 		public void unadvise() {
 			if (mutable != null) {
 				mutable.removeObserver(this);
+				mutable = null;
 			}
 		}
 
 		@Override
 		public final void mutated() {
-			onItemMutated(item);
+			//
+			// The item may report the mutation to a snapshot of its observers that includes containers
+			// unadvised by earlier observers; such containers are no longer in the list.
+			//
+			if (mutable != null) {
+				onItemMutated(this);
+			}
 		}
 	}
 
@@ -52,12 +81,31 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 			IReadOnlyObservableList<T> source,
             IObservableReference<IItemFilter<T>> filter,
 			IReadWriteMonitor monitor) {
+		this(source, filter, null, monitor);
+	}
+
+	/**
+	 * Create a filtering list that evaluates the filter for large sets of items in parallel.
+	 * @param source source list.
+	 * @param filter observable reference to the filter; the filter must be safe to call from several threads.
+	 * @param pool fork/join pool that evaluates the filter when the list is created or reset,
+	 * a large range of items is added, or the filter changes; if null, the filter is evaluated on the calling thread.
+	 * @param monitor read/write monitor shared by all lists in the pipeline.
+	 */
+	public FilteringReadOnlyObservableList(
+			IReadOnlyObservableList<T> source,
+            IObservableReference<IItemFilter<T>> filter,
+            ForkJoinPool pool,
+			IReadWriteMonitor monitor) {
 		super(source, monitor);
 
         final int size = source.getSize();
-		this.data = new ArrayListEx<ItemContainer>(size);
-		this.filteredOutItems = new HashMap<T, ItemContainer>();
+		this.data = new SegmentedList<ItemContainer>();
+		this.slots = new FenwickTree(size);
+		this.containers = new IdentityHashMap<T, ItemContainer>(size);
 		this.pendingChange = null;
+		this.pendingChangeLength = 0;
+		this.evaluator = new FilterEvaluator(pool);
         this.filterListener = new IReferenceListener<IItemFilter<T>>() {
             @Override
             public void changed(IObservableReference<IItemFilter<T>> sender, IItemFilter<T> oldValue) {
@@ -67,9 +115,7 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
         this.filterRef = filter;
         this.filterRef.addListener(filterListener);
 
-		for (int i = 0; i < size; ++i) {
-			addItem(source.getAt(i));
-		}
+		addItems(source, 0, size);
 	}
 
 	@Override
@@ -82,187 +128,147 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		return data.size();
 	}
 
+	@Override
+	public IListSnapshot<T> snapshot() {
+		//
+		// Share chunks of containers with the snapshot instead of copying items; containers never change their items.
+		//
+		IResource res = monitor().acquireRead();
+
+		try {
+			final IListSnapshot<ItemContainer> containers = data.snapshot();
+
+			return new IListSnapshot<T>() {
+				@Override
+				public T getAt(int index) {
+					return containers.getAt(index).item();
+				}
+
+				@Override
+				public int getSize() {
+					return containers.getSize();
+				}
+			};
+		} finally {
+			res.release();
+		}
+	}
+
 	@Override
 	protected void onUnlinked() {
         filterRef.removeListener(filterListener);
-		removeMutableObserverFromItems(data);
-		removeMutableObserverFromItems(filteredOutItems.values());
-		filteredOutItems.clear();
+		removeMutableObserverFromItems(allContainers());
+		containers.clear();
 	}
-	
+
 	@Override
 	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
-		int reportedStartIndex = data.size();
-		int reportedCount = 0;
-		
-		for (int i = 0; i < count; ++i) {
-			if (addItem(source.getAt(startIndex + i))) {
-				++reportedCount;
-			}
-		}
-		
+		final int reportedStartIndex = data.size();
+		final int reportedCount = addItems(source, startIndex, count);
+
 		if (reportedCount > 0) {
 			notifyAdded(reportedStartIndex, reportedCount);
 		}
 	}
-	
+
 	@Override
 	protected void onChanging(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		//
-		// Create an ordered set of indexes so later changed items may be bundled up
-		// into ranges for reporting to observers.
+		// Remember positions of visible changing items so they can be replaced with new ones later.
 		//
-		pendingChange = new TreeSet<>();
-		
+		pendingChange = new int[count];
+		pendingChangeLength = 0;
+
 		for (int i = startIndex; i < startIndex + count; ++i) {
-			final T changingItem = source.getAt(i);
-			final ItemContainer container = filteredOutItems.remove(changingItem);
-			
-			if (container != null) {
-				container.unadvise();
-			} else {
-				int index = indexOfContainer(changingItem);
-				
-				data.get(index).unadvise();
-				//
-				// Remember position of the changing item so it can be replaced with a new one later.
-				//
-				pendingChange.add(index);
+			final ItemContainer container = unregister(source.getAt(i));
+
+			container.unadvise();
+
+			if (container.slot >= 0) {
+				pendingChange[pendingChangeLength++] = indexOf(container);
 			}
 		}
+
+		Arrays.sort(pendingChange, 0, pendingChangeLength);
 	}
-	
+
 	@Override
 	protected void onChanged(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		Collection<ItemContainer> backItems = null;
-		int backItemsCapacity = pendingChange.size();
-		Iterator<Integer> emptySlots = pendingChange.iterator();
+		int emptySlot = 0;
         IItemFilter<T> filter = filterRef.getValue();
-		
+
 		for (int i = startIndex; i < startIndex + count; ++i) {
 			final ItemContainer container = new ItemContainer(source.getAt(i));
-			
+
+			register(container);
+
 			if (filter.isIn(container.item())) {
-				if (emptySlots.hasNext()) {
-					final int index = emptySlots.next().intValue();
+				if (emptySlot < pendingChangeLength) {
+					final int index = pendingChange[emptySlot++];
+					final ItemContainer replaced = data.get(index);
 					notifyChanging(index, 1);
+					container.slot = replaced.slot;
+					replaced.slot = -1;
 					data.set(index, container);
 					// TODO: optimize reporting - build ranges if added items are adjacent.
 					notifyChanged(index, 1);
-					backItemsCapacity--;
 				} else {
 					//
 					// Ran out of empty slots, add items at the back of the list
 					//
 					if (backItems == null) {
-						backItems = new ArrayList<>(backItemsCapacity);
+						backItems = new ArrayList<>(count - pendingChangeLength);
 					}
 					backItems.add(container);
 				}
-			} else {
-				filteredOutItems.put(container.item(), container);
 			}
 		}
-		
+
 		if (backItems != null) {
 			//
 			// Items must be added at the back of the list.
 			//
 			final int index = data.size();
+			for (ItemContainer c : backItems) {
+				c.slot = slots.size();
+				slots.append(1);
+			}
 			data.addAll(backItems);
 			notifyAdded(index, backItems.size());
-		} else {
+		} else if (emptySlot < pendingChangeLength) {
 			//
-			// There may be more empty slots - remove them.
-			// The iterator will give indexes in the ascending order so each removal
-			// will shift the list back.
+			// There are more empty slots - remove them.
 			//
-			int shift = 0; // the accumulated index shift after removal of all items so far.
-			RangeDetector rd = new RangeDetector();
-			RangeDetector.Range range;
-			
-			while (emptySlots.hasNext()) {
-				final int index = emptySlots.next().intValue() - shift;
-				range = rd.addIndex(index);
-				
-				if (range != null) {
-					for (int i = range.start(); i < range.start() + range.length(); ++i) {
-						data.get(i).unadvise();
-					}
-					notifyRemoving(range.start(), range.length());
-					data.remove(range.start(), range.length());
-					shift += range.length();
-					notifyRemoved(range.start(), range.length());
-				}
-			}
-
-			range = rd.finish();
-			
-			if (range != null) {
-				for (int i = range.start(); i < range.start() + range.length(); ++i) {
-					data.get(i).unadvise();
-				}
-				notifyRemoving(range.start(), range.length());
-				data.remove(range.start(), range.length());
-				notifyRemoved(range.start(), range.length());
-			}
+			removeVisible(pendingChange, emptySlot, pendingChangeLength);
 		}
-		
+
 		pendingChange = null;
+		pendingChangeLength = 0;
 	}
 
 	@Override
 	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
-		Set<Integer> removedIndexes = new TreeSet<>();
-		
+		final int[] removedIndexes = new int[count];
+		int removedLength = 0;
+
 		for (int i = startIndex; i < startIndex + count; ++i) {
-			final T removedItem = source.getAt(i);
-			ItemContainer container = filteredOutItems.remove(removedItem);
-			
-			if (container != null) {
-				// No need to notify observers; the item was not visible to them.
-				container.unadvise();
-			} else {
-				int index = indexOfContainer(removedItem);
-				
-				if (index >= 0) {
-					removedIndexes.add(index);
-				}
+			final ItemContainer container = unregister(source.getAt(i));
+
+			container.unadvise();
+
+			if (container.slot >= 0) {
+				removedIndexes[removedLength++] = indexOf(container);
 			}
+			// No need to notify observers about filtered out items; they were not visible to them.
 		}
-		
-		if (!removedIndexes.isEmpty()) {
-			RangeDetector rd = new RangeDetector();
-			RangeDetector.Range range;
-			int shift = 0;
-			
-			for (Integer index : removedIndexes) {
-				range = rd.addIndex(index.intValue() - shift);
-				
-				if (range != null) {
-					for (int i = range.start(); i < range.start() + range.length(); ++i) {
-						data.get(i).unadvise();
-					}
-					notifyRemoving(range.start(), range.length());
-					data.remove(range.start(), range.length());
-					shift += range.length();
-					notifyRemoved(range.start(), range.length());
-				}
-			}
-			
-			range = rd.finish();
 
-			if (range != null) {
-				for (int i = range.start(); i < range.start() + range.length(); ++i) {
-					data.get(i).unadvise();
-				}
-				notifyRemoving(range.start(), range.length());
-				data.remove(range.start(), range.length());
-				notifyRemoved(range.start(), range.length());
-			}
+		if (removedLength > 0) {
+			Arrays.sort(removedIndexes, 0, removedLength);
+			removeVisible(removedIndexes, 0, removedLength);
 		}
 	}
-	
+
 	@Override
 	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
 		// Do nothing. Items have been removed in onRemoving.
@@ -272,7 +278,12 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 	protected void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
 		// Do nothing. Moving items in the source collection does not affect filtering.
 	}
-	
+
+	@Override
+	protected void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		// Do nothing. Rearranging items in the source collection does not affect filtering.
+	}
+
 	@Override
 	protected void onResetting(IReadOnlyObservableList<T> source) {
 		notifyResetting();
@@ -280,42 +291,106 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 
 	@Override
 	protected void onReset(IReadOnlyObservableList<T> source) {
-		removeMutableObserverFromItems(data);
-		removeMutableObserverFromItems(filteredOutItems.values());		
+		removeMutableObserverFromItems(allContainers());
 		data.clear();
-		filteredOutItems.clear();
-
-		int size = source.getSize();
-		
-		for (int i = 0; i < size; ++i) {
-			addItem(source.getAt(i));
-		}
-		
+		slots.clear();
+		containers.clear();
+		addItems(source, 0, source.getSize());
 		notifyReset();
 	}
 
 	private void setFilter(IItemFilter<T> filter) {
-        Collection<ItemContainer> allItems = new ArrayList<ItemContainer>(data.size() + filteredOutItems.size());
+		//
+		// Evaluate the new filter for all items and report only items that appeared or disappeared.
+		// If more items flip than stay visible, most of the list changes and a reset is cheaper
+		// for the downstream lists than many ranges of removed items.
+		//
+		final int size = data.size();
+		final List<T> visibleItems = new ArrayList<>(size);
+		final List<ItemContainer> filteredOut = new ArrayList<>(containers.size());
+		final List<T> filteredOutItems = new ArrayList<>(containers.size());
+		final Collection<ItemContainer> appearing = new ArrayList<>();
+		int keptCount = 0;
 
-        notifyResetting();
+		for (ItemContainer c : data) {
+			visibleItems.add(c.item());
+		}
 
-        allItems.addAll(data);
-        allItems.addAll(filteredOutItems.values());
-        data.clear();
-        filteredOutItems.clear();
+		for (ItemContainer c : allContainers()) {
+			if (c.slot < 0) {
+				filteredOut.add(c);
+				filteredOutItems.add(c.item());
+			}
+		}
 
-        for (ItemContainer c : allItems) {
-            if (filter.isIn(c.item())) {
-                data.add(c);
-            } else {
-                filteredOutItems.put(c.item(), c);
-            }
-        }
+		final boolean[] keep = evaluator.evaluate(filter, visibleItems);
+		final boolean[] appear = evaluator.evaluate(filter, filteredOutItems);
+
+		for (int i = 0; i < size; ++i) {
+			if (keep[i]) {
+				++keptCount;
+			}
+		}
+
+		for (int i = 0; i < appear.length; ++i) {
+			if (appear[i]) {
+				appearing.add(filteredOut.get(i));
+			}
+		}
 
-        notifyReset();
+		final int flippedCount = size - keptCount + appearing.size();
+
+		if (flippedCount > keptCount) {
+			resetFilter(keep, appearing);
+		} else if (flippedCount > 0) {
+			if (keptCount < size) {
+				final int[] removedIndexes = new int[size - keptCount];
+				int removedLength = 0;
+
+				for (int i = 0; i < size; ++i) {
+					if (!keep[i]) {
+						removedIndexes[removedLength++] = i;
+					}
+				}
+
+				removeVisible(removedIndexes, 0, removedLength);
+			}
+
+			if (!appearing.isEmpty()) {
+				final int index = data.size();
+
+				for (ItemContainer c : appearing) {
+					addVisible(c);
+				}
+
+				notifyAdded(index, appearing.size());
+			}
+		}
 	}
-	
-	private void onItemMutated(T item) {
+
+	private void resetFilter(boolean[] keep, Collection<ItemContainer> appearing) {
+		final Collection<ItemContainer> visibleItems = new ArrayList<ItemContainer>(data);
+		int i = 0;
+
+		notifyResetting();
+		data.clear();
+		slots.clear();
+
+		for (ItemContainer c : visibleItems) {
+			if (keep[i++]) {
+				addVisible(c);
+			} else {
+				c.slot = -1;
+			}
+		}
+		for (ItemContainer c : appearing) {
+			addVisible(c);
+		}
+
+		notifyReset();
+	}
+
+	private void onItemMutated(ItemContainer container) {
 		//
 		// Item mutations must be processed under a write lock because they
 		// may change the collection that is updated by event handlers that are supposed
@@ -323,63 +398,153 @@ final class FilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableL
 		// to share a single lock).
 		//
 		IResource res = monitor().acquireWrite();
-		
+
 		try {
-			if (filterRef.getValue().isIn(item)) {
-				ItemContainer container = filteredOutItems.remove(item);
-				
-				if (container != null) {
-					int index = this.data.size();
-					this.data.add(container);
+			if (filterRef.getValue().isIn(container.item())) {
+				if (container.slot < 0) {
+					final int index = data.size();
+					addVisible(container);
 					notifyAdded(index, 1);
 				}
-			} else {
-				final int index = indexOfContainer(item);
-				
-				if (index >= 0) {
-					filteredOutItems.put(item, data.get(index));
-					notifyRemoving(index, 1);
-					data.remove(index);
-					notifyRemoved(index, 1);
-				}
+			} else if (container.slot >= 0) {
+				final int index = indexOf(container);
+
+				notifyRemoving(index, 1);
+				data.remove(index);
+				releaseSlot(container);
+				notifyRemoved(index, 1);
+				compactSlots();
 			}
 		} finally {
 			res.release();
 		}
 	}
-	
+
+	private void removeVisible(int[] sortedIndexes, int start, int end) {
+		//
+		// Remove ranges of visible items at the sorted indexes, starting with the highest range
+		// so removal of a range does not shift indexes of ranges that haven't been removed yet.
+		//
+		RangeDetector rd = new RangeDetector();
+		RangeDetector.Range range;
+
+		for (int i = end - 1; i >= start; --i) {
+			range = rd.addIndex(sortedIndexes[i]);
+
+			if (range != null) {
+				removeRange(range);
+			}
+		}
+
+		range = rd.finish();
+
+		if (range != null) {
+			removeRange(range);
+		}
+
+		compactSlots();
+	}
+
+	private void removeRange(RangeDetector.Range range) {
+		for (int i = range.start(); i < range.start() + range.length(); ++i) {
+			releaseSlot(data.get(i));
+		}
+		notifyRemoving(range.start(), range.length());
+		data.remove(range.start(), range.length());
+		notifyRemoved(range.start(), range.length());
+	}
+
+	private int indexOf(ItemContainer container) {
+		return slots.prefixSum(container.slot);
+	}
+
+	private void addVisible(ItemContainer container) {
+		container.slot = slots.size();
+		slots.append(1);
+		data.add(container);
+	}
+
+	private void releaseSlot(ItemContainer container) {
+		slots.set(container.slot, 0);
+		container.slot = -1;
+	}
+
+	private void compactSlots() {
+		//
+		// Give visible containers consecutive slots again once most slots have been released,
+		// so the tree does not grow with the number of removals; the linear pass is amortized
+		// over the removals that released the slots.
+		//
+		final int size = data.size();
+		final int released = slots.size() - size;
+
+		if (released > size && released >= MIN_RELEASED_SLOTS) {
+			final int[] ones = new int[size];
+			int slot = 0;
+
+			for (ItemContainer c : data) {
+				ones[slot] = 1;
+				c.slot = slot++;
+			}
+			slots.clear();
+			slots.insert(0, ones, size);
+		}
+	}
+
 	private void removeMutableObserverFromItems(Collection<ItemContainer> containers) {
 		for (ItemContainer container : containers) {
 			container.unadvise();
 		}
 	}
-	
-	private boolean addItem(T item) {
-		final boolean added = filterRef.getValue().isIn(item);
-		
-		ItemContainer container = new ItemContainer(item);
-		
-		if (added) {
-			this.data.add(container);
-		} else {
-			this.filteredOutItems.put(item, container);
+
+	private int addItems(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final List<T> items = new ArrayList<>(count);
+
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
+		}
+
+		final boolean[] visible = evaluator.evaluate(filterRef.getValue(), items);
+		int addedCount = 0;
+
+		for (int i = 0; i < count; ++i) {
+			final ItemContainer container = new ItemContainer(items.get(i));
+
+			register(container);
+
+			if (visible[i]) {
+				addVisible(container);
+				++addedCount;
+			}
+		}
+
+		return addedCount;
+	}
+
+	private void register(ItemContainer container) {
+		container.duplicate = containers.put(container.item(), container);
+	}
+
+	private ItemContainer unregister(T item) {
+		final ItemContainer container = containers.remove(item);
+
+		if (container.duplicate != null) {
+			containers.put(item, container.duplicate);
+			container.duplicate = null;
 		}
-		
-		return added;
+
+		return container;
 	}
-	
-	private int indexOfContainer(T item) {
-		final int size = data.size();
-		int index = -1;
 
-		for (int i = 0; i < size && index < 0;) {
-			if (data.get(i).item() == item) {
-				index = i;
-			} else {
-				++i;
+	private Collection<ItemContainer> allContainers() {
+		final Collection<ItemContainer> all = new ArrayList<>(containers.size());
+
+		for (ItemContainer container : containers.values()) {
+			for (ItemContainer c = container; c != null; c = c.duplicate) {
+				all.add(c);
 			}
 		}
-		
-		return index;
+
+		return all;
 	}
 }
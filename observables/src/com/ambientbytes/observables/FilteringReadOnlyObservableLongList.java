@@ -0,0 +1,54 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable long list that keeps values of another observable long list that pass through a filter,
+ * in the same order as in the source list.
+ * @author Pavel Karpenko
+ *
+ */
+final class FilteringReadOnlyObservableLongList
+		extends FilteringReadOnlyObservablePrimitiveList<Long, long[], ILongFilter>
+		implements IReadOnlyObservableLongList {
+
+	private final LongArrayList data;
+
+	FilteringReadOnlyObservableLongList(
+			IReadOnlyObservableLongList source,
+			IObservableReference<ILongFilter> filter,
+			IReadWriteMonitor monitor) {
+		this(source, filter, new LongArrayList(), monitor);
+	}
+
+	private FilteringReadOnlyObservableLongList(
+			IReadOnlyObservableLongList source,
+			IObservableReference<ILongFilter> filter,
+			LongArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, filter, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public long getLong(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Long getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected int filter(ILongFilter filter, long[] values, int[] flags) {
+		int visibleCount = 0;
+
+		for (int i = 0; i < values.length; ++i) {
+			if (filter.isIn(values[i])) {
+				flags[i] = 1;
+				values[visibleCount++] = values[i];
+			}
+		}
+
+		return visibleCount;
+	}
+}
@@ -0,0 +1,331 @@
+package com.ambientbytes.observables;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Base class for observable lists of primitive values that keep values of another observable list
+ * of the same type that pass through a filter, in the same order as in the source list.
+ * Visibility of all source values is kept in an order-statistic tree in the source order with weight 1
+ * for visible values and 0 for filtered out ones, like in SourceOrderFilteringReadOnlyObservableList,
+ * so source changes are translated into changes of the filtered list in O(log n) per change;
+ * visible values are stored in a primitive array. A new filter is reported as ranges of values
+ * that appear or disappear. Subclasses evaluate the filter on arrays of values of their type.
+ * @author Pavel Karpenko
+ *
+ * @param <T> boxed type of values in the list.
+ * @param <A> type of the array of values, for example int[].
+ * @param <F> type of the filter.
+ */
+abstract class FilteringReadOnlyObservablePrimitiveList<T, A, F> extends LinkedReadOnlyObservableList<T> {
+
+	private final PrimitiveArrayList<A> data;	// visible values in the source order
+	private final OrderStatisticTree<Boolean> visibility;	// visibility of all source values in the source order
+	private final IObservableReference<F> filterRef;
+	private final IReferenceListener<F> filterListener;
+	private IReadOnlyObservableList<T> source;
+
+	protected FilteringReadOnlyObservablePrimitiveList(
+			IReadOnlyObservableList<T> source,
+			IObservableReference<F> filter,
+			PrimitiveArrayList<A> data,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+		this.data = data;
+		this.visibility = new OrderStatisticTree<>();
+		this.source = source;
+		this.filterListener = new IReferenceListener<F>() {
+			@Override
+			public void changed(IObservableReference<F> sender, F oldValue) {
+				setFilter(sender.getValue());
+			}
+		};
+		this.filterRef = filter;
+		this.filterRef.addListener(filterListener);
+
+		load(source);
+	}
+
+	/**
+	 * Evaluate a filter on values; visible values are moved to the start of the array in their order.
+	 * @param filter evaluated filter.
+	 * @param values values that are filtered.
+	 * @param flags array that receives 1 for every visible value and 0 for every filtered out one.
+	 * @return number of visible values.
+	 */
+	protected abstract int filter(F filter, A values, int[] flags);
+
+	@Override
+	public final int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected final void onUnlinked() {
+		filterRef.removeListener(filterListener);
+		source = null;
+	}
+
+	@Override
+	protected final void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final A values = data.read(source, startIndex, count);
+		final int[] flags = new int[count];
+		final int visibleCount = filter(filterRef.getValue(), values, flags);
+		final int filteredIndex = visibility.weightBefore(startIndex);
+
+		visibility.addAll(startIndex, visibilities(flags), flags, null);
+
+		if (visibleCount > 0) {
+			data.add(filteredIndex, values, 0, visibleCount);
+			notifyAdded(filteredIndex, visibleCount);
+		}
+	}
+
+	@Override
+	protected final void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Changed values are replaced in onChanged.
+	}
+
+	@Override
+	protected final void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final int filteredIndex = visibility.weightBefore(startIndex);
+		final int oldVisibleCount = visibility.weightBefore(startIndex + count) - filteredIndex;
+		final A values = data.read(source, startIndex, count);
+		final int[] flags = new int[count];
+		final int newVisibleCount = filter(filterRef.getValue(), values, flags);
+
+		visibility.remove(startIndex, count);
+		visibility.addAll(startIndex, visibilities(flags), flags, null);
+
+		//
+		// Report the leading visible values as changed and the difference as added or removed.
+		//
+		final int changedCount = Math.min(oldVisibleCount, newVisibleCount);
+
+		if (changedCount > 0) {
+			notifyChanging(filteredIndex, changedCount);
+			data.set(filteredIndex, values, 0, changedCount);
+			notifyChanged(filteredIndex, changedCount);
+		}
+
+		if (oldVisibleCount > newVisibleCount) {
+			final int removedCount = oldVisibleCount - newVisibleCount;
+			notifyRemoving(filteredIndex + changedCount, removedCount);
+			data.remove(filteredIndex + changedCount, removedCount);
+			notifyRemoved(filteredIndex + changedCount, removedCount);
+		} else if (newVisibleCount > oldVisibleCount) {
+			data.add(filteredIndex + changedCount, values, changedCount, newVisibleCount - changedCount);
+			notifyAdded(filteredIndex + changedCount, newVisibleCount - changedCount);
+		}
+	}
+
+	@Override
+	protected final void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final int filteredIndex = visibility.weightBefore(startIndex);
+		final int visibleCount = visibility.weightBefore(startIndex + count) - filteredIndex;
+
+		visibility.remove(startIndex, count);
+
+		if (visibleCount > 0) {
+			notifyRemoving(filteredIndex, visibleCount);
+			data.remove(filteredIndex, visibleCount);
+			notifyRemoved(filteredIndex, visibleCount);
+		}
+	}
+
+	@Override
+	protected final void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Values have been removed in onRemoving.
+	}
+
+	@Override
+	protected final void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		final int oldFilteredIndex = visibility.weightBefore(oldStartIndex);
+		final int visibleCount = visibility.weightBefore(oldStartIndex + count) - oldFilteredIndex;
+
+		visibility.move(oldStartIndex, newStartIndex, count);
+
+		final int newFilteredIndex = visibility.weightBefore(newStartIndex);
+
+		if (visibleCount > 0 && oldFilteredIndex != newFilteredIndex) {
+			data.move(oldFilteredIndex, newFilteredIndex, visibleCount);
+			notifyMoved(oldFilteredIndex, newFilteredIndex, visibleCount);
+		}
+	}
+
+	@Override
+	protected final void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		//
+		// Visible values keep their relative order in the filtered list, so the permutation of the filtered list
+		// follows from the old and new ranks of visible values among visible values.
+		//
+		final int size = newPositions.length;
+		final int[] flags = new int[size];
+		final int[] oldFilteredIndexes = new int[size];
+		final int[] filteredPositions = new int[data.size()];
+		int filteredIndex = 0;
+		int index = 0;
+		boolean rearranged = false;
+
+		for (boolean visible : visibility) {
+			if (visible) {
+				flags[newPositions[index]] = 1;
+				oldFilteredIndexes[newPositions[index]] = filteredIndex++;
+			}
+			++index;
+		}
+
+		filteredIndex = 0;
+		for (int i = 0; i < size; ++i) {
+			if (flags[i] != 0) {
+				rearranged |= oldFilteredIndexes[i] != filteredIndex;
+				filteredPositions[oldFilteredIndexes[i]] = filteredIndex++;
+			}
+		}
+
+		visibility.reset(visibilities(flags), flags, null);
+
+		if (rearranged) {
+			data.permute(0, filteredPositions);
+			notifyPermuted(filteredPositions);
+		}
+	}
+
+	@Override
+	protected final void onResetting(IReadOnlyObservableList<T> source) {
+		notifyResetting();
+	}
+
+	@Override
+	protected final void onReset(IReadOnlyObservableList<T> source) {
+		data.clear();
+		visibility.clear();
+		load(source);
+		notifyReset();
+	}
+
+	private void setFilter(F filter) {
+		//
+		// Values are not kept for filtered out source values, so the new filter is evaluated on values
+		// read from the source list, and only values that appeared or disappeared are reported.
+		// If more values flip than stay visible, a reset is cheaper for the downstream lists.
+		//
+		final int size = visibility.size();
+		final int[] oldFlags = visibleFlags();
+		final int[] flags = new int[size];
+		final A values = data.read(source, 0, size);
+		final int visibleCount = filter(filter, values, flags);
+		int keptCount = 0;
+		int flippedCount = 0;
+
+		for (int i = 0; i < size; ++i) {
+			if (flags[i] != oldFlags[i]) {
+				++flippedCount;
+			} else if (flags[i] != 0) {
+				++keptCount;
+			}
+		}
+
+		if (flippedCount > keptCount) {
+			resetFilter(values, visibleCount, flags);
+		} else if (flippedCount > 0) {
+			applyFilter(values, oldFlags, flags);
+		}
+	}
+
+	private void resetFilter(A values, int visibleCount, int[] flags) {
+		notifyResetting();
+		data.clear();
+		data.add(0, values, 0, visibleCount);
+		visibility.reset(visibilities(flags), flags, null);
+		notifyReset();
+	}
+
+	private void applyFilter(A values, int[] oldFlags, int[] flags) {
+		//
+		// Walk the source list and report runs of disappearing and appearing values.
+		// Values that precede a run in the filtered list are the first new visible values,
+		// so a run of appearing values starts in the array of new visible values at its index in the filtered list.
+		//
+		int filteredIndex = 0;
+		int removedCount = 0;
+		int addedCount = 0;
+
+		for (int i = 0; i < flags.length; ++i) {
+			final boolean visible = flags[i] != 0;
+			final boolean wasVisible = oldFlags[i] != 0;
+
+			if (visible && !wasVisible) {
+				removedCount = removeRun(filteredIndex, removedCount);
+				++addedCount;
+			} else if (!visible && wasVisible) {
+				filteredIndex = addRun(values, filteredIndex, addedCount);
+				addedCount = 0;
+				++removedCount;
+			} else if (visible) {
+				removedCount = removeRun(filteredIndex, removedCount);
+				filteredIndex = addRun(values, filteredIndex, addedCount) + 1;
+				addedCount = 0;
+			}
+		}
+
+		removeRun(filteredIndex, removedCount);
+		addRun(values, filteredIndex, addedCount);
+
+		visibility.reset(visibilities(flags), flags, null);
+	}
+
+	private int removeRun(int filteredIndex, int count) {
+		if (count > 0) {
+			notifyRemoving(filteredIndex, count);
+			data.remove(filteredIndex, count);
+			notifyRemoved(filteredIndex, count);
+		}
+
+		return 0;
+	}
+
+	private int addRun(A values, int filteredIndex, int count) {
+		if (count > 0) {
+			data.add(filteredIndex, values, filteredIndex, count);
+			notifyAdded(filteredIndex, count);
+		}
+
+		return filteredIndex + count;
+	}
+
+	private void load(IReadOnlyObservableList<T> source) {
+		final int size = source.getSize();
+		final A values = data.read(source, 0, size);
+		final int[] flags = new int[size];
+		final int visibleCount = filter(filterRef.getValue(), values, flags);
+
+		data.add(0, values, 0, visibleCount);
+		visibility.reset(visibilities(flags), flags, null);
+	}
+
+	private int[] visibleFlags() {
+		final int[] flags = new int[visibility.size()];
+		int index = 0;
+
+		for (boolean visible : visibility) {
+			flags[index++] = visible ? 1 : 0;
+		}
+
+		return flags;
+	}
+
+	private static List<Boolean> visibilities(final int[] flags) {
+		return new AbstractList<Boolean>() {
+			@Override
+			public Boolean get(int index) {
+				return flags[index] != 0;
+			}
+
+			@Override
+			public int size() {
+				return flags.length;
+			}
+		};
+	}
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Filter of primitive double values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IDoubleFilter {
+	/**
+	 * Filtering predicate.
+	 * @param value value tested for complying with the filter.
+	 * @return true if the value passes through the filter; otherwise, false.
+	 */
+	boolean isIn(double value);
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of primitive double values.
+ * Lists built by the builder pass values between each other without boxing them.
+ * @author Pavel Karpenko
+ */
+
+public interface IDoubleListBuilder {
+    IDoubleListBuilder filter(IObservableReference<IDoubleFilter> filter);
+    IDoubleListBuilder order(IObservableReference<IDoubleOrder> order);
+    IDoubleListBuilder map(IDoubleMapper mapper);
+    IListBuilder<Double> boxed();
+    IReadOnlyObservableDoubleList build();
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mapper of primitive double values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IDoubleMapper {
+	/**
+	 * Map a value.
+	 * @param value value to be mapped.
+	 * @return mapped value.
+	 */
+	double map(double value);
+}
@@ -0,0 +1,18 @@
+package com.ambientbytes.observables;
+
+/**
+ * Order of primitive double values in observable lists.
+ * NaN values are not less than any value with the < operator, so orders of lists that may contain NaN
+ * should compare values with Double.compare.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IDoubleOrder {
+	/**
+	 * Test if the lesser value is less than the greater value.
+	 * @param lesser value to test for being lesser than the other value.
+	 * @param greater value to test for being greater than the other value.
+	 * @return true if lesser is less than greater.
+	 */
+	boolean isLess(double lesser, double greater);
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Filter of primitive int values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IIntFilter {
+	/**
+	 * Filtering predicate.
+	 * @param value value tested for complying with the filter.
+	 * @return true if the value passes through the filter; otherwise, false.
+	 */
+	boolean isIn(int value);
+}
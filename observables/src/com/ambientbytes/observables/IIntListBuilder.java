@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of primitive int values.
+ * Lists built by the builder pass values between each other without boxing them.
+ * @author Pavel Karpenko
+ */
+
+public interface IIntListBuilder {
+    IIntListBuilder filter(IObservableReference<IIntFilter> filter);
+    IIntListBuilder order(IObservableReference<IIntOrder> order);
+    IIntListBuilder map(IIntMapper mapper);
+    IListBuilder<Integer> boxed();
+    IReadOnlyObservableIntList build();
+}
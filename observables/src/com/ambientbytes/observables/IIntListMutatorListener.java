@@ -0,0 +1,20 @@
+package com.ambientbytes.observables;
+
+/**
+ * Listener of requests from a mutator of a list of primitive int values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IIntListMutatorListener {
+	/**
+	 * Add a new unique non-null listener object.
+	 * @param listener unique non-null listener object to be added.
+	 */
+	void addListener(IIntListMutator listener);
+
+	/**
+	 * Remove a listener object.
+	 * @param listener listener to be removed.
+	 */
+	void removeListener(IIntListMutator listener);
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mapper of primitive int values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IIntMapper {
+	/**
+	 * Map a value.
+	 * @param value value to be mapped.
+	 * @return mapped value.
+	 */
+	int map(int value);
+}
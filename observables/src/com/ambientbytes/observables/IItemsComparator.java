@@ -0,0 +1,20 @@
+package com.ambientbytes.observables;
+
+/**
+ * Order of items that can compare two items in a single call.
+ * Observable lists that sort large sets of items call compare() once per comparison
+ * instead of calling isLess() up to twice.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of ordered items.
+ */
+public interface IItemsComparator<T> extends IItemsOrder<T> {
+	/**
+	 * Compare two items; the result must be consistent with isLess().
+	 * @param first first compared item.
+	 * @param second second compared item.
+	 * @return negative number if first is less than second, positive number if second is less than first, or 0
+	 * if neither item is less than the other.
+	 */
+	int compare(T first, T second);
+}
@@ -0,0 +1,20 @@
+package com.ambientbytes.observables;
+
+/**
+ * Order of items by a primitive sort key extracted from each item.
+ * Observable lists cache the key of each item and compare cached keys instead of calling isLess();
+ * the key of an item is extracted again only when the item reports a mutation.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of ordered items.
+ */
+public interface IItemsKeyOrder<T> extends IItemsOrder<T> {
+	/**
+	 * Extract the sort key of an item. Items with lesser keys go first, and isLess() must
+	 * return the same result as comparing the keys of the items.
+	 * Floating-point keys may be converted with {@link ItemKeys#ofDouble(double)}.
+	 * @param item item for which the key is extracted.
+	 * @return sort key of the item.
+	 */
+	long getKey(T item);
+}
@@ -2,6 +2,7 @@ package com.ambientbytes.observables;
 
 /**
  * Interface establishes order of items in observable lists.
+ * Lists built with a fork/join pool sort large sets of items in parallel and call their orders from several threads at once.
  * @author Pavel Karpenko
  *
  * @param <T> type of ordered items.
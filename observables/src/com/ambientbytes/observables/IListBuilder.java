@@ -1,5 +1,7 @@
 package com.ambientbytes.observables;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Interface of an observable list builder.
  * @author Pavel Karpenko
@@ -8,7 +10,12 @@ package com.ambientbytes.observables;
 public interface IListBuilder<T> {
     IListBuilder<T> dispatch(IDispatcher dispatcher);
     IListBuilder<T> filter(IObservableReference<IItemFilter<T>> filter);
+    IListBuilder<T> filter(IObservableReference<IItemFilter<T>> filter, ForkJoinPool pool);
+    IListBuilder<T> filterInSourceOrder(IObservableReference<IItemFilter<T>> filter);
     IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order);
+    IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order, ForkJoinPool pool);
     <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper);
+    <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, ForkJoinPool pool);
+    <TMapped> IListBuilder<TMapped> mapLazily(IItemMapper<T, TMapped> mapper);
     IReadOnlyObservableList<T> build();
 }
@@ -73,4 +73,13 @@ public interface IListMutator<T> {
 	 * @param newItems new contents of the list.
 	 */
 	void reset(Collection<T> newItems);
+	
+	/**
+	 * Change the list with a batch of mutations made by a transaction.
+	 * The list is locked once for the whole transaction and observers receive a minimal set
+	 * of coalesced changes, or a single reset, after the transaction has completed.
+	 * If the transaction throws an exception, the list is not changed.
+	 * @param transaction transaction that mutates the list.
+	 */
+	void batch(IListTransaction<T> transaction);
 }
@@ -48,6 +48,13 @@ public interface IListObserver {
 	 */
 	void moved(int oldStartIndex, int newStartIndex, int count);
 
+	/**
+	 * Called after all items in the observed list have been rearranged without adding, removing or changing any of them.
+	 * @param newPositions new zero-based indexes of items; the item that was at index i is now at index newPositions[i].
+	 * The array is shared by all observers and must not be modified.
+	 */
+	void permuted(int[] newPositions);
+
 	/**
 	 * Called before contents of the observed list will be completely replaced.
 	 */
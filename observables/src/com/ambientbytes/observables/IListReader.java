@@ -0,0 +1,18 @@
+package com.ambientbytes.observables;
+
+/**
+ * Reader of an observable list that receives a consistent view of the list.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the read list.
+ * @param <R> type of the result of reading.
+ */
+public interface IListReader<T, R> {
+	/**
+	 * Read the list. The method may be called more than once for a single read operation
+	 * and results of all calls but the last one are discarded, so it must not have side effects.
+	 * @param list list to read.
+	 * @return result of reading the list.
+	 */
+	R read(IReadOnlyObservableList<T> list);
+}
@@ -0,0 +1,25 @@
+package com.ambientbytes.observables;
+
+/**
+ * Immutable view of contents of an observable list at the moment the snapshot was taken.
+ * Snapshots never change, so they can be read from any thread without locking the list's monitor.
+ * A snapshot is taken under the read lock; depending on the list it either shares storage with the list
+ * or holds a copy of all items, see IReadOnlyObservableList.snapshot().
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the list.
+ */
+public interface IListSnapshot<T> {
+	/**
+	 * Get the item at the specified index.
+	 * @param index index of the item.
+	 * @return item at the specified index.
+	 */
+	T getAt(int index);
+
+	/**
+	 * Get the number of items in the snapshot.
+	 * @return number of items in the snapshot.
+	 */
+	int getSize();
+}
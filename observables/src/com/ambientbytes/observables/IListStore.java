@@ -0,0 +1,24 @@
+package com.ambientbytes.observables;
+
+import java.util.Collection;
+
+/**
+ * Storage of items of a mutable observable list.
+ * The interface is the subset of list operations that MutableObservableList needs, plus range removal
+ * and moves, so the list can keep its items in storage other than the Java heap.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of stored items.
+ */
+interface IListStore<E> {
+	int size();
+	E get(int index);
+	E set(int index, E element);
+	void add(int index, E element);
+	boolean addAll(Collection<? extends E> c);
+	boolean addAll(int index, Collection<? extends E> c);
+	void remove(int start, int length);
+	void move(int source, int destination, int length);
+	void clear();
+	IListSnapshot<E> snapshot();
+}
@@ -0,0 +1,16 @@
+package com.ambientbytes.observables;
+
+/**
+ * Transaction that changes an observable list with a series of mutations reported
+ * to observers of the list as a coalesced set of changes.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items of the list.
+ */
+public interface IListTransaction<T> {
+	/**
+	 * Execute the transaction.
+	 * @param mutator mutator that records changes of the list made by the transaction.
+	 */
+	void execute(IListMutator<T> mutator);
+}
@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Filter of primitive long values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface ILongFilter {
+	/**
+	 * Filtering predicate.
+	 * @param value value tested for complying with the filter.
+	 * @return true if the value passes through the filter; otherwise, false.
+	 */
+	boolean isIn(long value);
+}
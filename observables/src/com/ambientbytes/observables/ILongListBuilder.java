@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Interface of a builder of observable lists of primitive long values.
+ * Lists built by the builder pass values between each other without boxing them.
+ * @author Pavel Karpenko
+ */
+
+public interface ILongListBuilder {
+    ILongListBuilder filter(IObservableReference<ILongFilter> filter);
+    ILongListBuilder order(IObservableReference<ILongOrder> order);
+    ILongListBuilder map(ILongMapper mapper);
+    IListBuilder<Long> boxed();
+    IReadOnlyObservableLongList build();
+}
@@ -0,0 +1,20 @@
+package com.ambientbytes.observables;
+
+/**
+ * Listener of requests from a mutator of a list of primitive long values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface ILongListMutatorListener {
+	/**
+	 * Add a new unique non-null listener object.
+	 * @param listener unique non-null listener object to be added.
+	 */
+	void addListener(ILongListMutator listener);
+
+	/**
+	 * Remove a listener object.
+	 * @param listener listener to be removed.
+	 */
+	void removeListener(ILongListMutator listener);
+}
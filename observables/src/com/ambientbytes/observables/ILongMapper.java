@@ -0,0 +1,15 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mapper of primitive long values.
+ * @author Pavel Karpenko
+ *
+ */
+public interface ILongMapper {
+	/**
+	 * Map a value.
+	 * @param value value to be mapped.
+	 * @return mapped value.
+	 */
+	long map(long value);
+}
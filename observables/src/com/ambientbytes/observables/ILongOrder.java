@@ -0,0 +1,16 @@
+package com.ambientbytes.observables;
+
+/**
+ * Order of primitive long values in observable lists.
+ * @author Pavel Karpenko
+ *
+ */
+public interface ILongOrder {
+	/**
+	 * Test if the lesser value is less than the greater value.
+	 * @param lesser value to test for being lesser than the other value.
+	 * @param greater value to test for being greater than the other value.
+	 * @return true if lesser is less than greater.
+	 */
+	boolean isLess(long lesser, long greater);
+}
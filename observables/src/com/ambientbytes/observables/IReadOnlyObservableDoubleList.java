@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list of primitive double values.
+ * The list is also a boxed IReadOnlyObservableList, so it can be observed and read by any code
+ * that works with generic lists; getDouble() reads values without boxing them.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IReadOnlyObservableDoubleList extends IReadOnlyObservableList<Double> {
+	/**
+	 * Get the value at the specified index without boxing it.
+	 * @param index index of the value.
+	 * @return value at the specified index.
+	 */
+	double getDouble(int index);
+}
@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list of primitive int values.
+ * The list is also a boxed IReadOnlyObservableList, so it can be observed and read by any code
+ * that works with generic lists; getInt() reads values without boxing them.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IReadOnlyObservableIntList extends IReadOnlyObservableList<Integer> {
+	/**
+	 * Get the value at the specified index without boxing it.
+	 * @param index index of the value.
+	 * @return value at the specified index.
+	 */
+	int getInt(int index);
+}
@@ -20,6 +20,27 @@ public interface IReadOnlyObservableList<T> {
 	 * @return size of the list.
 	 */
 	int getSize();
+	
+	/**
+	 * Read a consistent view of the list. The reader is called while no writer can change the list.
+	 * If the list is mutable and its monitor supports optimistic reads, a reader that reads the size of the list
+	 * and at most one item is first called without locking; the result is validated and the list is read again
+	 * under the read lock if it has been changed while reading.
+	 * @param reader reader of the list; the reader must not have side effects.
+	 * @return result returned by the reader.
+	 */
+	<R> R read(IListReader<T, R> reader);
+
+	/**
+	 * Take an immutable snapshot of the list. The snapshot is taken under the read lock, after which
+	 * it can be read any number of times from any thread without locking, while writers keep changing the list.
+	 * Mutable lists and the filtering, mapping, merging and dispatching lists share unchanged chunks of their storage
+	 * with snapshots, so taking a snapshot costs O(number of chunks) and doesn't copy items. Ordering, sorted merging,
+	 * concatenating and lazily mapping lists copy all their items to the snapshot, which takes O(n) under the read lock
+	 * and blocks writers of the pipeline for that time; a lazily mapping list also maps every item that hasn't been mapped yet.
+	 * @return snapshot of the current contents of the list.
+	 */
+	IListSnapshot<T> snapshot();
 
 	/**
 	 * Add a new unique non-null observer. An observer may be added to the observable list only once.
@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list of primitive long values.
+ * The list is also a boxed IReadOnlyObservableList, so it can be observed and read by any code
+ * that works with generic lists; getLong() reads values without boxing them.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IReadOnlyObservableLongList extends IReadOnlyObservableList<Long> {
+	/**
+	 * Get the value at the specified index without boxing it.
+	 * @param index index of the value.
+	 * @return value at the specified index.
+	 */
+	long getLong(int index);
+}
@@ -0,0 +1,21 @@
+package com.ambientbytes.observables;
+
+/**
+ * Read-only observable list of fixed-layout records.
+ * Besides decoding records into items with getAt(), the list can point a flyweight at a record,
+ * so records can be read without creating an object for each of them.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items encoded as records.
+ */
+public interface IReadOnlyObservableRecordList<T> extends IReadOnlyObservableList<T> {
+	/**
+	 * Point a flyweight at the record at the specified index.
+	 * The flyweight reads the record until the list is changed; callers that share the list with writers
+	 * must use it under the read lock of the list's monitor, for example in read().
+	 * @param index index of the record.
+	 * @param flyweight flyweight to point at the record.
+	 * @return the flyweight passed to the method.
+	 */
+	<F extends IRecordFlyweight> F wrapAt(int index, F flyweight);
+}
@@ -0,0 +1,35 @@
+package com.ambientbytes.observables;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec of fixed-layout records stored outside of the Java heap.
+ * Every record occupies exactly recordSize() bytes; the codec must read and write the record with
+ * absolute get and put methods of the buffer, without changing its position or limit.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items encoded as records.
+ */
+public interface IRecordCodec<T> {
+	/**
+	 * Size of every record in bytes.
+	 * @return positive number of bytes occupied by a record.
+	 */
+	int recordSize();
+
+	/**
+	 * Write an item as a record.
+	 * @param item item to be written.
+	 * @param buffer buffer that receives the record.
+	 * @param offset offset of the first byte of the record in the buffer.
+	 */
+	void encode(T item, ByteBuffer buffer, int offset);
+
+	/**
+	 * Read a record as a new item.
+	 * @param buffer buffer that holds the record.
+	 * @param offset offset of the first byte of the record in the buffer.
+	 * @return new item with values read from the record.
+	 */
+	T decode(ByteBuffer buffer, int offset);
+}
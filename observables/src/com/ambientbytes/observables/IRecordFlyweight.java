@@ -0,0 +1,17 @@
+package com.ambientbytes.observables;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable accessor of a fixed-layout record that reads fields straight from the record's bytes.
+ * @author Pavel Karpenko
+ *
+ */
+public interface IRecordFlyweight {
+	/**
+	 * Point the flyweight at a record.
+	 * @param buffer read-only buffer that holds the record.
+	 * @param offset offset of the first byte of the record in the buffer.
+	 */
+	void wrap(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,69 @@
+package com.ambientbytes.observables;
+
+/**
+ * Growable array of primitive int values with the range operations needed by observable int lists.
+ * @author Pavel Karpenko
+ *
+ */
+final class IntArrayList extends PrimitiveArrayList<int[]> {
+
+	IntArrayList() {
+		this(16);
+	}
+
+	IntArrayList(int capacity) {
+		super(capacity);
+	}
+
+	int get(int index) {
+		checkIndex(index);
+		return array()[index];
+	}
+
+	void set(int index, int value) {
+		checkIndex(index);
+		array()[index] = value;
+	}
+
+	void add(int value) {
+		add(size(), value);
+	}
+
+	void add(int index, int value) {
+		open(index, 1);
+		array()[index] = value;
+	}
+
+	@Override
+	int[] newArray(int length) {
+		return new int[length];
+	}
+
+	@Override
+	int[] read(IReadOnlyObservableList<?> source, int startIndex, int count) {
+		final IReadOnlyObservableIntList intSource = (IReadOnlyObservableIntList) source;
+		final int[] values = new int[count];
+
+		for (int i = 0; i < count; ++i) {
+			values[i] = intSource.getInt(startIndex + i);
+		}
+
+		return values;
+	}
+
+	@Override
+	int[] select(int[] values, int[] indexes) {
+		final int[] selected = new int[indexes.length];
+
+		for (int i = 0; i < indexes.length; ++i) {
+			selected[i] = values[indexes[i]];
+		}
+
+		return selected;
+	}
+
+	@Override
+	boolean same(int[] values, int index, int[] otherValues, int otherIndex) {
+		return values[index] == otherValues[otherIndex];
+	}
+}
@@ -0,0 +1,83 @@
+package com.ambientbytes.observables;
+
+public final class IntListMutator implements IIntListMutator, IIntListMutatorListener {
+
+	private final MutatorListeners<IIntListMutator> listeners;
+
+	public IntListMutator(IReadWriteMonitor monitor) {
+		this.listeners = new MutatorListeners<>(monitor, new IIntListMutator[0]);
+	}
+
+	@Override
+	public void addListener(IIntListMutator listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(IIntListMutator listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void add(int value) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, int value) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, int[] values) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, int value) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, int[] values) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(int[] newValues) {
+		for (IIntListMutator mutator : listeners.get()) {
+			mutator.reset(newValues);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.ambientbytes.observables;
+
+/**
+ * Helpers that convert values to sort keys of {@link IItemsKeyOrder}.
+ * @author Pavel Karpenko
+ */
+public final class ItemKeys {
+
+	private ItemKeys() {
+	}
+
+	/**
+	 * Convert a double to a sort key that orders values like {@link Double#compare(double, double)}.
+	 * @param value converted value.
+	 * @return sort key of the value.
+	 */
+	public static long ofDouble(double value) {
+		//
+		// Bits of non-negative doubles grow with the value; bits of negative doubles grow with the magnitude,
+		// so all bits except the sign are flipped to reverse their order.
+		//
+		final long bits = Double.doubleToLongBits(value);
+
+		return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+	}
+}
@@ -0,0 +1,161 @@
+package com.ambientbytes.observables;
+
+import java.util.Collections;
+
+/**
+ * Observable list that maps items of another observable list on first access.
+ * Every item of the source list has a slot that holds the mapped item once getAt() has mapped it;
+ * changes of the source list move, add, remove or invalidate slots without calling the mapper,
+ * so the cost of mapping follows the items that are actually read.
+ * @author Pavel Karpenko
+ *
+ * @param <TSource> type of items of the source list.
+ * @param <TMapped> type of mapped items.
+ */
+final class LazyMappingReadOnlyObservableList<TSource, TMapped> implements ILinkedReadOnlyObservableList<TMapped> {
+
+	//
+	// Content of slots of items that haven't been mapped yet; the mapper may return null,
+	// so null cannot mark such slots.
+	//
+	private static final Object UNMAPPED = new Object();
+
+	private final IReadWriteMonitor monitor;
+	private final ListObservers<TMapped> observers;
+	private final IItemMapper<TSource, TMapped> mapper;
+	private final SegmentedList<Object> slots;
+	private IListObserver sourceObserver;
+	private IReadOnlyObservableList<TSource> source;
+
+	LazyMappingReadOnlyObservableList(
+			IReadOnlyObservableList<TSource> source,
+			IItemMapper<TSource, TMapped> mapper,
+			IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.observers = new ListObservers<>(monitor);
+		this.mapper = mapper;
+		this.slots = new SegmentedList<>();
+		this.source = source;
+		this.slots.addAll(Collections.nCopies(source.getSize(), UNMAPPED));
+		this.sourceObserver = new IListObserver() {
+			@Override public void added(int startIndex, int count) { onAdded(startIndex, count); }
+			@Override public void changing(int startIndex, int count) { onChanging(startIndex, count); }
+			@Override public void changed(int startIndex, int count) { onChanged(startIndex, count); }
+			@Override public void removing(int startIndex, int count) { onRemoving(startIndex, count); }
+			@Override public void removed(int startIndex, int count) { onRemoved(startIndex, count); }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { onMoved(oldStartIndex, newStartIndex, count); }
+			@Override public void permuted(int[] newPositions) { onPermuted(newPositions); }
+			@Override public void resetting() { onResetting(); }
+			@Override public void reset() { onReset(); }
+		};
+		this.source.addObserver(sourceObserver);
+	}
+
+	@Override
+	public TMapped getAt(int index) {
+		//
+		// Readers that share a read lock may fill slots at the same time, so slots are read and filled
+		// under the lock of the slots; event handlers change slots under the write lock and don't need it.
+		//
+		synchronized (slots) {
+			Object slot = slots.get(index);
+
+			if (slot == UNMAPPED) {
+				slot = mapper.map(source.getAt(index));
+				slots.set(index, slot);
+			}
+
+			@SuppressWarnings("unchecked")
+			final TMapped mapped = (TMapped) slot;
+
+			return mapped;
+		}
+	}
+
+	@Override
+	public int getSize() {
+		return slots.size();
+	}
+
+	@Override
+	public <R> R read(IListReader<TMapped, R> reader) {
+		//
+		// getAt() fills slots, so the list is always read under the read lock and never optimistically.
+		//
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<TMapped> snapshot() {
+		return ArraySnapshot.copyOf(this, monitor);
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		if (source != null) {
+			source.removeObserver(sourceObserver);
+			source = null;
+			sourceObserver = null;
+		}
+	}
+
+	private void onAdded(int startIndex, int count) {
+		slots.addAll(startIndex, Collections.nCopies(count, UNMAPPED));
+		observers.added(startIndex, count);
+	}
+
+	//
+	// Observers of the list are notified about changes and removals while the source list still has its old items,
+	// and slots are updated when the source list has changed, so getAt() called by observers maps items
+	// of the source list that match the slots.
+	//
+	private void onChanging(int startIndex, int count) {
+		observers.changing(startIndex, count);
+	}
+
+	private void onChanged(int startIndex, int count) {
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			slots.set(i, UNMAPPED);
+		}
+		observers.changed(startIndex, count);
+	}
+
+	private void onRemoving(int startIndex, int count) {
+		observers.removing(startIndex, count);
+	}
+
+	private void onRemoved(int startIndex, int count) {
+		slots.remove(startIndex, count);
+		observers.removed(startIndex, count);
+	}
+
+	private void onMoved(int oldStartIndex, int newStartIndex, int count) {
+		slots.move(oldStartIndex, newStartIndex, count);
+		observers.moved(oldStartIndex, newStartIndex, count);
+	}
+
+	private void onPermuted(int[] newPositions) {
+		slots.permute(0, newPositions);
+		observers.permuted(newPositions);
+	}
+
+	private void onResetting() {
+		observers.resetting();
+	}
+
+	private void onReset() {
+		slots.clear();
+		slots.addAll(Collections.nCopies(source.getSize(), UNMAPPED));
+		observers.reset();
+	}
+}
@@ -50,6 +50,11 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
             onMoved(source, oldStartIndex, newStartIndex, count);
         }
 
+        @Override
+        public void permuted(int[] newPositions) {
+            onPermuted(source, newPositions);
+        }
+
         @Override
         public void resetting() {
             onResetting(source);
@@ -79,6 +84,16 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 		this.observers.remove(observer);
 	}
 
+	@Override
+	public <R> R read(IListReader<T, R> reader) {
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		return ArraySnapshot.copyOf(this, monitor);
+	}
+
 	@Override
 	public final void unlink() {
 		if (source != null) {
@@ -96,6 +111,7 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 	protected abstract void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count);
 	protected abstract void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count);
 	protected abstract void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count);
+	protected abstract void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions);
 	protected abstract void onResetting(IReadOnlyObservableList<T> source);
 	protected abstract void onReset(IReadOnlyObservableList<T> source);
 
@@ -126,6 +142,10 @@ abstract class LinkedReadOnlyObservableList<T> implements ILinkedReadOnlyObserva
 	protected final void notifyMoved(int oldStartIndex, int newStartIndex, int count) {
 		this.observers.moved(oldStartIndex, newStartIndex, count);
 	}
+
+	protected final void notifyPermuted(int[] newPositions) {
+		this.observers.permuted(newPositions);
+	}
 	
 	protected final void notifyResetting() {
 		this.observers.resetting();
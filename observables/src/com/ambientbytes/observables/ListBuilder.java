@@ -1,5 +1,7 @@
 package com.ambientbytes.observables;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Builder of all read-only observable lists.
  * The builder is seeded with the ultimate source creates a chain of collections that observe each other
@@ -106,17 +108,42 @@ public final class ListBuilder<T> {
 
         @Override
         public final IListBuilder<T> filter(IObservableReference<IItemFilter<T>> filter) {
-            return new FilteringListBuilder<>(this, unlinker, monitor, filter);
+            return new FilteringListBuilder<>(this, unlinker, monitor, filter, null);
+        }
+
+        @Override
+        public final IListBuilder<T> filter(IObservableReference<IItemFilter<T>> filter, ForkJoinPool pool) {
+            return new FilteringListBuilder<>(this, unlinker, monitor, filter, pool);
+        }
+
+        @Override
+        public final IListBuilder<T> filterInSourceOrder(IObservableReference<IItemFilter<T>> filter) {
+            return new SourceOrderFilteringListBuilder<>(this, unlinker, monitor, filter);
         }
 
         @Override
         public final IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order) {
-            return new OrderingListBuilder<>(this, unlinker, monitor, order);
+            return new OrderingListBuilder<>(this, unlinker, monitor, order, null);
+        }
+
+        @Override
+        public final IListBuilder<T> order(IObservableReference<IItemsOrder<T>> order, ForkJoinPool pool) {
+            return new OrderingListBuilder<>(this, unlinker, monitor, order, pool);
         }
 
         @Override
         public final <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper) {
-            return new MappingListBuilder<>(this, unlinker, monitor, mapper);
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, null, false);
+        }
+
+        @Override
+        public final <TMapped> IListBuilder<TMapped> map(IItemMapper<T, TMapped> mapper, ForkJoinPool pool) {
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, pool, false);
+        }
+
+        @Override
+        public final <TMapped> IListBuilder<TMapped> mapLazily(IItemMapper<T, TMapped> mapper) {
+            return new MappingListBuilder<>(this, unlinker, monitor, mapper, null, true);
         }
         
         @Override
@@ -177,6 +204,23 @@ public final class ListBuilder<T> {
         }
     }
     
+    private final static class OffHeapListBuilder<T> extends MonitoredListBuilder<T> {
+
+        private final IListMutatorListener<T> mutator;
+        private final IRecordCodec<T> codec;
+
+        OffHeapListBuilder(IListMutatorListener<T> mutator, IRecordCodec<T> codec, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.mutator = mutator;
+            this.codec = codec;
+        }
+
+        @Override
+        public IReadOnlyObservableList<T> buildList() {
+            return new OffHeapObservableList<T>(mutator, codec, monitor());
+        }
+    }
+    
     private final static class MergingListBuilder<T> extends MonitoredListBuilder<T> {
     	private final IListSet<T> listSet;
     	
@@ -191,6 +235,36 @@ public final class ListBuilder<T> {
 		}
     }
 
+    private final static class ConcatenatingListBuilder<T> extends MonitoredListBuilder<T> {
+    	private final IListSet<T> listSet;
+    	
+    	ConcatenatingListBuilder(IListSet<T> listSet, ITrigger unlinker, IReadWriteMonitor monitor) {
+    		super(unlinker, monitor);
+    		this.listSet = listSet;
+    	}
+
+		@Override
+		public IReadOnlyObservableList<T> buildList() {
+			return new ConcatenatingReadOnlyObservableList<>(listSet, monitor());
+		}
+    }
+
+    private final static class SortedMergingListBuilder<T> extends MonitoredListBuilder<T> {
+    	private final IListSet<T> listSet;
+    	private final IItemsOrder<T> order;
+    	
+    	SortedMergingListBuilder(IListSet<T> listSet, IItemsOrder<T> order, ITrigger unlinker, IReadWriteMonitor monitor) {
+    		super(unlinker, monitor);
+    		this.listSet = listSet;
+    		this.order = order;
+    	}
+
+		@Override
+		public IReadOnlyObservableList<T> buildList() {
+			return new SortedMergingReadOnlyObservableList<>(listSet, order, monitor());
+		}
+    }
+
     private final static class DispatchingListBuilder<T> extends ChainedListBuilder<T> {
 
         private final IDispatcher dispatcher;
@@ -209,30 +283,49 @@ public final class ListBuilder<T> {
     private final static class FilteringListBuilder<T> extends ChainedListBuilder<T> {
 
         private final IObservableReference<IItemFilter<T>> filter;
+        private final ForkJoinPool pool;
 
-        FilteringListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemFilter<T>> filter) {
+        FilteringListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemFilter<T>> filter, ForkJoinPool pool) {
             super(source, unlinker, monitor);
             this.filter = filter;
+            this.pool = pool;
         }
 
         @Override
         public IReadOnlyObservableList<T> buildList() {
-            return new FilteringReadOnlyObservableList<>(buildSource(), filter, monitor());
+            return new FilteringReadOnlyObservableList<>(buildSource(), filter, pool, monitor());
+        }
+    }
+
+    private final static class SourceOrderFilteringListBuilder<T> extends ChainedListBuilder<T> {
+
+        private final IObservableReference<IItemFilter<T>> filter;
+
+        SourceOrderFilteringListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemFilter<T>> filter) {
+            super(source, unlinker, monitor);
+            this.filter = filter;
+        }
+
+        @Override
+        public IReadOnlyObservableList<T> buildList() {
+            return new SourceOrderFilteringReadOnlyObservableList<>(buildSource(), filter, monitor());
         }
     }
 
     private final static class OrderingListBuilder<T> extends ChainedListBuilder<T> {
 
         private final IObservableReference<IItemsOrder<T>> order;
+        private final ForkJoinPool pool;
 
-        OrderingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemsOrder<T>> order) {
+        OrderingListBuilder(IListBuilder<T> source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IItemsOrder<T>> order, ForkJoinPool pool) {
             super(source, unlinker, monitor);
             this.order = order;
+            this.pool = pool;
         }
 
         @Override
         public IReadOnlyObservableList<T> buildList() {
-            return new OrderingReadOnlyObservableList<>(buildSource(), order, monitor());
+            return new OrderingReadOnlyObservableList<>(buildSource(), order, pool, monitor());
         }
     }
 
@@ -240,16 +333,492 @@ public final class ListBuilder<T> {
 
         private final IListBuilder<TSource> source;
         private final IItemMapper<TSource, TMapped> mapper;
+        private final ForkJoinPool pool;
+        private final boolean lazy;
 
-        public MappingListBuilder(IListBuilder<TSource> source, ITrigger unlinker, IReadWriteMonitor monitor, IItemMapper<TSource, TMapped> mapper) {
+        public MappingListBuilder(IListBuilder<TSource> source, ITrigger unlinker, IReadWriteMonitor monitor, IItemMapper<TSource, TMapped> mapper, ForkJoinPool pool, boolean lazy) {
             super(unlinker, monitor);
             this.source = source;
             this.mapper = mapper;
+            this.pool = pool;
+            this.lazy = lazy;
         }
 
         @Override
         protected final IReadOnlyObservableList<TMapped> buildList() {
-            return new MappingReadOnlyObservableList<>(source.build(), mapper, monitor());
+            if (lazy) {
+                return new LazyMappingReadOnlyObservableList<>(source.build(), mapper, monitor());
+            }
+
+            return new MappingReadOnlyObservableList<>(source.build(), mapper, pool, monitor());
+        }
+    }
+
+    private abstract static class IntListBuilder implements IIntListBuilder {
+
+        private final IReadWriteMonitor monitor;
+        private final ITrigger unlinker;
+
+        IntListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+            this.monitor = monitor;
+            this.unlinker = unlinker;
+        }
+
+        protected abstract IReadOnlyObservableIntList buildList();
+
+        protected final IReadWriteMonitor monitor() {
+            return monitor;
+        }
+
+        @Override
+        public final IIntListBuilder filter(IObservableReference<IIntFilter> filter) {
+            return new FilteringIntListBuilder(this, unlinker, monitor, filter);
+        }
+
+        @Override
+        public final IIntListBuilder order(IObservableReference<IIntOrder> order) {
+            return new OrderingIntListBuilder(this, unlinker, monitor, order);
+        }
+
+        @Override
+        public final IIntListBuilder map(IIntMapper mapper) {
+            return new MappingIntListBuilder(this, unlinker, monitor, mapper);
+        }
+
+        @Override
+        public final IListBuilder<Integer> boxed() {
+            return new BoxedIntListBuilder(this, unlinker, monitor);
+        }
+
+        @Override
+        public final IReadOnlyObservableIntList build() {
+            IReadOnlyObservableIntList list = buildList();
+
+            if (unlinker != null && list instanceof ILinkedReadOnlyObservableList) {
+                Unlinker.attachUnlinker((ILinked) list, unlinker);
+            }
+
+            return list;
+        }
+    }
+
+    private abstract static class ChainedIntListBuilder extends IntListBuilder {
+
+        private final IIntListBuilder source;
+
+        ChainedIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        protected final IReadOnlyObservableIntList buildSource() {
+            return source.build();
+        }
+    }
+
+    private final static class StraightIntListBuilder extends IntListBuilder {
+
+        private final IReadOnlyObservableIntList sourceList;
+
+        StraightIntListBuilder(IReadOnlyObservableIntList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.sourceList = sourceList;
+        }
+
+        @Override
+        protected IReadOnlyObservableIntList buildList() {
+            return sourceList;
+        }
+    }
+
+    private final static class MutableIntListBuilder extends IntListBuilder {
+
+        private final IIntListMutatorListener mutator;
+
+        MutableIntListBuilder(IIntListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.mutator = mutator;
+        }
+
+        @Override
+        protected IReadOnlyObservableIntList buildList() {
+            return new MutableObservableIntList(mutator, monitor());
+        }
+    }
+
+    private final static class FilteringIntListBuilder extends ChainedIntListBuilder {
+
+        private final IObservableReference<IIntFilter> filter;
+
+        FilteringIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IIntFilter> filter) {
+            super(source, unlinker, monitor);
+            this.filter = filter;
+        }
+
+        @Override
+        protected IReadOnlyObservableIntList buildList() {
+            return new FilteringReadOnlyObservableIntList(buildSource(), filter, monitor());
+        }
+    }
+
+    private final static class OrderingIntListBuilder extends ChainedIntListBuilder {
+
+        private final IObservableReference<IIntOrder> order;
+
+        OrderingIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IIntOrder> order) {
+            super(source, unlinker, monitor);
+            this.order = order;
+        }
+
+        @Override
+        protected IReadOnlyObservableIntList buildList() {
+            return new OrderingReadOnlyObservableIntList(buildSource(), order, monitor());
+        }
+    }
+
+    private final static class MappingIntListBuilder extends ChainedIntListBuilder {
+
+        private final IIntMapper mapper;
+
+        MappingIntListBuilder(IIntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IIntMapper mapper) {
+            super(source, unlinker, monitor);
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected IReadOnlyObservableIntList buildList() {
+            return new MappingReadOnlyObservableIntList(buildSource(), mapper, monitor());
+        }
+    }
+
+    //
+    // Continues a chain of int lists with generic lists that observe the last int list as a list of boxed values.
+    // The last int list is built without an unlinker, because build() of the boxed builder attaches one.
+    //
+    private final static class BoxedIntListBuilder extends MonitoredListBuilder<Integer> {
+
+        private final IntListBuilder source;
+
+        BoxedIntListBuilder(IntListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        @Override
+        protected IReadOnlyObservableList<Integer> buildList() {
+            return source.buildList();
+        }
+    }
+
+    private abstract static class LongListBuilder implements ILongListBuilder {
+
+        private final IReadWriteMonitor monitor;
+        private final ITrigger unlinker;
+
+        LongListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+            this.monitor = monitor;
+            this.unlinker = unlinker;
+        }
+
+        protected abstract IReadOnlyObservableLongList buildList();
+
+        protected final IReadWriteMonitor monitor() {
+            return monitor;
+        }
+
+        @Override
+        public final ILongListBuilder filter(IObservableReference<ILongFilter> filter) {
+            return new FilteringLongListBuilder(this, unlinker, monitor, filter);
+        }
+
+        @Override
+        public final ILongListBuilder order(IObservableReference<ILongOrder> order) {
+            return new OrderingLongListBuilder(this, unlinker, monitor, order);
+        }
+
+        @Override
+        public final ILongListBuilder map(ILongMapper mapper) {
+            return new MappingLongListBuilder(this, unlinker, monitor, mapper);
+        }
+
+        @Override
+        public final IListBuilder<Long> boxed() {
+            return new BoxedLongListBuilder(this, unlinker, monitor);
+        }
+
+        @Override
+        public final IReadOnlyObservableLongList build() {
+            IReadOnlyObservableLongList list = buildList();
+
+            if (unlinker != null && list instanceof ILinkedReadOnlyObservableList) {
+                Unlinker.attachUnlinker((ILinked) list, unlinker);
+            }
+
+            return list;
+        }
+    }
+
+    private abstract static class ChainedLongListBuilder extends LongListBuilder {
+
+        private final ILongListBuilder source;
+
+        ChainedLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        protected final IReadOnlyObservableLongList buildSource() {
+            return source.build();
+        }
+    }
+
+    private final static class StraightLongListBuilder extends LongListBuilder {
+
+        private final IReadOnlyObservableLongList sourceList;
+
+        StraightLongListBuilder(IReadOnlyObservableLongList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.sourceList = sourceList;
+        }
+
+        @Override
+        protected IReadOnlyObservableLongList buildList() {
+            return sourceList;
+        }
+    }
+
+    private final static class MutableLongListBuilder extends LongListBuilder {
+
+        private final ILongListMutatorListener mutator;
+
+        MutableLongListBuilder(ILongListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.mutator = mutator;
+        }
+
+        @Override
+        protected IReadOnlyObservableLongList buildList() {
+            return new MutableObservableLongList(mutator, monitor());
+        }
+    }
+
+    private final static class FilteringLongListBuilder extends ChainedLongListBuilder {
+
+        private final IObservableReference<ILongFilter> filter;
+
+        FilteringLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<ILongFilter> filter) {
+            super(source, unlinker, monitor);
+            this.filter = filter;
+        }
+
+        @Override
+        protected IReadOnlyObservableLongList buildList() {
+            return new FilteringReadOnlyObservableLongList(buildSource(), filter, monitor());
+        }
+    }
+
+    private final static class OrderingLongListBuilder extends ChainedLongListBuilder {
+
+        private final IObservableReference<ILongOrder> order;
+
+        OrderingLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<ILongOrder> order) {
+            super(source, unlinker, monitor);
+            this.order = order;
+        }
+
+        @Override
+        protected IReadOnlyObservableLongList buildList() {
+            return new OrderingReadOnlyObservableLongList(buildSource(), order, monitor());
+        }
+    }
+
+    private final static class MappingLongListBuilder extends ChainedLongListBuilder {
+
+        private final ILongMapper mapper;
+
+        MappingLongListBuilder(ILongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, ILongMapper mapper) {
+            super(source, unlinker, monitor);
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected IReadOnlyObservableLongList buildList() {
+            return new MappingReadOnlyObservableLongList(buildSource(), mapper, monitor());
+        }
+    }
+
+    //
+    // Continues a chain of long lists with generic lists that observe the last long list as a list of boxed values.
+    // The last long list is built without an unlinker, because build() of the boxed builder attaches one.
+    //
+    private final static class BoxedLongListBuilder extends MonitoredListBuilder<Long> {
+
+        private final LongListBuilder source;
+
+        BoxedLongListBuilder(LongListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        @Override
+        protected IReadOnlyObservableList<Long> buildList() {
+            return source.buildList();
+        }
+    }
+
+    private abstract static class DoubleListBuilder implements IDoubleListBuilder {
+
+        private final IReadWriteMonitor monitor;
+        private final ITrigger unlinker;
+
+        DoubleListBuilder(ITrigger unlinker, IReadWriteMonitor monitor) {
+            this.monitor = monitor;
+            this.unlinker = unlinker;
+        }
+
+        protected abstract IReadOnlyObservableDoubleList buildList();
+
+        protected final IReadWriteMonitor monitor() {
+            return monitor;
+        }
+
+        @Override
+        public final IDoubleListBuilder filter(IObservableReference<IDoubleFilter> filter) {
+            return new FilteringDoubleListBuilder(this, unlinker, monitor, filter);
+        }
+
+        @Override
+        public final IDoubleListBuilder order(IObservableReference<IDoubleOrder> order) {
+            return new OrderingDoubleListBuilder(this, unlinker, monitor, order);
+        }
+
+        @Override
+        public final IDoubleListBuilder map(IDoubleMapper mapper) {
+            return new MappingDoubleListBuilder(this, unlinker, monitor, mapper);
+        }
+
+        @Override
+        public final IListBuilder<Double> boxed() {
+            return new BoxedDoubleListBuilder(this, unlinker, monitor);
+        }
+
+        @Override
+        public final IReadOnlyObservableDoubleList build() {
+            IReadOnlyObservableDoubleList list = buildList();
+
+            if (unlinker != null && list instanceof ILinkedReadOnlyObservableList) {
+                Unlinker.attachUnlinker((ILinked) list, unlinker);
+            }
+
+            return list;
+        }
+    }
+
+    private abstract static class ChainedDoubleListBuilder extends DoubleListBuilder {
+
+        private final IDoubleListBuilder source;
+
+        ChainedDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        protected final IReadOnlyObservableDoubleList buildSource() {
+            return source.build();
+        }
+    }
+
+    private final static class StraightDoubleListBuilder extends DoubleListBuilder {
+
+        private final IReadOnlyObservableDoubleList sourceList;
+
+        StraightDoubleListBuilder(IReadOnlyObservableDoubleList sourceList, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.sourceList = sourceList;
+        }
+
+        @Override
+        protected IReadOnlyObservableDoubleList buildList() {
+            return sourceList;
+        }
+    }
+
+    private final static class MutableDoubleListBuilder extends DoubleListBuilder {
+
+        private final IDoubleListMutatorListener mutator;
+
+        MutableDoubleListBuilder(IDoubleListMutatorListener mutator, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.mutator = mutator;
+        }
+
+        @Override
+        protected IReadOnlyObservableDoubleList buildList() {
+            return new MutableObservableDoubleList(mutator, monitor());
+        }
+    }
+
+    private final static class FilteringDoubleListBuilder extends ChainedDoubleListBuilder {
+
+        private final IObservableReference<IDoubleFilter> filter;
+
+        FilteringDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IDoubleFilter> filter) {
+            super(source, unlinker, monitor);
+            this.filter = filter;
+        }
+
+        @Override
+        protected IReadOnlyObservableDoubleList buildList() {
+            return new FilteringReadOnlyObservableDoubleList(buildSource(), filter, monitor());
+        }
+    }
+
+    private final static class OrderingDoubleListBuilder extends ChainedDoubleListBuilder {
+
+        private final IObservableReference<IDoubleOrder> order;
+
+        OrderingDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IObservableReference<IDoubleOrder> order) {
+            super(source, unlinker, monitor);
+            this.order = order;
+        }
+
+        @Override
+        protected IReadOnlyObservableDoubleList buildList() {
+            return new OrderingReadOnlyObservableDoubleList(buildSource(), order, monitor());
+        }
+    }
+
+    private final static class MappingDoubleListBuilder extends ChainedDoubleListBuilder {
+
+        private final IDoubleMapper mapper;
+
+        MappingDoubleListBuilder(IDoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor, IDoubleMapper mapper) {
+            super(source, unlinker, monitor);
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected IReadOnlyObservableDoubleList buildList() {
+            return new MappingReadOnlyObservableDoubleList(buildSource(), mapper, monitor());
+        }
+    }
+
+    //
+    // Continues a chain of double lists with generic lists that observe the last double list as a list of boxed values.
+    // The last double list is built without an unlinker, because build() of the boxed builder attaches one.
+    //
+    private final static class BoxedDoubleListBuilder extends MonitoredListBuilder<Double> {
+
+        private final DoubleListBuilder source;
+
+        BoxedDoubleListBuilder(DoubleListBuilder source, ITrigger unlinker, IReadWriteMonitor monitor) {
+            super(unlinker, monitor);
+            this.source = source;
+        }
+
+        @Override
+        protected IReadOnlyObservableList<Double> buildList() {
+            return source.buildList();
         }
     }
 
@@ -280,6 +849,18 @@ public final class ListBuilder<T> {
     	return new MutableListBuilder<>(mutator, unlinker, monitor);
     }
 
+    /**
+     * Create a new list builder that creates a new mutable list that stores items as fixed-layout records
+     * in direct memory outside of the Java heap.
+     * The list built by the returned builder implements IReadOnlyObservableRecordList.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @param codec codec that writes items as records and reads them back.
+     * @return new list builder that creates a new off-heap list.
+     */
+    public IListBuilder<T> offHeap(IListMutatorListener<T> mutator, IRecordCodec<T> codec) {
+    	return new OffHeapListBuilder<>(mutator, codec, unlinker, monitor);
+    }
+
     /**
      * Create the initial IListBuilder object that will build a chain of observable lists.
      * @param source source observable list.
@@ -297,4 +878,82 @@ public final class ListBuilder<T> {
     public IListBuilder<T> merge(IListSet<T> sources) {
     	return new MergingListBuilder<>(sources, unlinker, monitor);
     }
+
+    /**
+     * Create a new list builder that creates an observable list that concatenates lists in the passed list set
+     * without copying their items. The list reads items from the source lists, so it uses little memory
+     * regardless of the size of the sources, but each access to an item finds the source list by binary search.
+     * @param sources collection of source observable lists.
+     * @return new list builder that creates a new concatenating observable list.
+     */
+    public IListBuilder<T> concatenate(IListSet<T> sources) {
+    	return new ConcatenatingListBuilder<>(sources, unlinker, monitor);
+    }
+
+    /**
+     * Create a new list builder that creates an observable list that merges lists in the passed list set
+     * into one ordered list. Source lists must be ordered by the same order, for example by ordering lists
+     * built with the same order; the merged list inserts their new items at positions found by binary search
+     * instead of sorting all items again.
+     * @param sources collection of source observable lists ordered by the order.
+     * @param order order of items in the source lists and in the merged list.
+     * @return new list builder that creates a new ordered merging observable list.
+     */
+    public IListBuilder<T> mergeSorted(IListSet<T> sources, IItemsOrder<T> order) {
+    	return new SortedMergingListBuilder<>(sources, order, unlinker, monitor);
+    }
+
+    /**
+     * Create a new builder of int lists that creates a new mutable list of int values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new int list builder that creates a new mutable int list.
+     */
+    public IIntListBuilder mutableInts(IIntListMutatorListener mutator) {
+    	return new MutableIntListBuilder(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial IIntListBuilder object that will build a chain of observable int lists.
+     * @param source source observable int list.
+     * @return new int list builder that will return the source list.
+     */
+    public IIntListBuilder sourceInts(IReadOnlyObservableIntList source) {
+    	return new StraightIntListBuilder(source, unlinker, monitor);
+    }
+
+    /**
+     * Create a new builder of long lists that creates a new mutable list of long values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new long list builder that creates a new mutable long list.
+     */
+    public ILongListBuilder mutableLongs(ILongListMutatorListener mutator) {
+    	return new MutableLongListBuilder(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial ILongListBuilder object that will build a chain of observable long lists.
+     * @param source source observable long list.
+     * @return new long list builder that will return the source list.
+     */
+    public ILongListBuilder sourceLongs(IReadOnlyObservableLongList source) {
+    	return new StraightLongListBuilder(source, unlinker, monitor);
+    }
+
+    /**
+     * Create a new builder of double lists that creates a new mutable list of double values for the provided mutator.
+     * @param mutator injectable mutator that will change contents of the list.
+     * @return new double list builder that creates a new mutable double list.
+     */
+    public IDoubleListBuilder mutableDoubles(IDoubleListMutatorListener mutator) {
+    	return new MutableDoubleListBuilder(mutator, unlinker, monitor);
+    }
+
+    /**
+     * Create the initial IDoubleListBuilder object that will build a chain of observable double lists.
+     * @param source source observable double list.
+     * @return new double list builder that will return the source list.
+     */
+    public IDoubleListBuilder sourceDoubles(IReadOnlyObservableDoubleList source) {
+    	return new StraightDoubleListBuilder(source, unlinker, monitor);
+    }
 }
@@ -1,17 +1,21 @@
 package com.ambientbytes.observables;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 
 public final class ListMutator<T> implements IListMutator<T>, IListMutatorListener<T> {
 
 	private final IReadWriteMonitor monitor;
-	private final Collection<IListMutator<T>> listeners;
+	//
+	// Immutable array of listeners replaced on every change, so mutations are forwarded
+	// to listeners without locking the monitor or copying the collection.
+	//
+	private volatile IListMutator<T>[] listeners;
 	
+	@SuppressWarnings("unchecked")
 	public ListMutator(IReadWriteMonitor monitor) {
 		this.monitor = monitor;
-		this.listeners = new HashSet<>();
+		this.listeners = (IListMutator<T>[]) new IListMutator<?>[0];
 	}
 
 	@Override
@@ -19,9 +23,15 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 		IResource lock = monitor.acquireWrite();
 		
 		try {
-			if (listener == null || !listeners.add(listener)) {
+			final IListMutator<T>[] current = listeners;
+			
+			if (listener == null || indexOf(current, listener) >= 0) {
 				throw new IllegalArgumentException("Listeners must be unique and non-null.");
 			}
+			
+			final IListMutator<T>[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = listener;
+			listeners = updated;
 		} finally {
 			lock.release();
 		}		
@@ -32,7 +42,14 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 		IResource lock = monitor.acquireWrite();
 		
 		try {
-			listeners.remove(listener);
+			final IListMutator<T>[] current = listeners;
+			final int index = indexOf(current, listener);
+			
+			if (index >= 0) {
+				final IListMutator<T>[] updated = Arrays.copyOf(current, current.length - 1);
+				System.arraycopy(current, index + 1, updated, index, updated.length - index);
+				listeners = updated;
+			}
 		} finally {
 			lock.release();
 		}
@@ -40,78 +57,84 @@ public final class ListMutator<T> implements IListMutator<T>, IListMutatorListen
 
 	@Override
 	public void add(T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(value);
 		}
 	}
 
 	@Override
 	public void add(int index, T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(index, value);
 		}
 	}
 
 	@Override
 	public void add(int index, Collection<T> values) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.add(index, values);
 		}
 	}
 
 	@Override
 	public void set(int index, T value) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.set(index, value);
 		}
 	}
 
 	@Override
 	public void set(int index, Collection<T> values) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.set(index, values);
 		}
 	}
 
 	@Override
 	public void remove(int index, int count) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.remove(index, count);
 		}
 	}
 
 	@Override
 	public void clear() {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.clear();
 		}
 	}
 
 	@Override
 	public void move(int startIndex, int newIndex, int count) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.move(startIndex, newIndex, count);
 		}
 	}
 
 	@Override
 	public void reset(Collection<T> newItems) {
-		for (IListMutator<T> mutator : makeInvocationList()) {
+		for (IListMutator<T> mutator : listeners) {
 			mutator.reset(newItems);
 		}
 	}
 	
-	private Iterable<IListMutator<T>> makeInvocationList() {
-		IResource lock = monitor.acquireRead();
-		Iterable<IListMutator<T>> iterable;
+	@Override
+	public void batch(IListTransaction<T> transaction) {
+		for (IListMutator<T> mutator : listeners) {
+			mutator.batch(transaction);
+		}
+	}
+	
+	private static <T> int indexOf(IListMutator<T>[] listeners, IListMutator<T> listener) {
+		int index = -1;
 		
-		try {
-			iterable = new ArrayList<>(listeners);
-		} finally {
-			lock.release();
+		for (int i = 0; i < listeners.length && index < 0; ++i) {
+			if (listeners[i] == listener) {
+				index = i;
+			}
 		}
 		
-		return iterable;
+		return index;
 	}
 
 }
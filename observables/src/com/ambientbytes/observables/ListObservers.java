@@ -1,26 +1,40 @@
 package com.ambientbytes.observables;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+/**
+ * Collection of list observers that forwards all list events to every observer in the collection.
+ * Observers are kept in an immutable array that is replaced when observers are added or removed,
+ * so reporting events neither acquires the monitor nor allocates memory.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items in the observed list.
+ */
 final class ListObservers<T> implements IListObserver {
 	
+	private static final IListObserver[] NO_OBSERVERS = new IListObserver[0];
+	
 	private final IReadWriteMonitor monitor;
-	private final Set<IListObserver> observers;
+	private volatile IListObserver[] observers;
 	
 	ListObservers(final IReadWriteMonitor monitor) {
 		this.monitor = monitor;
-		this.observers = new HashSet<>();
+		this.observers = NO_OBSERVERS;
 	}
 	
 	public void add(IListObserver observer) {
 		final IResource l = monitor.acquireWrite();
 		
 		try {
-			if (!observers.add(observer)) {
+			final IListObserver[] current = observers;
+			
+			if (indexOf(current, observer) >= 0) {
 				throw new IllegalStateException("Duplicate list observer");
 			}
+			
+			final IListObserver[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = observer;
+			observers = updated;
 		} finally {
 			l.release();
 		}
@@ -30,7 +44,19 @@ final class ListObservers<T> implements IListObserver {
 		final IResource l = monitor.acquireWrite();
 		
 		try {
-			observers.remove(observer);
+			final IListObserver[] current = observers;
+			final int index = indexOf(current, observer);
+			
+			if (index >= 0) {
+				if (current.length == 1) {
+					observers = NO_OBSERVERS;
+				} else {
+					final IListObserver[] updated = new IListObserver[current.length - 1];
+					System.arraycopy(current, 0, updated, 0, index);
+					System.arraycopy(current, index + 1, updated, index, updated.length - index);
+					observers = updated;
+				}
+			}
 		} finally {
 			l.release();
 		}
@@ -38,70 +64,76 @@ final class ListObservers<T> implements IListObserver {
 
 	@Override
 	public void added(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.added(startIndex, count);
 		}
 	}
 	
 	@Override
 	public void changing(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.changing(startIndex, count);
 		}
 	}
 	
 	@Override
 	public void changed(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.changed(startIndex, count);
 		}
 	}
 	
 	@Override
 	public void removing(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.removing(startIndex, count);
 		}
 	}
 
 	@Override
 	public void removed(int startIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.removed(startIndex, count);
 		}
 	}
 
 	@Override
 	public void moved(int oldStartIndex, int newStartIndex, int count) {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.moved(oldStartIndex, newStartIndex, count);
 		}
 	}
 
+	@Override
+	public void permuted(int[] newPositions) {
+		for (IListObserver observer : observers) {
+			observer.permuted(newPositions);
+		}
+	}
+
 	@Override
 	public void resetting() {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.resetting();
 		}
 	}
 
 	@Override
 	public void reset() {
-		for (IListObserver observer : makeInvocationList()) {
+		for (IListObserver observer : observers) {
 			observer.reset();
 		}
 	}
 	
-	private Iterable<IListObserver> makeInvocationList() {
-		Iterable<IListObserver> iterable;
-		final IResource l = monitor.acquireRead();
+	private static int indexOf(IListObserver[] observers, IListObserver observer) {
+		int index = -1;
 		
-		try {
-			iterable = new ArrayList<>(observers);
-		} finally {
-			l.release();
+		for (int i = 0; i < observers.length && index < 0; ++i) {
+			if (observers[i] == observer) {
+				index = i;
+			}
 		}
 		
-		return iterable;
+		return index;
 	}
 }
@@ -16,4 +16,65 @@ public final class LockTool {
 	public static IReadWriteMonitor createReadWriteMonitor(ReadWriteLock lock) {
 		return new ReadWriteMonitor(lock);
 	}
+
+    /**
+     * Create a new read/write monitor wrapping a Java's ReadWriteLock object that keeps the state of held locks
+     * in per-thread pools instead of allocating it for each call of acquireRead and acquireWrite.
+     * Resources returned by the monitor are preallocated and stamped with their acquisitions, so releasing
+     * a resource more than once does nothing even after the same thread has acquired the monitor a few times again.
+     * @param lock read/write lock used by the monitor.
+     * @return new read/write monitor.
+     */
+	public static IReadWriteMonitor createPooledReadWriteMonitor(ReadWriteLock lock) {
+		return new PooledReadWriteMonitor(lock);
+	}
+
+    /**
+     * Create a new read/write monitor that uses a Java's StampedLock object.
+     * Mutable lists that share the monitor are read optimistically by IReadOnlyObservableList.read
+     * when the reader reads the size of the list and at most one item, so such readers do not contend
+     * with writers unless a write happens while reading.
+     * @return new read/write monitor.
+     */
+	public static IReadWriteMonitor createStampedMonitor() {
+		return new StampedReadWriteMonitor();
+	}
+
+	/**
+	 * Read an observable list protected by a read/write monitor under the read lock.
+	 * @param monitor monitor that protects the list.
+	 * @param list list to read.
+	 * @param reader reader of the list.
+	 * @return result returned by the reader.
+	 */
+	static <T, R> R read(IReadWriteMonitor monitor, IReadOnlyObservableList<T> list, IListReader<T, R> reader) {
+		final IResource res = monitor.acquireRead();
+		
+		try {
+			return reader.read(list);
+		} finally {
+			res.release();
+		}
+	}
+
+	/**
+	 * Read an observable list that keeps its items in plain storage and is protected by a read/write monitor.
+	 * Monitors that support optimistic reads run readers that read the size of the list and at most one item
+	 * without locking; other readers and other monitors read the list under the read lock.
+	 * @param monitor monitor that protects the list.
+	 * @param list list to read; getSize() and getAt() of the list must only read fields and arrays of the list.
+	 * @param reader reader of the list.
+	 * @return result returned by the reader.
+	 */
+	static <T, R> R readOptimistically(IReadWriteMonitor monitor, IReadOnlyObservableList<T> list, IListReader<T, R> reader) {
+		R result;
+		
+		if (monitor instanceof StampedReadWriteMonitor) {
+			result = ((StampedReadWriteMonitor) monitor).read(list, reader);
+		} else {
+			result = read(monitor, list, reader);
+		}
+		
+		return result;
+	}
 }
@@ -0,0 +1,69 @@
+package com.ambientbytes.observables;
+
+/**
+ * Growable array of primitive long values with the range operations needed by observable long lists.
+ * @author Pavel Karpenko
+ *
+ */
+final class LongArrayList extends PrimitiveArrayList<long[]> {
+
+	LongArrayList() {
+		this(16);
+	}
+
+	LongArrayList(int capacity) {
+		super(capacity);
+	}
+
+	long get(int index) {
+		checkIndex(index);
+		return array()[index];
+	}
+
+	void set(int index, long value) {
+		checkIndex(index);
+		array()[index] = value;
+	}
+
+	void add(long value) {
+		add(size(), value);
+	}
+
+	void add(int index, long value) {
+		open(index, 1);
+		array()[index] = value;
+	}
+
+	@Override
+	long[] newArray(int length) {
+		return new long[length];
+	}
+
+	@Override
+	long[] read(IReadOnlyObservableList<?> source, int startIndex, int count) {
+		final IReadOnlyObservableLongList longSource = (IReadOnlyObservableLongList) source;
+		final long[] values = new long[count];
+
+		for (int i = 0; i < count; ++i) {
+			values[i] = longSource.getLong(startIndex + i);
+		}
+
+		return values;
+	}
+
+	@Override
+	long[] select(long[] values, int[] indexes) {
+		final long[] selected = new long[indexes.length];
+
+		for (int i = 0; i < indexes.length; ++i) {
+			selected[i] = values[indexes[i]];
+		}
+
+		return selected;
+	}
+
+	@Override
+	boolean same(long[] values, int index, long[] otherValues, int otherIndex) {
+		return values[index] == otherValues[otherIndex];
+	}
+}
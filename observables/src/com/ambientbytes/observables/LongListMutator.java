@@ -0,0 +1,83 @@
+package com.ambientbytes.observables;
+
+public final class LongListMutator implements ILongListMutator, ILongListMutatorListener {
+
+	private final MutatorListeners<ILongListMutator> listeners;
+
+	public LongListMutator(IReadWriteMonitor monitor) {
+		this.listeners = new MutatorListeners<>(monitor, new ILongListMutator[0]);
+	}
+
+	@Override
+	public void addListener(ILongListMutator listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(ILongListMutator listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void add(long value) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.add(value);
+		}
+	}
+
+	@Override
+	public void add(int index, long value) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.add(index, value);
+		}
+	}
+
+	@Override
+	public void add(int index, long[] values) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.add(index, values);
+		}
+	}
+
+	@Override
+	public void set(int index, long value) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.set(index, value);
+		}
+	}
+
+	@Override
+	public void set(int index, long[] values) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.set(index, values);
+		}
+	}
+
+	@Override
+	public void remove(int index, int count) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.remove(index, count);
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.clear();
+		}
+	}
+
+	@Override
+	public void move(int startIndex, int newIndex, int count) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.move(startIndex, newIndex, count);
+		}
+	}
+
+	@Override
+	public void reset(long[] newValues) {
+		for (ILongListMutator mutator : listeners.get()) {
+			mutator.reset(newValues);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evaluator of an item mapper over a list of items that splits large lists into chunks
+ * mapped in parallel by a fork/join pool; mapped items are returned in the order of the source items.
+ * The caller keeps holding the write lock while the pool maps the items, so the mapper
+ * must not acquire the lock or read observable lists; it must be safe to call from several threads.
+ * @author Pavel Karpenko
+ */
+final class MapperEvaluator {
+
+	//
+	// Mappers are expected to be much more expensive than filters, so smaller lists are worth
+	// splitting between threads, and chunks are smaller than chunks of FilterEvaluator.
+	//
+	static final int PARALLEL_THRESHOLD = 256;
+	static final int CHUNK_SIZE = 64;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Create an evaluator.
+	 * @param pool fork/join pool that maps large lists; if null, all lists are mapped on the calling thread.
+	 */
+	MapperEvaluator(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Map all items in the list.
+	 * @param mapper mapper to call.
+	 * @param items random access list of source items.
+	 * @return list of mapped items; the item at index i is the mapped source item at index i.
+	 */
+	<TSource, TMapped> List<TMapped> map(final IItemMapper<TSource, TMapped> mapper, final List<TSource> items) {
+		final int size = items.size();
+		final Object[] results = new Object[size];
+		final RangeTask.Operation mapping = new RangeTask.Operation() {
+			@Override
+			void compute(int startIndex, int endIndex) {
+				for (int i = startIndex; i < endIndex; ++i) {
+					results[i] = mapper.map(items.get(i));
+				}
+			}
+		};
+
+		if (pool == null || size < PARALLEL_THRESHOLD) {
+			mapping.compute(0, size);
+		} else {
+			RangeTask.invoke(pool, mapping, size, CHUNK_SIZE);
+		}
+
+		@SuppressWarnings("unchecked")
+		final List<TMapped> mapped = (List<TMapped>) Arrays.asList(results);
+
+		return mapped;
+	}
+}
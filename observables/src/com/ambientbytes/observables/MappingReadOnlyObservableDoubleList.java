@@ -0,0 +1,43 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable double list that maps values of another observable double list.
+ * @author Pavel Karpenko
+ *
+ */
+final class MappingReadOnlyObservableDoubleList
+		extends MappingReadOnlyObservablePrimitiveList<Double, double[], IDoubleMapper>
+		implements IReadOnlyObservableDoubleList {
+
+	private final DoubleArrayList data;
+
+	MappingReadOnlyObservableDoubleList(IReadOnlyObservableDoubleList source, IDoubleMapper mapper, IReadWriteMonitor monitor) {
+		this(source, mapper, new DoubleArrayList(source.getSize()), monitor);
+	}
+
+	private MappingReadOnlyObservableDoubleList(
+			IReadOnlyObservableDoubleList source,
+			IDoubleMapper mapper,
+			DoubleArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, mapper, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Double getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected void map(IDoubleMapper mapper, double[] values) {
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = mapper.map(values[i]);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable int list that maps values of another observable int list.
+ * @author Pavel Karpenko
+ *
+ */
+final class MappingReadOnlyObservableIntList
+		extends MappingReadOnlyObservablePrimitiveList<Integer, int[], IIntMapper>
+		implements IReadOnlyObservableIntList {
+
+	private final IntArrayList data;
+
+	MappingReadOnlyObservableIntList(IReadOnlyObservableIntList source, IIntMapper mapper, IReadWriteMonitor monitor) {
+		this(source, mapper, new IntArrayList(source.getSize()), monitor);
+	}
+
+	private MappingReadOnlyObservableIntList(
+			IReadOnlyObservableIntList source,
+			IIntMapper mapper,
+			IntArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, mapper, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Integer getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected void map(IIntMapper mapper, int[] values) {
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = mapper.map(values[i]);
+		}
+	}
+}
@@ -1,13 +1,16 @@
 package com.ambientbytes.observables;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedReadOnlyObservableList<TMapped> {
 
+	private final IReadWriteMonitor monitor;
 	private final ListObservers<TMapped> observers;
 	private final IItemMapper<TSource, TMapped> mapper;
-	private final ArrayListEx<TMapped> data;
+	private final MapperEvaluator evaluator;
+	private final SegmentedList<TMapped> data;
 	private IListObserver sourceObserver;
 	private IReadOnlyObservableList<TSource> source;
 
@@ -15,13 +18,29 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 			IReadOnlyObservableList<TSource> source,
 			IItemMapper<TSource, TMapped> mapper,
             IReadWriteMonitor monitor) {
+		this(source, mapper, null, monitor);
+	}
+
+	/**
+	 * Create a mapping list that maps large sets of items in parallel.
+	 * @param source source list.
+	 * @param mapper mapper of source items; the mapper must be safe to call from several threads.
+	 * @param pool fork/join pool that maps items when the list is created or reset, or a large range
+	 * of items is added or changed; if null, items are mapped on the calling thread.
+	 * @param monitor read/write monitor shared by all lists in the pipeline.
+	 */
+	MappingReadOnlyObservableList(
+			IReadOnlyObservableList<TSource> source,
+			IItemMapper<TSource, TMapped> mapper,
+			ForkJoinPool pool,
+            IReadWriteMonitor monitor) {
+		this.monitor = monitor;
 		this.observers = new ListObservers<>(monitor);
 		this.mapper = mapper;
-		this.data = new ArrayListEx<>(source.getSize());
+		this.evaluator = new MapperEvaluator(pool);
+		this.data = new SegmentedList<>();
 		this.source = source;
-		for (int i = 0; i < source.getSize(); ++i) {
-			this.data.add(mapper.map(source.getAt(i)));
-		}
+		this.data.addAll(mapRange(0, source.getSize()));
 		this.sourceObserver = new IListObserver() {
 			@Override public void added(int startIndex, int count)
 			{
@@ -32,6 +51,7 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 			@Override public void removing(int startIndex, int count) { onRemoving(startIndex, count); }
 			@Override public void removed(int startIndex, int count) { /* do nothing */ }
 			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { onMoved(oldStartIndex, newStartIndex, count); }
+			@Override public void permuted(int[] newPositions) { onPermuted(newPositions); }
 			@Override public void resetting() { onResetting(); }
 			@Override public void reset() { onReset(); }
 		};
@@ -48,6 +68,22 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 		return data.size();
 	}
 
+	@Override
+	public <R> R read(IListReader<TMapped, R> reader) {
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<TMapped> snapshot() {
+		IResource res = monitor.acquireRead();
+		
+		try {
+			return data.snapshot();
+		} finally {
+			res.release();
+		}
+	}
+
 	@Override
 	public void addObserver(IListObserver observer) {
 		observers.add(observer);
@@ -67,22 +103,30 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 		}
 	}
 	
-	private void onAdded(int startIndex, int count) {
-		Collection<TMapped> mapped = new ArrayList<>(count);
+	private List<TMapped> mapRange(int startIndex, int count) {
+		//
+		// Read source items on the calling thread; only the mapper runs in the pool.
+		//
+		final List<TSource> items = new ArrayList<>(count);
 		
-		for (int i = 0; i < count; ++i) {
-            TSource sourceValue = source.getAt(startIndex + i);
-            TMapped mappedValue = mapper.map(sourceValue);
-			mapped.add(mappedValue);
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			items.add(source.getAt(i));
 		}
-		data.addAll(startIndex, mapped);
+		
+		return evaluator.map(mapper, items);
+	}
+	
+	private void onAdded(int startIndex, int count) {
+		data.addAll(startIndex, mapRange(startIndex, count));
 		observers.added(startIndex, count);
 	}
 	
 	private void onChanged(int startIndex, int count) {
+		final List<TMapped> mapped = mapRange(startIndex, count);
+		
 		observers.changing(startIndex, count);
-		for (int i = startIndex; i < startIndex + count; ++i) {
-			data.set(i, mapper.map(source.getAt(i)));
+		for (int i = 0; i < count; ++i) {
+			data.set(startIndex + i, mapped.get(i));
 		}
 		observers.changed(startIndex, count);
 	}
@@ -94,52 +138,28 @@ final class MappingReadOnlyObservableList<TSource, TMapped> implements ILinkedRe
 	}
 	
 	private void onMoved(int oldStartIndex, int newStartIndex, int count) {
-		final int low, pivot, high;
-		
-		if (oldStartIndex < newStartIndex) {
-			low = oldStartIndex;
-			pivot = oldStartIndex + count;
-			high = newStartIndex + count;
-		} else {
-			low = newStartIndex;
-			pivot = oldStartIndex;
-			high = pivot + count;
-		}
-				
-		reverseRange(low, pivot);
-		reverseRange(pivot, high);
-		reverseRange(low, high);
-
+		data.move(oldStartIndex, newStartIndex, count);
 		observers.moved(oldStartIndex, newStartIndex, count);
 	}
 	
+	private void onPermuted(int[] newPositions) {
+		//
+		// Rearrange the mapped items instead of mapping all source items again.
+		//
+		data.permute(0, newPositions);
+		observers.permuted(newPositions);
+	}
+	
 	private void onResetting() {
 		observers.resetting();
 	}
 	
 	private void onReset() {
-		final int size = source.getSize();
+		final List<TMapped> mapped = mapRange(0, source.getSize());
 		
 		data.clear();
-		for (int i = 0; i < size; ++i) {
-			data.add(mapper.map(source.getAt(i)));
-		}
+		data.addAll(mapped);
 		observers.reset();
 	}
-	
-	private void reverseRange(int low, int high) {
-		if (high - low > 1) {
-			int l = low;
-			int h = high - 1;
-			
-			while (l < h) {
-				TMapped tmp = data.get(l);
-				data.set(l, data.get(h));
-				data.set(h,  tmp);
-				l++;
-				h--;
-			}
-		}
-	}
 
 }
@@ -0,0 +1,43 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable long list that maps values of another observable long list.
+ * @author Pavel Karpenko
+ *
+ */
+final class MappingReadOnlyObservableLongList
+		extends MappingReadOnlyObservablePrimitiveList<Long, long[], ILongMapper>
+		implements IReadOnlyObservableLongList {
+
+	private final LongArrayList data;
+
+	MappingReadOnlyObservableLongList(IReadOnlyObservableLongList source, ILongMapper mapper, IReadWriteMonitor monitor) {
+		this(source, mapper, new LongArrayList(source.getSize()), monitor);
+	}
+
+	private MappingReadOnlyObservableLongList(
+			IReadOnlyObservableLongList source,
+			ILongMapper mapper,
+			LongArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, mapper, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public long getLong(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Long getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected void map(ILongMapper mapper, long[] values) {
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = mapper.map(values[i]);
+		}
+	}
+}
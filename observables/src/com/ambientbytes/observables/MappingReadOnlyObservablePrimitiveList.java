@@ -0,0 +1,107 @@
+package com.ambientbytes.observables;
+
+/**
+ * Base class for observable lists of primitive values that map values of another observable list
+ * of the same type. Subclasses apply the mapper to arrays of values of their type.
+ * @author Pavel Karpenko
+ *
+ * @param <T> boxed type of values in the list.
+ * @param <A> type of the array of values, for example int[].
+ * @param <M> type of the mapper.
+ */
+abstract class MappingReadOnlyObservablePrimitiveList<T, A, M> extends LinkedReadOnlyObservableList<T> {
+
+	private final M mapper;
+	private final PrimitiveArrayList<A> data;
+
+	protected MappingReadOnlyObservablePrimitiveList(
+			IReadOnlyObservableList<T> source,
+			M mapper,
+			PrimitiveArrayList<A> data,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+		this.mapper = mapper;
+		this.data = data;
+		load(source);
+	}
+
+	/**
+	 * Replace values with their mapped values.
+	 * @param mapper applied mapper.
+	 * @param values values that are mapped.
+	 */
+	protected abstract void map(M mapper, A values);
+
+	@Override
+	public final int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected final void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final A mapped = data.read(source, startIndex, count);
+
+		map(mapper, mapped);
+		data.add(startIndex, mapped, 0, count);
+		notifyAdded(startIndex, count);
+	}
+
+	@Override
+	protected final void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Values are mapped again in onChanged.
+	}
+
+	@Override
+	protected final void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final A mapped = data.read(source, startIndex, count);
+
+		map(mapper, mapped);
+		notifyChanging(startIndex, count);
+		data.set(startIndex, mapped, 0, count);
+		notifyChanged(startIndex, count);
+	}
+
+	@Override
+	protected final void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		notifyRemoving(startIndex, count);
+		data.remove(startIndex, count);
+		notifyRemoved(startIndex, count);
+	}
+
+	@Override
+	protected final void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Values have been removed in onRemoving.
+	}
+
+	@Override
+	protected final void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		data.move(oldStartIndex, newStartIndex, count);
+		notifyMoved(oldStartIndex, newStartIndex, count);
+	}
+
+	@Override
+	protected final void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		data.permute(0, newPositions);
+		notifyPermuted(newPositions);
+	}
+
+	@Override
+	protected final void onResetting(IReadOnlyObservableList<T> source) {
+		notifyResetting();
+	}
+
+	@Override
+	protected final void onReset(IReadOnlyObservableList<T> source) {
+		data.clear();
+		load(source);
+		notifyReset();
+	}
+
+	private void load(IReadOnlyObservableList<T> source) {
+		final int size = source.getSize();
+		final A mapped = data.read(source, 0, size);
+
+		map(mapper, mapped);
+		data.add(0, mapped, 0, size);
+	}
+}
@@ -2,14 +2,18 @@ package com.ambientbytes.observables;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservableList<T> {
 	
 	private final IReadWriteMonitor monitor;
 	private final ListObservers<T> observers;
 	private final List<ListInfo> lists;
-	private final ArrayListEx<T> data;
+	private final Map<IReadOnlyObservableList<T>, ListInfo> listInfos;	// list infos by their lists, compared by identity
+	private final FenwickTree sizes;	// sizes of lists in the "lists" collection; offsets of lists are prefix sums
+	private final SegmentedList<T> data;
 	private final IListSet<T> listSet;
 	private final IListSetListener<T> listSetListener;
 	
@@ -29,21 +33,21 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 	 * Wrapper and observer of dependency observable lists.
 	 * Each list added to MergingReadOnlyObservableList is represented by a ListInfo object
 	 * that listens to the added list's events and updates the merged collection in MergingReadOnlyObservableList.
-	 * List info stores its index in the list of dependency lists maintained by MergingReadOnlyObservableList
-	 * and the offset of its first element in the master list (MergingReadOnlyObservableList.data)
+	 * List info stores its index in the list of dependency lists maintained by MergingReadOnlyObservableList;
+	 * the offset of its first element in the master list (MergingReadOnlyObservableList.data) is the sum
+	 * of sizes of the preceding lists, kept in a Fenwick tree so changing the size of one list doesn't
+	 * shift offsets of all lists after it.
 	 *
 	 */
 	private final class ListInfo implements IListObserver {
 		private final IReadOnlyObservableList<T> list;
 		private int index;	// index of the list in the "lists" collection
-		private int offset;	// index of the first element of the list in the "data" collection
 		private ListChange pendingChange;
 		
-		ListInfo(IReadOnlyObservableList<T> list, int index, int offset) {
+		ListInfo(IReadOnlyObservableList<T> list, int index) {
 			this.list = list;
 			this.list.addObserver(this);
 			this.index = index;
-			this.offset = offset;
 			this.pendingChange = null;
 		}
 		
@@ -51,35 +55,30 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 			list.removeObserver(this);
 		}
 		
-		boolean hasList(IReadOnlyObservableList<T> list) {
-			return this.list == list;
+		int offset() {
+			return sizes.prefixSum(index);
 		}
 		
-		int removeData() {
+		void resize(int sizeDifference) {
+			sizes.set(index, sizes.get(index) + sizeDifference);
+		}
+		
+		void removeData() {
 			//
 			// Remove all items of the ListInfo from the merged list.
 			//
-			int length = list.getSize();
+			final int offset = offset();
+			final int length = sizes.get(index);
 
 			observers.removing(offset, length);
 			data.remove(offset, length);
 			observers.removed(offset, length);
-			
-			return length;
-		}
-		
-		void shiftBack(int indexShift, int itemCount) {
-			offset -= itemCount;
-			index -= indexShift;
-		}
-		
-		void shiftForward(int indexShift, int itemCount) {
-			offset += itemCount;
-			index += indexShift;
 		}
 
 		@Override
 		public void added(int startIndex, int count) {
+			final int offset = offset();
+
 			if (count > 1) {
 				List<T> newItems = new ArrayList<>(count);
 				for (int i = 0; i < count; ++i) {
@@ -89,21 +88,20 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 			} else {
 				data.add(offset + startIndex, list.getAt(startIndex));
 			}
-			
-			for (int listIndex = index + 1; listIndex < lists.size(); ++listIndex) {
-				lists.get(listIndex).shiftForward(0, count);
-			}
+			resize(count);
 			
 			observers.added(offset + startIndex, count);
 		}
 		
 		@Override
 		public void changing(int startIndex, int count) {
-			observers.changing(offset + startIndex, count);
+			observers.changing(offset() + startIndex, count);
 		}
 		
 		@Override
 		public void changed(int startIndex, int count) {
+			final int offset = offset();
+
 			for (int i = startIndex; i < startIndex + count; ++i) {
 				data.set(offset + i, list.getAt(i));
 			}
@@ -112,11 +110,11 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 
 		@Override
 		public void removing(int startIndex, int count) {
+			final int offset = offset();
+
 			observers.removing(offset + startIndex, count);
 			data.remove(offset + startIndex, count);
-			for (int listIndex = index + 1; listIndex < lists.size(); ++listIndex) {
-				lists.get(listIndex).shiftBack(0, count);
-			}
+			resize(-count);
 			observers.removed(offset + startIndex, count);
 		}
 
@@ -126,10 +124,30 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 
 		@Override
 		public void moved(int oldStartIndex, int newStartIndex, int count) {
+			final int offset = offset();
+
 			data.move(offset + oldStartIndex, offset + newStartIndex, count);
 			observers.moved(offset + oldStartIndex, offset + newStartIndex, count);
 		}
 
+		@Override
+		public void permuted(int[] newPositions) {
+			//
+			// Items of other lists keep their positions in the merged list.
+			//
+			final int offset = offset();
+			final int[] mergedPositions = new int[data.size()];
+			
+			for (int i = 0; i < mergedPositions.length; ++i) {
+				mergedPositions[i] = i;
+			}
+			for (int i = 0; i < newPositions.length; ++i) {
+				mergedPositions[offset + i] = offset + newPositions[i];
+			}
+			data.permute(offset, newPositions);
+			observers.permuted(mergedPositions);
+		}
+
 		@Override
 		public void resetting() {
 			pendingChange = new ListChange(list.getSize());
@@ -138,15 +156,14 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 
 		@Override
 		public void reset() {
+			final int offset = offset();
 			final int newSize = list.getSize();
 			final int sizeDifference = newSize - pendingChange.getOldSize();
 			pendingChange = null;
 			
 			if (sizeDifference <= 0) {
 				if (sizeDifference != 0) {
-					for (int i = index + 1; i < lists.size(); ++i) {
-						lists.get(i).shiftBack(0, -sizeDifference);
-					}
+					resize(sizeDifference);
 					data.remove(offset, -sizeDifference);
 				}
 				for (int i = 0; i < list.getSize(); ++i) {
@@ -162,9 +179,7 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 				while (i < newSize) {
 					data.set(offset + i, list.getAt(i++));
 				}
-				for (i = index + 1; i < lists.size(); ++i) {
-					lists.get(i).shiftForward(0, sizeDifference);
-				}
+				resize(sizeDifference);
 			}
 			observers.reset();
 		}
@@ -174,7 +189,9 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		this.monitor = monitor;
 		this.observers = new ListObservers<>(monitor);
 		this.lists = new ArrayList<>();
-		this.data = new ArrayListEx<>();
+		this.listInfos = new IdentityHashMap<>();
+		this.sizes = new FenwickTree();
+		this.data = new SegmentedList<>();
 		this.listSet = listSet;
 		
 		for (IReadOnlyObservableList<T> list : listSet) {
@@ -206,6 +223,22 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		return data.size();
 	}
 
+	@Override
+	public <R> R read(IListReader<T, R> reader) {
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		IResource res = monitor.acquireRead();
+		
+		try {
+			return data.snapshot();
+		} finally {
+			res.release();
+		}
+	}
+
 	@Override
 	public void addObserver(IListObserver observer) {
 		observers.add(observer);
@@ -226,6 +259,8 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 				list.unlink();
 			}
 			lists.clear();
+			listInfos.clear();
+			sizes.clear();
 		} finally {
 			res.release();
 		}
@@ -235,19 +270,19 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		IResource res = monitor.acquireWrite();
 		
 		try {
-			for (ListInfo listInfo : lists) {
-				if (listInfo.hasList(list)) {
-					throw new IllegalArgumentException("duplicate list in the collection");
-				}
+			if (listInfos.containsKey(list)) {
+				throw new IllegalArgumentException("duplicate list in the collection");
 			}
 			
 			int startIndex = data.size();
 			int length = list.getSize();
+			ListInfo listInfo = new ListInfo(list, lists.size());
 			
-			lists.add(new ListInfo(list, lists.size(), startIndex));
+			lists.add(listInfo);
+			listInfos.put(list, listInfo);
+			sizes.append(length);
 			
 			if (length > 0) {
-				data.ensureCapacity(data.size() + length);
 				for (int i = 0; i < length; ++i) {
 					data.add(list.getAt(i));
 				}
@@ -262,22 +297,18 @@ final class MergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservabl
 		IResource res = monitor.acquireWrite();
 		
 		try {
-			int i = 0;
+			ListInfo listInfo = listInfos.remove(list);
 			
-			while(i < lists.size()) {
-				ListInfo listInfo = lists.get(i);
+			if (listInfo != null) {
+				int i = listInfo.index;
+				
+				listInfo.unlink();
+				listInfo.removeData();
+				lists.remove(i);
+				sizes.remove(i, 1);
 				
-				if (listInfo.hasList(list)) {
-					listInfo.unlink();
-					int removedLength = listInfo.removeData();
-					lists.remove(i);
-					
-					while (i < lists.size()) {
-						listInfo = lists.get(i);
-						listInfo.shiftBack(1, removedLength);
-						++i;
-					}
-				} else {
+				while (i < lists.size()) {
+					lists.get(i).index = i;
 					++i;
 				}
 			}
@@ -0,0 +1,131 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutable observable list of primitive double values changed by an injected mutator.
+ * @author Pavel Karpenko
+ *
+ */
+class MutableObservableDoubleList extends MutableObservablePrimitiveList<Double, double[]> implements IReadOnlyObservableDoubleList {
+
+	private final DoubleArrayList data;
+	private final IDoubleListMutatorListener mutatorListener;
+	private IDoubleListMutator mutatorCallback;
+
+	public MutableObservableDoubleList(final IDoubleListMutatorListener mutatorListener, final IReadWriteMonitor monitor) {
+		this(mutatorListener, new DoubleArrayList(), monitor);
+	}
+
+	private MutableObservableDoubleList(
+			final IDoubleListMutatorListener mutatorListener,
+			final DoubleArrayList data,
+			final IReadWriteMonitor monitor) {
+		super(data, monitor);
+		this.data = data;
+		this.mutatorListener = mutatorListener;
+		this.mutatorCallback = new IDoubleListMutator() {
+
+			@Override
+			public final void add(double value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(data.size(), value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, double value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, double[] values) {
+				insert(index, values, values.length);
+			}
+
+			@Override
+			public final void set(int index, double value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					setUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void set(int index, double[] values) {
+				MutableObservableDoubleList.this.set(index, values, values.length);
+			}
+
+			@Override
+			public final void remove(int index, int count) {
+				MutableObservableDoubleList.this.remove(index, count);
+			}
+
+			@Override
+			public final void clear() {
+				MutableObservableDoubleList.this.clear();
+			}
+
+			@Override
+			public final void move(int startIndex, int newIndex, int count) {
+				MutableObservableDoubleList.this.move(startIndex, newIndex, count);
+			}
+
+			@Override
+			public final void reset(double[] newValues) {
+				MutableObservableDoubleList.this.reset(newValues, newValues.length);
+			}
+		};
+		this.mutatorListener.addListener(mutatorCallback);
+	}
+
+	@Override
+	public void unlink() {
+		IResource lock = monitor().acquireWrite();
+
+		try {
+			if (mutatorCallback != null) {
+				mutatorListener.removeListener(mutatorCallback);
+				mutatorCallback = null;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public final double getDouble(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public final Double getAt(int index) {
+		return data.get(index);
+	}
+
+	private void insertUnsafe(int index, double value) {
+		data.add(index, value);
+		notifyAdded(index, 1);
+	}
+
+	private void setUnsafe(int index, double value) {
+		if (index < 0 || index >= data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		notifyChanging(index, 1);
+		data.set(index, value);
+		notifyChanged(index, 1);
+	}
+}
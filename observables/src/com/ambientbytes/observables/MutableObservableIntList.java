@@ -0,0 +1,131 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutable observable list of primitive int values changed by an injected mutator.
+ * @author Pavel Karpenko
+ *
+ */
+class MutableObservableIntList extends MutableObservablePrimitiveList<Integer, int[]> implements IReadOnlyObservableIntList {
+
+	private final IntArrayList data;
+	private final IIntListMutatorListener mutatorListener;
+	private IIntListMutator mutatorCallback;
+
+	public MutableObservableIntList(final IIntListMutatorListener mutatorListener, final IReadWriteMonitor monitor) {
+		this(mutatorListener, new IntArrayList(), monitor);
+	}
+
+	private MutableObservableIntList(
+			final IIntListMutatorListener mutatorListener,
+			final IntArrayList data,
+			final IReadWriteMonitor monitor) {
+		super(data, monitor);
+		this.data = data;
+		this.mutatorListener = mutatorListener;
+		this.mutatorCallback = new IIntListMutator() {
+
+			@Override
+			public final void add(int value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(data.size(), value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, int value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, int[] values) {
+				insert(index, values, values.length);
+			}
+
+			@Override
+			public final void set(int index, int value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					setUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void set(int index, int[] values) {
+				MutableObservableIntList.this.set(index, values, values.length);
+			}
+
+			@Override
+			public final void remove(int index, int count) {
+				MutableObservableIntList.this.remove(index, count);
+			}
+
+			@Override
+			public final void clear() {
+				MutableObservableIntList.this.clear();
+			}
+
+			@Override
+			public final void move(int startIndex, int newIndex, int count) {
+				MutableObservableIntList.this.move(startIndex, newIndex, count);
+			}
+
+			@Override
+			public final void reset(int[] newValues) {
+				MutableObservableIntList.this.reset(newValues, newValues.length);
+			}
+		};
+		this.mutatorListener.addListener(mutatorCallback);
+	}
+
+	@Override
+	public void unlink() {
+		IResource lock = monitor().acquireWrite();
+
+		try {
+			if (mutatorCallback != null) {
+				mutatorListener.removeListener(mutatorCallback);
+				mutatorCallback = null;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public final int getInt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public final Integer getAt(int index) {
+		return data.get(index);
+	}
+
+	private void insertUnsafe(int index, int value) {
+		data.add(index, value);
+		notifyAdded(index, 1);
+	}
+
+	private void setUnsafe(int index, int value) {
+		if (index < 0 || index >= data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		notifyChanging(index, 1);
+		data.set(index, value);
+		notifyChanged(index, 1);
+	}
+}
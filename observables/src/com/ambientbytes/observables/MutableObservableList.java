@@ -1,22 +1,29 @@
 package com.ambientbytes.observables;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 	
 	private final IReadWriteMonitor monitor;
-	private final ArrayListEx<T> data;
+	private final IListStore<T> data;
 	private final ListObservers<T> observers;
 	private final IListMutatorListener<T> mutatorListener;
 	private IListMutator<T> mutatorCallback;
 	
 	public MutableObservableList(final IListMutatorListener<T> mutatorListener, final IReadWriteMonitor monitor) {
+		this(mutatorListener, new SegmentedList<T>(), monitor);
+	}
+	
+	MutableObservableList(final IListMutatorListener<T> mutatorListener, final IListStore<T> data, final IReadWriteMonitor monitor) {
 		if (monitor == null) {
 			throw new IllegalArgumentException("monitor cannot be null");
 		}
 		
 		this.monitor = monitor;
-		this.data = new ArrayListEx<T>();
+		this.data = data;
 		this.observers = new ListObservers<T>(monitor);
 		this.mutatorListener = mutatorListener;
 		this.mutatorCallback = new IListMutator<T>() {
@@ -119,6 +126,19 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 					res.release();
 				}
 			}
+			
+			@Override
+			public final void batch(IListTransaction<T> transaction) {
+				IResource res = monitor.acquireWrite();
+				
+				try {
+					Batch batch = new Batch();
+					transaction.execute(batch);
+					batch.commit();
+				} finally {
+					res.release();
+				}
+			}
 		};
 		this.mutatorListener.addListener(mutatorCallback);
 	}
@@ -157,6 +177,22 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 		return data.size();
 	}
 
+	@Override
+	public final <R> R read(IListReader<T, R> reader) {
+		return LockTool.readOptimistically(monitor, this, reader);
+	}
+
+	@Override
+	public final IListSnapshot<T> snapshot() {
+		IResource res = monitor.acquireRead();
+		
+		try {
+			return data.snapshot();
+		} finally {
+			res.release();
+		}
+	}
+
 	private int removeUnsafe(int index, int count) {
 		if (index < 0 || index >= data.size()) {
 			throw new IndexOutOfBoundsException();
@@ -238,4 +274,384 @@ class MutableObservableList<T> implements IReadOnlyObservableList<T>, ILinked {
 		data.addAll(newItems);
 		observers.reset();
 	}
+
+	private enum EditKind { INSERT, CHANGE, REMOVE, MOVE, RESET }
+	
+	//
+	// Edit of the list recorded by a batch.
+	//
+	private abstract class Edit {
+		protected final EditKind kind;
+		
+		Edit(EditKind kind) {
+			this.kind = kind;
+		}
+		
+		final boolean isInsertion() {
+			return kind == EditKind.INSERT || kind == EditKind.RESET;
+		}
+		
+		final boolean hasItems() {
+			return kind == EditKind.INSERT || kind == EditKind.CHANGE || kind == EditKind.RESET;
+		}
+		
+		/**
+		 * Number of items affected by the edit.
+		 */
+		abstract int count();
+		
+		/**
+		 * Apply the edit and report it to observers.
+		 */
+		abstract void apply();
+		
+		/**
+		 * Apply the edit without reporting it to observers.
+		 */
+		abstract void applySilently();
+	}
+	
+	//
+	// Edit that stores a contiguous range of items of the changed list starting at the index.
+	// Later mutations of the range are made directly to the stored items.
+	//
+	private abstract class ItemsEdit extends Edit {
+		protected int index;
+		protected final ArrayList<T> items;
+		
+		ItemsEdit(EditKind kind, int index, Collection<T> items) {
+			super(kind);
+			this.index = index;
+			this.items = new ArrayList<>(items);
+		}
+		
+		@Override
+		final int count() {
+			return items.size();
+		}
+		
+		final boolean coversInsertion(int insertionIndex) {
+			return insertionIndex >= index && insertionIndex <= index + items.size();
+		}
+		
+		final boolean coversRange(int startIndex, int length) {
+			return startIndex >= index && startIndex + length <= index + items.size();
+		}
+	}
+	
+	private final class InsertEdit extends ItemsEdit {
+		InsertEdit(int index, Collection<T> items) {
+			super(EditKind.INSERT, index, items);
+		}
+		
+		@Override
+		void apply() {
+			insertUnsafe(index, items);
+		}
+		
+		@Override
+		void applySilently() {
+			data.addAll(index, items);
+		}
+	}
+	
+	private final class ChangeEdit extends ItemsEdit {
+		ChangeEdit(int index, Collection<T> items) {
+			super(EditKind.CHANGE, index, items);
+		}
+		
+		@Override
+		void apply() {
+			setUnsafe(index, items);
+		}
+		
+		@Override
+		void applySilently() {
+			int i = index;
+			for (T value : items) {
+				data.set(i++, value);
+			}
+		}
+	}
+	
+	private final class ResetEdit extends ItemsEdit {
+		ResetEdit(Collection<T> items) {
+			super(EditKind.RESET, 0, items);
+		}
+		
+		@Override
+		void apply() {
+			resetUnsafe(items);
+		}
+		
+		@Override
+		void applySilently() {
+			data.clear();
+			data.addAll(items);
+		}
+	}
+	
+	private final class RemoveEdit extends Edit {
+		private int index;
+		private int count;
+		
+		RemoveEdit(int index, int count) {
+			super(EditKind.REMOVE);
+			this.index = index;
+			this.count = count;
+		}
+		
+		@Override
+		int count() {
+			return count;
+		}
+		
+		@Override
+		void apply() {
+			removeUnsafe(index, count);
+		}
+		
+		@Override
+		void applySilently() {
+			data.remove(index, count);
+		}
+	}
+	
+	private final class MoveEdit extends Edit {
+		private final int startIndex;
+		private final int newIndex;
+		private final int count;
+		
+		MoveEdit(int startIndex, int newIndex, int count) {
+			super(EditKind.MOVE);
+			this.startIndex = startIndex;
+			this.newIndex = newIndex;
+			this.count = count;
+		}
+		
+		@Override
+		int count() {
+			return count;
+		}
+		
+		@Override
+		void apply() {
+			moveUnsafe(startIndex, newIndex, count);
+		}
+		
+		@Override
+		void applySilently() {
+			data.move(startIndex, newIndex, count);
+		}
+	}
+	
+	//
+	// Mutator passed to transactions. Records mutations without changing the list and coalesces
+	// each mutation with the previous one if possible. Recorded edits are applied when the transaction
+	// has completed; if the transaction throws, the list remains unchanged.
+	//
+	private final class Batch implements IListMutator<T> {
+		private final List<Edit> edits;
+		private int size;	// size of the list after applying all recorded edits
+		
+		Batch() {
+			this.edits = new ArrayList<>();
+			this.size = data.size();
+		}
+		
+		@Override
+		public void add(T value) {
+			add(size, Collections.singletonList(value));
+		}
+
+		@Override
+		public void add(int index, T value) {
+			add(index, Collections.singletonList(value));
+		}
+
+		@Override
+		public void add(int index, Collection<T> values) {
+			if (values.size() != 0) {
+				if (index < 0 || index > size) {
+					throw new IndexOutOfBoundsException();
+				}
+				
+				final Edit last = lastEdit();
+				
+				if (last != null && last.isInsertion() && ((ItemsEdit) last).coversInsertion(index)) {
+					final ItemsEdit edit = (ItemsEdit) last;
+					edit.items.addAll(index - edit.index, values);
+				} else {
+					edits.add(new InsertEdit(index, values));
+				}
+				size += values.size();
+			}
+		}
+
+		@Override
+		public void set(int index, T value) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
+			}
+			
+			set(index, Collections.singletonList(value));
+		}
+
+		@Override
+		public void set(int index, Collection<T> values) {
+			final int count = values.size();
+			
+			if (index < 0 || index + count > size) {
+				throw new IndexOutOfBoundsException();
+			}
+			
+			if (count != 0) {
+				final Edit last = lastEdit();
+				
+				if (last != null && last.hasItems() && ((ItemsEdit) last).coversRange(index, count)) {
+					//
+					// Items inserted or changed earlier in the batch are simply replaced.
+					//
+					final ItemsEdit edit = (ItemsEdit) last;
+					int i = index - edit.index;
+					for (T value : values) {
+						edit.items.set(i++, value);
+					}
+				} else if (last != null && last.kind == EditKind.CHANGE && ((ItemsEdit) last).coversInsertion(index)) {
+					//
+					// Range overlaps or immediately follows the previous change; extend the change.
+					//
+					final ItemsEdit edit = (ItemsEdit) last;
+					int i = index - edit.index;
+					for (T value : values) {
+						if (i < edit.items.size()) {
+							edit.items.set(i, value);
+						} else {
+							edit.items.add(value);
+						}
+						++i;
+					}
+				} else {
+					edits.add(new ChangeEdit(index, values));
+				}
+			}
+		}
+
+		@Override
+		public void remove(int index, int count) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
+			}
+			
+			final int length = index + count > size ? size - index : count;
+			
+			if (length > 0) {
+				final Edit last = lastEdit();
+				
+				if (last != null && last.isInsertion() && ((ItemsEdit) last).coversRange(index, length)) {
+					//
+					// Items inserted earlier in the batch are simply dropped.
+					//
+					final ItemsEdit edit = (ItemsEdit) last;
+					edit.items.subList(index - edit.index, index - edit.index + length).clear();
+					
+					if (edit.kind == EditKind.INSERT && edit.items.isEmpty()) {
+						edits.remove(edits.size() - 1);
+					}
+				} else if (last != null && last.kind == EditKind.REMOVE && ((RemoveEdit) last).index == index) {
+					((RemoveEdit) last).count += length;
+				} else if (last != null && last.kind == EditKind.REMOVE && ((RemoveEdit) last).index == index + length) {
+					((RemoveEdit) last).index = index;
+					((RemoveEdit) last).count += length;
+				} else {
+					edits.add(new RemoveEdit(index, length));
+				}
+				size -= length;
+			}
+		}
+
+		@Override
+		public void clear() {
+			//
+			// Nothing recorded before clearing affects the outcome of the batch.
+			//
+			edits.clear();
+			
+			if (data.size() > 0) {
+				edits.add(new RemoveEdit(0, data.size()));
+			}
+			size = 0;
+		}
+
+		@Override
+		public void move(int startIndex, int newIndex, int count) {
+			if (count < 0) {
+				throw new IllegalArgumentException("length may not be negative");
+			}
+
+			if (startIndex < 0 || newIndex < 0 || startIndex + count > size || newIndex + count > size) {
+				throw new IndexOutOfBoundsException();
+			}
+			
+			if (startIndex != newIndex && count > 0) {
+				final Edit last = lastEdit();
+				final int low = Math.min(startIndex, newIndex);
+				final int high = Math.max(startIndex, newIndex) + count;
+				
+				if (last != null && last.hasItems() && ((ItemsEdit) last).coversRange(low, high - low)) {
+					final ItemsEdit edit = (ItemsEdit) last;
+					Collections.rotate(
+							edit.items.subList(low - edit.index, high - edit.index),
+							startIndex < newIndex ? -count : count);
+				} else {
+					edits.add(new MoveEdit(startIndex, newIndex, count));
+				}
+			}
+		}
+
+		@Override
+		public void reset(Collection<T> newItems) {
+			//
+			// Nothing recorded before resetting affects the outcome of the batch.
+			//
+			edits.clear();
+			edits.add(new ResetEdit(newItems));
+			size = newItems.size();
+		}
+
+		@Override
+		public void batch(IListTransaction<T> transaction) {
+			transaction.execute(this);
+		}
+		
+		void commit() {
+			int affected = 0;
+			
+			for (Edit edit : edits) {
+				affected += edit.count();
+			}
+			
+			if (edits.size() > 1 && affected >= size) {
+				//
+				// Edits touch at least as many items as there will be in the list; a single reset
+				// is cheaper for observers than processing all the edits one by one.
+				//
+				observers.resetting();
+				for (Edit edit : edits) {
+					edit.applySilently();
+				}
+				observers.reset();
+			} else {
+				for (Edit edit : edits) {
+					edit.apply();
+				}
+			}
+			
+			edits.clear();
+		}
+		
+		private Edit lastEdit() {
+			return edits.isEmpty() ? null : edits.get(edits.size() - 1);
+		}
+	}
 }
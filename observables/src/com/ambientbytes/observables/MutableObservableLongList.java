@@ -0,0 +1,131 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutable observable list of primitive long values changed by an injected mutator.
+ * @author Pavel Karpenko
+ *
+ */
+class MutableObservableLongList extends MutableObservablePrimitiveList<Long, long[]> implements IReadOnlyObservableLongList {
+
+	private final LongArrayList data;
+	private final ILongListMutatorListener mutatorListener;
+	private ILongListMutator mutatorCallback;
+
+	public MutableObservableLongList(final ILongListMutatorListener mutatorListener, final IReadWriteMonitor monitor) {
+		this(mutatorListener, new LongArrayList(), monitor);
+	}
+
+	private MutableObservableLongList(
+			final ILongListMutatorListener mutatorListener,
+			final LongArrayList data,
+			final IReadWriteMonitor monitor) {
+		super(data, monitor);
+		this.data = data;
+		this.mutatorListener = mutatorListener;
+		this.mutatorCallback = new ILongListMutator() {
+
+			@Override
+			public final void add(long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(data.size(), value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					insertUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void add(int index, long[] values) {
+				insert(index, values, values.length);
+			}
+
+			@Override
+			public final void set(int index, long value) {
+				IResource res = monitor.acquireWrite();
+
+				try {
+					setUnsafe(index, value);
+				} finally {
+					res.release();
+				}
+			}
+
+			@Override
+			public final void set(int index, long[] values) {
+				MutableObservableLongList.this.set(index, values, values.length);
+			}
+
+			@Override
+			public final void remove(int index, int count) {
+				MutableObservableLongList.this.remove(index, count);
+			}
+
+			@Override
+			public final void clear() {
+				MutableObservableLongList.this.clear();
+			}
+
+			@Override
+			public final void move(int startIndex, int newIndex, int count) {
+				MutableObservableLongList.this.move(startIndex, newIndex, count);
+			}
+
+			@Override
+			public final void reset(long[] newValues) {
+				MutableObservableLongList.this.reset(newValues, newValues.length);
+			}
+		};
+		this.mutatorListener.addListener(mutatorCallback);
+	}
+
+	@Override
+	public void unlink() {
+		IResource lock = monitor().acquireWrite();
+
+		try {
+			if (mutatorCallback != null) {
+				mutatorListener.removeListener(mutatorCallback);
+				mutatorCallback = null;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	@Override
+	public final long getLong(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public final Long getAt(int index) {
+		return data.get(index);
+	}
+
+	private void insertUnsafe(int index, long value) {
+		data.add(index, value);
+		notifyAdded(index, 1);
+	}
+
+	private void setUnsafe(int index, long value) {
+		if (index < 0 || index >= data.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		notifyChanging(index, 1);
+		data.set(index, value);
+		notifyChanged(index, 1);
+	}
+}
@@ -0,0 +1,160 @@
+package com.ambientbytes.observables;
+
+/**
+ * Base class for mutable observable lists of primitive values changed by an injected mutator.
+ * The base class implements the range operations over an array of primitive values, and subclasses
+ * receive requests from the mutator and implement operations on single values.
+ * @author Pavel Karpenko
+ *
+ * @param <T> boxed type of values in the list.
+ * @param <A> type of the array of values, for example int[].
+ */
+abstract class MutableObservablePrimitiveList<T, A> implements IReadOnlyObservableList<T>, ILinked {
+
+	private final IReadWriteMonitor monitor;
+	private final PrimitiveArrayList<A> data;
+	private final ListObservers<T> observers;
+
+	protected MutableObservablePrimitiveList(PrimitiveArrayList<A> data, IReadWriteMonitor monitor) {
+		if (monitor == null) {
+			throw new IllegalArgumentException("monitor cannot be null");
+		}
+
+		this.monitor = monitor;
+		this.data = data;
+		this.observers = new ListObservers<T>(monitor);
+	}
+
+	@Override
+	public final void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public final void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public final int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public final <R> R read(IListReader<T, R> reader) {
+		return LockTool.readOptimistically(monitor, this, reader);
+	}
+
+	@Override
+	public final IListSnapshot<T> snapshot() {
+		return ArraySnapshot.copyOf(this, monitor);
+	}
+
+	protected final IReadWriteMonitor monitor() {
+		return monitor;
+	}
+
+	protected final void notifyAdded(int startIndex, int count) {
+		observers.added(startIndex, count);
+	}
+
+	protected final void notifyChanging(int startIndex, int count) {
+		observers.changing(startIndex, count);
+	}
+
+	protected final void notifyChanged(int startIndex, int count) {
+		observers.changed(startIndex, count);
+	}
+
+	protected final void insert(int index, A values, int count) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (count != 0) {
+				data.add(index, values, 0, count);
+				observers.added(index, count);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	protected final void set(int index, A values, int count) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (index < 0 || index + count > data.size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			observers.changing(index, count);
+			data.set(index, values, 0, count);
+			observers.changed(index, count);
+		} finally {
+			res.release();
+		}
+	}
+
+	protected final void remove(int index, int count) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			if (index < 0 || index >= data.size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			final int length = Math.min(count, data.size() - index);
+
+			if (length > 0) {
+				observers.removing(index, length);
+				data.remove(index, length);
+				observers.removed(index, length);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	protected final void clear() {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			final int size = data.size();
+
+			if (size > 0) {
+				observers.removing(0, size);
+				data.clear();
+				observers.removed(0, size);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	protected final void move(int startIndex, int newIndex, int count) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			data.move(startIndex, newIndex, count);
+
+			if (startIndex != newIndex && count > 0) {
+				observers.moved(startIndex, newIndex, count);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	protected final void reset(A newValues, int count) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			observers.resetting();
+			data.clear();
+			data.add(0, newValues, 0, count);
+			observers.reset();
+		} finally {
+			res.release();
+		}
+	}
+}
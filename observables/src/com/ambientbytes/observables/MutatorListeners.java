@@ -0,0 +1,81 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+
+/**
+ * Listeners of a mutator of a list of primitive values, shared by the int, long and double mutators.
+ * Listeners are kept in an immutable array replaced on every change, so mutations are forwarded
+ * to listeners without locking the monitor or copying the collection.
+ * @author Pavel Karpenko
+ *
+ * @param <L> type of listeners.
+ */
+final class MutatorListeners<L> {
+
+	private final IReadWriteMonitor monitor;
+	private volatile L[] listeners;
+
+	/**
+	 * @param monitor monitor that synchronizes changes of listeners.
+	 * @param empty empty array of listeners of the right type.
+	 */
+	MutatorListeners(IReadWriteMonitor monitor, L[] empty) {
+		this.monitor = monitor;
+		this.listeners = empty;
+	}
+
+	/**
+	 * Get the current listeners.
+	 * @return array of listeners that must not be changed.
+	 */
+	L[] get() {
+		return listeners;
+	}
+
+	void add(L listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final L[] current = listeners;
+
+			if (listener == null || indexOf(current, listener) >= 0) {
+				throw new IllegalArgumentException("Listeners must be unique and non-null.");
+			}
+
+			final L[] updated = Arrays.copyOf(current, current.length + 1);
+			updated[current.length] = listener;
+			listeners = updated;
+		} finally {
+			lock.release();
+		}
+	}
+
+	void remove(L listener) {
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			final L[] current = listeners;
+			final int index = indexOf(current, listener);
+
+			if (index >= 0) {
+				final L[] updated = Arrays.copyOf(current, current.length - 1);
+				System.arraycopy(current, index + 1, updated, index, updated.length - index);
+				listeners = updated;
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	private static <L> int indexOf(L[] listeners, L listener) {
+		int index = -1;
+
+		for (int i = 0; i < listeners.length && index < 0; ++i) {
+			if (listeners[i] == listener) {
+				index = i;
+			}
+		}
+
+		return index;
+	}
+}
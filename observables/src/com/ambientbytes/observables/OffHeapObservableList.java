@@ -0,0 +1,29 @@
+package com.ambientbytes.observables;
+
+/**
+ * Mutable observable list that keeps its items as fixed-layout records outside of the Java heap.
+ * The list behaves exactly like MutableObservableList; getAt() decodes a new item on every call,
+ * and wrapAt() reads a record through a flyweight without creating any objects.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items encoded as records.
+ */
+final class OffHeapObservableList<T> extends MutableObservableList<T> implements IReadOnlyObservableRecordList<T> {
+
+	private final OffHeapRecordList<T> records;
+
+	OffHeapObservableList(IListMutatorListener<T> mutatorListener, IRecordCodec<T> codec, IReadWriteMonitor monitor) {
+		this(mutatorListener, new OffHeapRecordList<T>(codec), monitor);
+	}
+
+	private OffHeapObservableList(IListMutatorListener<T> mutatorListener, OffHeapRecordList<T> records, IReadWriteMonitor monitor) {
+		super(mutatorListener, records, monitor);
+		this.records = records;
+	}
+
+	@Override
+	public <F extends IRecordFlyweight> F wrapAt(int index, F flyweight) {
+		records.wrap(index, flyweight);
+		return flyweight;
+	}
+}
@@ -0,0 +1,331 @@
+package com.ambientbytes.observables;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of items encoded as fixed-layout records in direct byte buffers outside of the Java heap.
+ * Records are laid out contiguously in chunks of CHUNK_BYTES bytes, so the record at an index is found
+ * with a division, and the garbage collector sees one buffer object per chunk instead of an object per item.
+ * Like in SegmentedList, snapshots share chunks with the list and a shared chunk is copied when the list changes it.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of items encoded as records.
+ */
+final class OffHeapRecordList<T> implements IListStore<T> {
+
+	static final int CHUNK_BYTES = 1 << 20;
+
+	private final IRecordCodec<T> codec;
+	private final int recordSize;
+	private final int chunkRecords;			// number of records in each chunk
+	private final List<ByteBuffer> chunks;	// direct buffers that hold records
+	private final List<ByteBuffer> views;	// read-only views of the chunks for flyweights
+	private final byte[] staging;			// heap buffer through which records are copied within the list
+	private boolean[] shared;				// true for chunks shared with snapshots
+	private int size;
+	private IListSnapshot<T> snapshot;
+
+	private static final class Snapshot<T> implements IListSnapshot<T> {
+		private final IRecordCodec<T> codec;
+		private final ByteBuffer[] views;
+		private final int chunkRecords;
+		private final int size;
+
+		Snapshot(IRecordCodec<T> codec, ByteBuffer[] views, int chunkRecords, int size) {
+			this.codec = codec;
+			this.views = views;
+			this.chunkRecords = chunkRecords;
+			this.size = size;
+		}
+
+		@Override
+		public T getAt(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			return codec.decode(views[index / chunkRecords], (index % chunkRecords) * codec.recordSize());
+		}
+
+		@Override
+		public int getSize() {
+			return size;
+		}
+	}
+
+	OffHeapRecordList(IRecordCodec<T> codec) {
+		if (codec.recordSize() <= 0) {
+			throw new IllegalArgumentException("record size must be positive");
+		}
+
+		this.codec = codec;
+		this.recordSize = codec.recordSize();
+		this.chunkRecords = Math.max(1, CHUNK_BYTES / recordSize);
+		this.chunks = new ArrayList<>();
+		this.views = new ArrayList<>();
+		this.staging = new byte[Math.min(chunkRecords, 4096) * recordSize];
+		this.shared = new boolean[1];
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public T get(int index) {
+		checkIndex(index);
+		return codec.decode(chunks.get(index / chunkRecords), offsetOf(index));
+	}
+
+	@Override
+	public T set(int index, T element) {
+		checkIndex(index);
+
+		final int offset = offsetOf(index);
+		final T previous = codec.decode(chunks.get(index / chunkRecords), offset);
+
+		codec.encode(element, writable(index / chunkRecords), offset);
+
+		return previous;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		reserve(size + 1);
+		copyWithin(index, index + 1, size - index);
+		++size;
+		codec.encode(element, writable(index / chunkRecords), offsetOf(index));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return addAll(size, c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final int count = c.size();
+
+		if (count > 0) {
+			reserve(size + count);
+			copyWithin(index, index + count, size - index);
+			size += count;
+
+			int i = index;
+			for (T element : c) {
+				codec.encode(element, writable(i / chunkRecords), offsetOf(i));
+				++i;
+			}
+		}
+
+		return count > 0;
+	}
+
+	@Override
+	public void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		copyWithin(start + length, start, size - start - length);
+		size -= length;
+		snapshot = null;
+		release();
+	}
+
+	@Override
+	public void move(int source, int destination, int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + length > size || destination + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && length > 0) {
+			if (source < destination) {
+				rotate(source, length, destination - source);
+			} else {
+				rotate(destination, source - destination, length);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		chunks.clear();
+		views.clear();
+		shared = new boolean[1];
+		snapshot = null;
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		if (snapshot == null) {
+			final int usedChunks = (size + chunkRecords - 1) / chunkRecords;
+
+			Arrays.fill(shared, 0, usedChunks, true);
+			snapshot = new Snapshot<>(codec, views.subList(0, usedChunks).toArray(new ByteBuffer[usedChunks]), chunkRecords, size);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Point a flyweight at the record at the specified index.
+	 */
+	void wrap(int index, IRecordFlyweight flyweight) {
+		checkIndex(index);
+		flyweight.wrap(views.get(index / chunkRecords), offsetOf(index));
+	}
+
+	private int offsetOf(int index) {
+		return (index % chunkRecords) * recordSize;
+	}
+
+	private void reserve(int capacity) {
+		while (chunks.size() * (long) chunkRecords < capacity) {
+			final ByteBuffer chunk = ByteBuffer.allocateDirect(chunkRecords * recordSize);
+
+			if (chunks.size() == shared.length) {
+				shared = Arrays.copyOf(shared, shared.length * 2);
+			}
+			shared[chunks.size()] = false;
+			chunks.add(chunk);
+			views.add(chunk.asReadOnlyBuffer());
+		}
+	}
+
+	private void release() {
+		//
+		// Drop chunks that hold no records, keeping one spare chunk so a list that shrinks and grows
+		// around a chunk boundary doesn't allocate and free direct memory on every change.
+		//
+		final int usedChunks = (size + chunkRecords - 1) / chunkRecords;
+
+		while (chunks.size() > usedChunks + 1) {
+			chunks.remove(chunks.size() - 1);
+			views.remove(views.size() - 1);
+		}
+	}
+
+	private void rotate(int start, int firstLength, int secondLength) {
+		//
+		// Swap two adjacent ranges of records; the shorter range is set aside in a heap array.
+		//
+		if (firstLength <= secondLength) {
+			final byte[] buffer = new byte[firstLength * recordSize];
+
+			read(start, buffer, 0, firstLength);
+			copyWithin(start + firstLength, start, secondLength);
+			write(start + secondLength, buffer, 0, firstLength);
+		} else {
+			final byte[] buffer = new byte[secondLength * recordSize];
+
+			read(start + firstLength, buffer, 0, secondLength);
+			copyWithin(start, start + secondLength, firstLength);
+			write(start, buffer, 0, secondLength);
+		}
+	}
+
+	private void copyWithin(int from, int to, int count) {
+		//
+		// Copy records through the staging array in pieces that fit in it and don't cross chunk boundaries,
+		// in the direction of the shift so no piece overwrites records that haven't been copied yet.
+		//
+		final int stagingRecords = staging.length / recordSize;
+
+		if (to < from) {
+			for (int copied = 0; copied < count;) {
+				final int length = Math.min(Math.min(count - copied, stagingRecords),
+						Math.min(chunkRecords - (from + copied) % chunkRecords, chunkRecords - (to + copied) % chunkRecords));
+
+				readPiece(from + copied, staging, 0, length);
+				writePiece(to + copied, staging, 0, length);
+				copied += length;
+			}
+		} else if (to > from) {
+			for (int remaining = count; remaining > 0;) {
+				final int length = Math.min(Math.min(remaining, stagingRecords),
+						Math.min((from + remaining - 1) % chunkRecords + 1, (to + remaining - 1) % chunkRecords + 1));
+
+				readPiece(from + remaining - length, staging, 0, length);
+				writePiece(to + remaining - length, staging, 0, length);
+				remaining -= length;
+			}
+		}
+	}
+
+	private void read(int start, byte[] destination, int offset, int count) {
+		for (int copied = 0; copied < count;) {
+			final int length = Math.min(count - copied, chunkRecords - (start + copied) % chunkRecords);
+
+			readPiece(start + copied, destination, offset + copied * recordSize, length);
+			copied += length;
+		}
+	}
+
+	private void write(int start, byte[] source, int offset, int count) {
+		for (int copied = 0; copied < count;) {
+			final int length = Math.min(count - copied, chunkRecords - (start + copied) % chunkRecords);
+
+			writePiece(start + copied, source, offset + copied * recordSize, length);
+			copied += length;
+		}
+	}
+
+	private void readPiece(int start, byte[] destination, int offset, int count) {
+		final ByteBuffer chunk = chunks.get(start / chunkRecords).duplicate();
+
+		chunk.position(offsetOf(start));
+		chunk.get(destination, offset, count * recordSize);
+	}
+
+	private void writePiece(int start, byte[] source, int offset, int count) {
+		final ByteBuffer chunk = writable(start / chunkRecords).duplicate();
+
+		chunk.position(offsetOf(start));
+		chunk.put(source, offset, count * recordSize);
+	}
+
+	private ByteBuffer writable(int chunk) {
+		//
+		// Copy the chunk to new direct memory before changing it if a snapshot refers to it.
+		//
+		if (shared[chunk]) {
+			final ByteBuffer source = chunks.get(chunk).duplicate();
+			final ByteBuffer copy = ByteBuffer.allocateDirect(source.capacity());
+
+			source.clear();
+			copy.put(source);
+			chunks.set(chunk, copy);
+			views.set(chunk, copy.asReadOnlyBuffer());
+			shared[chunk] = false;
+		}
+		snapshot = null;
+
+		return chunks.get(chunk);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
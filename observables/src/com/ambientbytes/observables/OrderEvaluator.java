@@ -0,0 +1,83 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evaluator of an order over a list of items that sorts large lists with a merge sort whose halves
+ * are sorted in parallel by a fork/join pool. The sort is stable, like Collections.sort.
+ * The caller keeps holding the write lock while the pool sorts the items, so the comparator
+ * must not acquire the lock or read observable lists; it must be safe to call from several threads.
+ * @author Pavel Karpenko
+ */
+final class OrderEvaluator {
+
+	static final int PARALLEL_THRESHOLD = 8192;
+	static final int CHUNK_SIZE = 4096;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Create an evaluator.
+	 * @param pool fork/join pool that sorts large lists; if null, all lists are sorted on the calling thread.
+	 */
+	OrderEvaluator(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Sort the list.
+	 * @param items random access list of items to sort in place.
+	 * @param comparator comparator of the items.
+	 */
+	<T> void sort(List<T> items, final Comparator<? super T> comparator) {
+		final int size = items.size();
+
+		if (pool == null || size < PARALLEL_THRESHOLD) {
+			Collections.sort(items, comparator);
+		} else {
+			@SuppressWarnings("unchecked")
+			final T[] array = (T[]) items.toArray();
+			@SuppressWarnings("unchecked")
+			final T[] buffer = (T[]) new Object[size];
+
+			RangeTask.invoke(pool, new RangeTask.Operation() {
+				@Override
+				void compute(int startIndex, int endIndex) {
+					Arrays.sort(array, startIndex, endIndex, comparator);
+				}
+
+				@Override
+				void merge(int startIndex, int middleIndex, int endIndex) {
+					OrderEvaluator.merge(comparator, array, buffer, startIndex, middleIndex, endIndex);
+				}
+			}, size, CHUNK_SIZE);
+			for (int i = 0; i < size; ++i) {
+				items.set(i, array[i]);
+			}
+		}
+	}
+
+	private static <T> void merge(Comparator<? super T> comparator, T[] items, T[] buffer, int startIndex, int middleIndex, int endIndex) {
+		//
+		// Move the sorted first half out of the way and merge both halves back into the items;
+		// items of the first half go first when they are equal to items of the second half.
+		//
+		int first = startIndex;
+		int second = middleIndex;
+		int target = startIndex;
+
+		System.arraycopy(items, startIndex, buffer, startIndex, middleIndex - startIndex);
+		while (first < middleIndex && second < endIndex) {
+			if (comparator.compare(items[second], buffer[first]) < 0) {
+				items[target++] = items[second++];
+			} else {
+				items[target++] = buffer[first++];
+			}
+		}
+		System.arraycopy(buffer, first, items, target, middleIndex - first);
+	}
+}
@@ -0,0 +1,619 @@
+package com.ambientbytes.observables;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sequence of elements stored in a balanced binary tree (implicit treap) with subtree sizes,
+ * so an element is inserted, removed or found by its index in O(log n).
+ * Each element is kept in a node, and the index of a node is calculated in O(log n) by walking
+ * from the node up to the root. Every node also has a non-negative weight, and subtrees keep sums of weights,
+ * so sums of weights of the first elements or of elements before a node are calculated in O(log n).
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements.
+ */
+final class OrderStatisticTree<E> implements IRandomAccess<E>, Iterable<E> {
+
+	private Node<E> root;
+	private int seed;
+
+	/**
+	 * Node of the tree that holds one element.
+	 * @param <E> type of the element.
+	 */
+	static final class Node<E> {
+		private final E element;
+		private final int priority;
+		private Node<E> left;
+		private Node<E> right;
+		private Node<E> parent;
+		private int size;
+		private int weight;
+		private int weightSum;	// sum of weights of the subtree
+
+		private Node(E element, int weight, int priority) {
+			this.element = element;
+			this.priority = priority;
+			this.size = 1;
+			this.weight = weight;
+			this.weightSum = weight;
+		}
+
+		E element() {
+			return element;
+		}
+	}
+
+	/**
+	 * Search condition for ordered trees.
+	 * @param <E> type of elements.
+	 */
+	interface ISearch<E> {
+		/**
+		 * Test if the element goes before the searched position. The result must be true
+		 * for a (possibly empty) run of leading elements and false for all elements after it.
+		 * @param element tested element.
+		 * @return true if the element goes before the searched position.
+		 */
+		boolean isBefore(E element);
+	}
+
+	OrderStatisticTree() {
+		this.root = null;
+		this.seed = 0x2545F491;
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	@Override
+	public E get(int index) {
+		return nodeAt(index).element;
+	}
+
+	/**
+	 * Get the node at the specified index.
+	 * @param index zero-based index of the node.
+	 * @return node at the index.
+	 */
+	Node<E> nodeAt(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Node<E> node = root;
+		int remainder = index;
+
+		for (;;) {
+			final int leftSize = size(node.left);
+
+			if (remainder < leftSize) {
+				node = node.left;
+			} else if (remainder > leftSize) {
+				remainder -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node;
+			}
+		}
+	}
+
+	/**
+	 * Calculate the current index of a node in the tree.
+	 * @param node node of the tree.
+	 * @return zero-based index of the node.
+	 */
+	int indexOf(Node<E> node) {
+		int index = size(node.left);
+
+		for (Node<E> n = node; n.parent != null; n = n.parent) {
+			if (n.parent.right == n) {
+				index += size(n.parent.left) + 1;
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Calculate the sum of weights of the first elements.
+	 * @param count number of the first elements.
+	 * @return sum of weights of elements with indexes lower than count.
+	 */
+	int weightBefore(int count) {
+		if (count < 0 || count > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Node<E> node = root;
+		int remainder = count;
+		int sum = 0;
+
+		while (node != null && remainder > 0) {
+			final int leftSize = size(node.left);
+
+			if (remainder <= leftSize) {
+				node = node.left;
+			} else {
+				sum += weightSum(node.left) + node.weight;
+				remainder -= leftSize + 1;
+				node = node.right;
+			}
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Calculate the sum of weights of the elements before a node.
+	 * @param node node of the tree.
+	 * @return sum of weights of elements with indexes lower than the index of the node.
+	 */
+	int weightBefore(Node<E> node) {
+		int sum = weightSum(node.left);
+
+		for (Node<E> n = node; n.parent != null; n = n.parent) {
+			if (n.parent.right == n) {
+				sum += weightSum(n.parent.left) + n.parent.weight;
+			}
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Get the weight of a node.
+	 * @param node node of the tree.
+	 * @return weight of the node.
+	 */
+	int weight(Node<E> node) {
+		return node.weight;
+	}
+
+	/**
+	 * Change the weight of a node.
+	 * @param node node of the tree.
+	 * @param weight new non-negative weight of the node.
+	 */
+	void setWeight(Node<E> node, int weight) {
+		final int delta = weight - node.weight;
+
+		node.weight = weight;
+
+		for (Node<E> n = node; n != null; n = n.parent) {
+			n.weightSum += delta;
+		}
+	}
+
+	/**
+	 * Find the number of leading elements that go before the searched position.
+	 * @param search search condition.
+	 * @return index of the first element that does not go before the searched position, or size() if there is none.
+	 */
+	int search(ISearch<E> search) {
+		Node<E> node = root;
+		int index = 0;
+
+		while (node != null) {
+			if (search.isBefore(node.element)) {
+				index += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Insert an element.
+	 * @param index index at which the element will be inserted.
+	 * @param element inserted element.
+	 * @return new node of the inserted element.
+	 */
+	Node<E> add(int index, E element) {
+		return add(index, element, 0);
+	}
+
+	/**
+	 * Insert an element with a weight.
+	 * @param index index at which the element will be inserted.
+	 * @param element inserted element.
+	 * @param weight non-negative weight of the element.
+	 * @return new node of the inserted element.
+	 */
+	Node<E> add(int index, E element, int weight) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final Node<E> node = new Node<>(element, weight, nextPriority());
+		final Node<E> right = splitRight(index);
+
+		root = merge(merge(root, node), right);
+		root.parent = null;
+
+		return node;
+	}
+
+	/**
+	 * Remove the element at the specified index.
+	 * @param index index of the removed element.
+	 * @return removed element.
+	 */
+	E remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final Node<E> right = splitRight(index);
+		final Node<E> left = root;
+
+		root = right;
+
+		final Node<E> rest = splitRight(1);
+		final E element = root.element;
+
+		root = merge(left, rest);
+
+		if (root != null) {
+			root.parent = null;
+		}
+
+		return element;
+	}
+
+	/**
+	 * Remove a range of elements.
+	 * @param index index of the first removed element.
+	 * @param count number of removed elements.
+	 */
+	void remove(int index, int count) {
+		if (index < 0 || count < 0 || index + count > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (count > 0) {
+			final Node<E> right = splitRight(index);
+			final Node<E> left = root;
+
+			root = right;
+			final Node<E> rest = splitRight(count);
+
+			root = merge(left, rest);
+
+			if (root != null) {
+				root.parent = null;
+			}
+		}
+	}
+
+	/**
+	 * Insert elements of a list with their weights in O(k + log n).
+	 * @param index index at which the first element will be inserted.
+	 * @param elements random access list of inserted elements.
+	 * @param weights non-negative weights of the elements; if null, all weights are 0.
+	 * @param nodes array that receives the new nodes in the order of elements; may be null.
+	 */
+	void addAll(int index, List<E> elements, int[] weights, Node<E>[] nodes) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final Node<E> added = build(elements, weights, nodes);
+		final Node<E> right = splitRight(index);
+
+		root = merge(merge(root, added), right);
+
+		if (root != null) {
+			root.parent = null;
+		}
+	}
+
+	/**
+	 * Move a range of elements in O(log n).
+	 * @param source index of the first moved element.
+	 * @param destination index where the first moved element will appear.
+	 * @param count number of moved elements.
+	 */
+	void move(int source, int destination, int count) {
+		if (count < 0 || source < 0 || destination < 0 || source + count > size() || destination + count > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && count > 0) {
+			final Node<E> right = splitRight(source);
+			final Node<E> left = root;
+
+			root = right;
+
+			final Node<E> rest = splitRight(count);
+			final Node<E> moved = root;
+
+			root = merge(left, rest);
+			root.parent = null;
+
+			final Node<E> tail = splitRight(destination);
+
+			root = merge(merge(root, moved), tail);
+			root.parent = null;
+		}
+	}
+
+	/**
+	 * Create an array of nodes, for example to receive the nodes created by reset().
+	 * @param length length of the array.
+	 * @return new array of null nodes.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <E> Node<E>[] newNodes(int length) {
+		return new Node[length];
+	}
+
+	/**
+	 * Replace all elements with elements of a list in linear time.
+	 * @param elements random access list of new elements of the tree.
+	 * @param nodes array that receives the new nodes in the order of elements; may be null.
+	 */
+	void reset(List<E> elements, Node<E>[] nodes) {
+		reset(elements, null, nodes);
+	}
+
+	/**
+	 * Replace all elements with elements of a list and their weights in linear time.
+	 * @param elements random access list of new elements of the tree.
+	 * @param weights non-negative weights of the elements; if null, all weights are 0.
+	 * @param nodes array that receives the new nodes in the order of elements; may be null.
+	 */
+	void reset(List<E> elements, int[] weights, Node<E>[] nodes) {
+		root = build(elements, weights, nodes);
+	}
+
+	/**
+	 * Remove all elements.
+	 */
+	void clear() {
+		root = null;
+	}
+
+	private Node<E> build(List<E> elements, int[] weights, Node<E>[] nodes) {
+		//
+		// Build the treap from the sequence of elements with the stack algorithm for Cartesian trees;
+		// the right spine of the tree built so far is kept in the stack.
+		//
+		final int count = elements.size();
+		final Node<E>[] stack = newNodes(Math.max(count, 1));
+		int depth = 0;
+
+		for (int i = 0; i < count; ++i) {
+			final Node<E> node = new Node<>(elements.get(i), weights == null ? 0 : weights[i], nextPriority());
+			Node<E> last = null;
+
+			while (depth > 0 && stack[depth - 1].priority < node.priority) {
+				last = stack[--depth];
+			}
+
+			node.left = last;
+			if (last != null) {
+				last.parent = node;
+			}
+
+			if (depth > 0) {
+				stack[depth - 1].right = node;
+				node.parent = stack[depth - 1];
+			}
+
+			stack[depth++] = node;
+
+			if (nodes != null) {
+				nodes[i] = node;
+			}
+		}
+
+		final Node<E> tree = depth > 0 ? stack[0] : null;
+
+		if (tree != null) {
+			tree.parent = null;
+			updateSizes(tree);
+		}
+
+		return tree;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private Node<E> next = first(root);
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public E next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+
+				final E element = next.element;
+				next = successor(next);
+
+				return element;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private Node<E> splitRight(int count) {
+		//
+		// Split the tree so "root" keeps the first count elements; return the tree of the remaining elements.
+		//
+		final Node<E> right;
+
+		if (root == null) {
+			right = null;
+		} else {
+			final Node<E>[] parts = newNodes(2);
+
+			split(root, count, parts);
+			root = parts[0];
+			right = parts[1];
+
+			if (root != null) {
+				root.parent = null;
+			}
+			if (right != null) {
+				right.parent = null;
+			}
+		}
+
+		return right;
+	}
+
+	private void split(Node<E> tree, int count, Node<E>[] parts) {
+		if (tree == null) {
+			parts[0] = null;
+			parts[1] = null;
+		} else if (size(tree.left) < count) {
+			split(tree.right, count - size(tree.left) - 1, parts);
+			tree.right = parts[0];
+			update(tree);
+			parts[0] = tree;
+		} else {
+			split(tree.left, count, parts);
+			tree.left = parts[1];
+			update(tree);
+			parts[1] = tree;
+		}
+	}
+
+	private Node<E> merge(Node<E> left, Node<E> right) {
+		final Node<E> merged;
+
+		if (left == null) {
+			merged = right;
+		} else if (right == null) {
+			merged = left;
+		} else if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			update(left);
+			merged = left;
+		} else {
+			right.left = merge(left, right.left);
+			update(right);
+			merged = right;
+		}
+
+		return merged;
+	}
+
+	private int nextPriority() {
+		//
+		// Xorshift pseudo-random priorities keep the treap balanced with a high probability.
+		//
+		int x = seed;
+
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		seed = x;
+
+		return x;
+	}
+
+	private static <E> void update(Node<E> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		node.weightSum = node.weight + weightSum(node.left) + weightSum(node.right);
+
+		if (node.left != null) {
+			node.left.parent = node;
+		}
+		if (node.right != null) {
+			node.right.parent = node;
+		}
+	}
+
+	private static <E> int updateSizes(Node<E> node) {
+		//
+		// Calculate sizes of all subtrees of a freshly built tree. Subtrees are visited iteratively
+		// in post-order because a degenerate tree may be too deep for recursion.
+		//
+		Node<E> current = node;
+		Node<E> previous = null;
+
+		while (current != null) {
+			if (previous == current.parent) {
+				previous = current;
+
+				if (current.left != null) {
+					current = current.left;
+				} else if (current.right != null) {
+					current = current.right;
+				} else {
+					current.size = 1;
+					current.weightSum = current.weight;
+					current = current.parent;
+				}
+			} else if (previous == current.left && current.right != null) {
+				previous = current;
+				current = current.right;
+			} else {
+				current.size = 1 + size(current.left) + size(current.right);
+				current.weightSum = current.weight + weightSum(current.left) + weightSum(current.right);
+				previous = current;
+				current = current == node ? null : current.parent;
+			}
+		}
+
+		return node.size;
+	}
+
+	private static <E> int size(Node<E> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static <E> int weightSum(Node<E> node) {
+		return node == null ? 0 : node.weightSum;
+	}
+
+	private static <E> Node<E> first(Node<E> tree) {
+		Node<E> node = tree;
+
+		if (node != null) {
+			while (node.left != null) {
+				node = node.left;
+			}
+		}
+
+		return node;
+	}
+
+	private static <E> Node<E> successor(Node<E> node) {
+		Node<E> next;
+
+		if (node.right != null) {
+			next = first(node.right);
+		} else {
+			Node<E> child = node;
+
+			next = node.parent;
+
+			while (next != null && next.right == child) {
+				child = next;
+				next = next.parent;
+			}
+		}
+
+		return next;
+	}
+}
@@ -0,0 +1,44 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable double list that keeps values of another observable double list sorted in the specified order.
+ * @author Pavel Karpenko
+ *
+ */
+final class OrderingReadOnlyObservableDoubleList
+		extends OrderingReadOnlyObservablePrimitiveList<Double, double[], IDoubleOrder>
+		implements IReadOnlyObservableDoubleList {
+
+	private final DoubleArrayList data;
+
+	OrderingReadOnlyObservableDoubleList(
+			IReadOnlyObservableDoubleList source,
+			IObservableReference<IDoubleOrder> order,
+			IReadWriteMonitor monitor) {
+		this(source, order, new DoubleArrayList(source.getSize()), monitor);
+	}
+
+	private OrderingReadOnlyObservableDoubleList(
+			IReadOnlyObservableDoubleList source,
+			IObservableReference<IDoubleOrder> order,
+			DoubleArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, order, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Double getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected boolean isLess(IDoubleOrder order, double[] values, int index, double[] otherValues, int otherIndex) {
+		return order.isLess(values[index], otherValues[otherIndex]);
+	}
+}
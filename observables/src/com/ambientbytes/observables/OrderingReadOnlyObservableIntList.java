@@ -0,0 +1,44 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable int list that keeps values of another observable int list sorted in the specified order.
+ * @author Pavel Karpenko
+ *
+ */
+final class OrderingReadOnlyObservableIntList
+		extends OrderingReadOnlyObservablePrimitiveList<Integer, int[], IIntOrder>
+		implements IReadOnlyObservableIntList {
+
+	private final IntArrayList data;
+
+	OrderingReadOnlyObservableIntList(
+			IReadOnlyObservableIntList source,
+			IObservableReference<IIntOrder> order,
+			IReadWriteMonitor monitor) {
+		this(source, order, new IntArrayList(source.getSize()), monitor);
+	}
+
+	private OrderingReadOnlyObservableIntList(
+			IReadOnlyObservableIntList source,
+			IObservableReference<IIntOrder> order,
+			IntArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, order, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public int getInt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Integer getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected boolean isLess(IIntOrder order, int[] values, int index, int[] otherValues, int otherIndex) {
+		return order.isLess(values[index], otherValues[otherIndex]);
+	}
+}
@@ -1,7 +1,11 @@
 package com.ambientbytes.observables;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of IReadOnlyObservableList that orders items of another observable list
@@ -12,16 +16,42 @@ import java.util.Comparator;
  */
 final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableList<T> {
 
-	private final ArrayListEx<ItemContainer> data;
+	//
+	// Sorted containers are kept in an order-statistic tree, so inserting, removing and locating
+	// a container take O(log n) and getAt(index) selects the container in O(log n).
+	//
+	private final OrderStatisticTree<ItemContainer> data;
+	//
+	// Containers keyed by identity of their items, so a removed item is located by its node in O(log n)
+	// even if other items have the same sort position. Containers of the same item included
+	// in the source more than once are chained through ItemContainer.duplicate.
+	//
+	private final Map<T, ItemContainer> containers;
 	private final IObservableReference<IItemsOrder<T>> order;
 	private final IReferenceListener<IItemsOrder<T>> orderListener;
+	private IItemsKeyOrder<T> keyOrder;	// current order if it extracts sort keys, otherwise null
+	//
+	// Comparator of containers for the current order. Containers of equal items are ordered
+	// by their sequence numbers, so every container has a unique position in the sorted list.
+	//
+	private Comparator<ItemContainer> comparator;
+	private final OrderEvaluator evaluator;
+	private long nextSequence;
 	
 	private final class ItemContainer implements IObjectMutationObserver {
 		private final T item;
+		private final long sequence;	// tiebreak of equal items; containers created later go after earlier ones
 		private IMutableObject mutable;
+		private OrderStatisticTree.Node<ItemContainer> node;	// node of the container in "data"
+		private ItemContainer duplicate;
+		private long key;	// cached sort key of the item if the order extracts keys
 		
 		public ItemContainer(T item) {
 			this.item = item;
+			this.sequence = nextSequence++;
+			this.node = null;
+			this.duplicate = null;
+			this.key = keyOf(item);
 			if (item instanceof IMutableObject) {
 				this.mutable = (IMutableObject) item;
 				this.mutable.addObserver(this);
@@ -43,7 +73,13 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 
 		@Override
 		public void mutated() {
-			onItemMutated(item);
+			//
+			// The item may report the mutation to a snapshot of its observers that includes containers
+			// unadvised by earlier observers; such containers are no longer in the list.
+			//
+			if (mutable != null) {
+				onItemMutated(this);
+			}
 		}
 	}
 
@@ -57,9 +93,28 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 			IReadOnlyObservableList<T> source,
 			IObservableReference<IItemsOrder<T>> order,
 			IReadWriteMonitor monitor) {
+		this(source, order, null, monitor);
+	}
+
+	/**
+	 * Create an ordering list that sorts large sets of items in parallel.
+	 * @param source source list.
+	 * @param order rule object for ordering item in the ordering list; the order must be safe to call from several threads.
+	 * @param pool fork/join pool that sorts items when the list is created or reset, a large range of items is added,
+	 * or the order changes; if null, items are sorted on the calling thread.
+	 * @param monitor read/write monitor shared by all lists in the pipeline.
+	 */
+	public OrderingReadOnlyObservableList(
+			IReadOnlyObservableList<T> source,
+			IObservableReference<IItemsOrder<T>> order,
+			ForkJoinPool pool,
+			IReadWriteMonitor monitor) {
 		super(source, monitor);
-		this.data = new ArrayListEx<>(source.getSize());
+		this.evaluator = new OrderEvaluator(pool);
+		this.data = new OrderStatisticTree<>();
+		this.containers = new IdentityHashMap<>();
 		this.order = order;
+		this.nextSequence = 0;
 		this.orderListener = new IReferenceListener<IItemsOrder<T>>() {
 			@Override
 			public void changed(IObservableReference<IItemsOrder<T>> sender, IItemsOrder<T> oldValue) {
@@ -67,16 +122,13 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 			}
 		};
 		this.order.addListener(this.orderListener);
+		this.keyOrder = keyOrderOf(order.getValue());
+		this.comparator = makeComparator(order.getValue());
 
 		IResource res = monitor.acquireRead();
 		
 		try {
-			final int size = source.getSize();
-			
-			for (int i = 0; i < size; ++i) {
-				this.data.add(new ItemContainer(source.getAt(i)));
-			}
-			Collections.sort(this.data, makeComparator(order.getValue()));
+			load(source);
 		} finally {
 			res.release();
 		}
@@ -94,17 +146,42 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 
 	private void setOrder(IItemsOrder<T> order) {
 		if (this.order != order) {
-			notifyResetting();
-			Collections.sort(this.data, makeComparator(order));
-			notifyReset();
+			//
+			// Sort the same items in the new order and report the new positions of items,
+			// so downstream lists rearrange their own items instead of rebuilding them.
+			//
+			final int size = data.size();
+			final List<ItemContainer> containers = new ArrayList<>(size);
+			final int[] newPositions = new int[size];
+			
+			keyOrder = keyOrderOf(order);
+			comparator = makeComparator(order);
+			for (ItemContainer c : data) {
+				c.key = keyOf(c.item());
+				containers.add(c);
+			}
+			sort(containers);
+			for (int i = 0; i < size; ++i) {
+				newPositions[data.indexOf(containers.get(i).node)] = i;
+			}
+			reset(containers);
+			if (size > 0) {
+				notifyPermuted(newPositions);
+			}
 		}
 	}
 
 	@Override
 	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
-		for (int i = 0; i < count; ++i) {
-			// TODO: optimize reporting - bundle items up in ranges
-			insertAndNotify(source.getAt(startIndex + i));
+		if (count == 1) {
+			insertAndNotify(register(new ItemContainer(source.getAt(startIndex))));
+		} else if (count > 1) {
+			List<ItemContainer> addedItems = new ArrayList<>(count);
+			
+			for (int i = 0; i < count; ++i) {
+				addedItems.add(register(new ItemContainer(source.getAt(startIndex + i))));
+			}
+			mergeAndNotify(addedItems);
 		}
 	}
 
@@ -121,17 +198,21 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 	@Override
 	protected void onRemoving(IReadOnlyObservableList<T> source, final int startIndex, final int count) {
 		for (int i = startIndex; i < startIndex + count; ++i) {
-			final T item = source.getAt(i);
-			final int index = indexOfItem(item);
+			final ItemContainer container = unregister(source.getAt(i));
 			
-			if (index >= 0) {
-				ItemContainer container = data.get(index);
+			if (container != null) {
+				//
+				// The container is located by its node, so the item is found even if it has been mutated
+				// and reported removed by another list before this list has re-positioned it.
+				//
+				final int index = data.indexOf(container.node);
 				// Unadvise the container before notifying subscribers about the change
 				// so if the subscribers will mutate the item in the observer callbacks,
 				// the correct item will be removed from data.
 				container.unadvise();
 				notifyRemoving(index, 1);
 				data.remove(index);
+				container.node = null;
 				notifyRemoved(index, 1);
 			}
 		}
@@ -146,6 +227,11 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		// Do nothing. Moving items in the source collection does not affect their order in the ordered one.
 	}
 	
+	@Override
+	protected void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		// Do nothing. Rearranging items in the source collection does not affect their order in the ordered one.
+	}
+	
 	@Override
 	protected void onResetting(IReadOnlyObservableList<T> source) {
 		notifyResetting();
@@ -157,11 +243,8 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 			c.unadvise();
 		}
 		data.clear();
-		
-		for (int i = 0; i < source.getSize(); ++i) {
-			data.add(new ItemContainer(source.getAt(i)));
-		}
-		Collections.sort(data, makeComparator(order.getValue()));
+		containers.clear();
+		load(source);
 		notifyReset();
 	}
 	
@@ -170,10 +253,11 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		for (ItemContainer c : data) {
 			c.unadvise();
 		}
+		containers.clear();
 		order.removeListener(orderListener);
 	}
 	
-	private void onItemMutated(T item) {
+	private void onItemMutated(ItemContainer container) {
 		//
 		// Item mutations must be processed under a write lock because they
 		// may change the collection that is updated by event handlers that are supposed
@@ -183,33 +267,117 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		IResource lock = monitor().acquireWrite();
 		
 		try {
-			final int oldIndex = indexOfMutatedItem(item);
 			//
-			// Exclude the mutated item and binary search the new position for the item.
-			// If the position has changed, move the item.
+			// Containers of an item included in the source more than once all observe the item;
+			// the first container of the chain re-positions all of them and the others do nothing.
 			//
-			IRandomAccess<ItemContainer> pokedAccess = new PokedListRandomAccess<>(data, oldIndex);
-			final int newIndex = indexOfFirstGreaterOrEqualItem(pokedAccess, item);
+			final ItemContainer head = containers.get(container.item());
 			
-			if (oldIndex != newIndex) {
-				data.move(oldIndex, newIndex, 1);
-				notifyMoved(oldIndex, newIndex, 1);
+			if (head != container) {
+				return;
+			}
+			
+			if (container.duplicate == null) {
+				final int oldIndex = data.indexOf(container.node);
+				//
+				// Take the mutated item out of the tree and search the new position for the item
+				// among the remaining items. If the position has changed, report the move.
+				//
+				data.remove(oldIndex);
+				container.key = keyOf(container.item());
+				
+				final int newIndex = indexOfContainer(container);
+				
+				container.node = data.add(newIndex, container);
+				
+				if (oldIndex != newIndex) {
+					notifyMoved(oldIndex, newIndex, 1);
+				}
+			} else {
+				//
+				// The item is in the list more than once. Take all its containers out before inserting them,
+				// because a search among items that include the mutated item at old positions may fail.
+				//
+				for (ItemContainer c = head; c != null; c = c.duplicate) {
+					final int index = data.indexOf(c.node);
+					
+					notifyRemoving(index, 1);
+					data.remove(index);
+					c.node = null;
+					notifyRemoved(index, 1);
+				}
+				for (ItemContainer c = head; c != null; c = c.duplicate) {
+					c.key = keyOf(c.item());
+					insertAndNotify(c);
+				}
 			}
 		} finally {
 			lock.release();
 		}
 	}
 	
+	private void load(IReadOnlyObservableList<T> source) {
+		final int size = source.getSize();
+		final List<ItemContainer> loaded = new ArrayList<>(size);
+		
+		for (int i = 0; i < size; ++i) {
+			loaded.add(register(new ItemContainer(source.getAt(i))));
+		}
+		sort(loaded);
+		reset(loaded);
+	}
+	
+	private void reset(List<ItemContainer> sortedContainers) {
+		//
+		// Build the tree from the sorted containers in linear time and give containers their nodes.
+		//
+		final OrderStatisticTree.Node<ItemContainer>[] nodes = OrderStatisticTree.newNodes(sortedContainers.size());
+		
+		data.reset(sortedContainers, nodes);
+		
+		for (OrderStatisticTree.Node<ItemContainer> node : nodes) {
+			node.element().node = node;
+		}
+	}
+	
+	private void sort(List<ItemContainer> containers) {
+		evaluator.sort(containers, comparator);
+	}
+	
 	private Comparator<ItemContainer> makeComparator(final IItemsOrder<T> order) {
+		if (order instanceof IItemsKeyOrder) {
+			return new Comparator<ItemContainer>() {
+				@Override
+				public int compare(ItemContainer c1, ItemContainer c2) {
+					final int result = Long.compare(c1.key, c2.key);
+					
+					return result != 0 ? result : Long.compare(c1.sequence, c2.sequence);
+				}
+			};
+		} else if (order instanceof IItemsComparator) {
+			final IItemsComparator<T> itemsComparator = (IItemsComparator<T>) order;
+			
+			return new Comparator<ItemContainer>() {
+				@Override
+				public int compare(ItemContainer c1, ItemContainer c2) {
+					final int result = itemsComparator.compare(c1.item(), c2.item());
+					
+					return result != 0 ? result : Long.compare(c1.sequence, c2.sequence);
+				}
+			};
+		}
+		
 		return new Comparator<ItemContainer>() {
 			@Override
 			public int compare(ItemContainer c1, ItemContainer c2) {
-				int result = 0;
+				int result;
 				
 				if (order.isLess(c1.item(), c2.item())) {
 					result = -1;
 				} else if (order.isLess(c2.item(), c1.item())) {
 					result = 1;
+				} else {
+					result = Long.compare(c1.sequence, c2.sequence);
 				}
 				
 				return result;
@@ -217,72 +385,78 @@ final class OrderingReadOnlyObservableList<T> extends LinkedReadOnlyObservableLi
 		};
 	}
 	
-	private int indexOfItem(T item) {
-		IRandomAccess<ItemContainer> access = new ListRandomAccess<>(data);
-		int index = indexOfFirstGreaterOrEqualItem(access, item);
-        IItemsOrder<T> itemsOrder = order.getValue();
-		
-		while (index < data.size() && !itemsOrder.isLess(data.get(index).item(), item)) {
-			if (data.get(index).item() == item) {
-				break;
-			} else {
-				++index;
+	private int indexOfContainer(final ItemContainer container) {
+		//
+		// Return index at which the container must be inserted according to the current order;
+		// the position is unique because equal items are ordered by their sequence numbers.
+		//
+		return data.search(new OrderStatisticTree.ISearch<ItemContainer>() {
+			@Override
+			public boolean isBefore(ItemContainer element) {
+				return comparator.compare(element, container) < 0;
 			}
-		}
+		});
+	}
+	
+	private ItemContainer register(ItemContainer container) {
+		container.duplicate = containers.put(container.item(), container);
+		return container;
+	}
+	
+	private ItemContainer unregister(T item) {
+		final ItemContainer container = containers.remove(item);
 		
-		if (index >= data.size()) {
-			index = -1;
+		if (container != null && container.duplicate != null) {
+			containers.put(item, container.duplicate);
+			container.duplicate = null;
 		}
 		
-		return index;
+		return container;
 	}
 	
-	private int indexOfMutatedItem(T item) {
-		//
-		// Must do a linear scan of the data list because we may be looking for a mutated item
-		// that went out of order.
-		//
-		int index = -1;
-		
-		for (int i = 0; index < 0 && i < data.size(); ++i) {
-			if (data.get(i).item() == item) {
-				index = i;
-			} else {
-				++i;
-			}
-		}
+	private long keyOf(T item) {
+		return keyOrder != null ? keyOrder.getKey(item) : 0;
+	}
+	
+	private static <T> IItemsKeyOrder<T> keyOrderOf(IItemsOrder<T> order) {
+		return order instanceof IItemsKeyOrder ? (IItemsKeyOrder<T>) order : null;
+	}
+	
+	private void insertAndNotify(ItemContainer container) {
+		final int insertionIndex = indexOfContainer(container);
 		
-		return index;
+		container.node = data.add(insertionIndex, container);
+		notifyAdded(insertionIndex, 1);
 	}
 	
-	private int indexOfFirstGreaterOrEqualItem(IRandomAccess<ItemContainer> dataAccess, T item) {
+	private void mergeAndNotify(List<ItemContainer> addedItems) {
 		//
-		// Return index of the first item that is greater or equal than the specified item
-		// according to the set order.
-		// A new item may be inserted at the returned index.
+		// Sort the added items and insert each of them at its position. Positions of the added items
+		// are collected in ranges that are reported to observers in the ascending order after all items
+		// have been inserted.
 		//
-		int left = -1;
-		int right = dataAccess.size();
-        IItemsOrder<T> itemsOrder = order.getValue();
+		sort(addedItems);
+		
+		for (ItemContainer container : addedItems) {
+			container.node = data.add(indexOfContainer(container), container);
+		}
 		
-		while (left + 1 != right) {
-			int middle = left + (right - left) / 2;
+		final List<RangeDetector.Range> ranges = new ArrayList<>();
+		final RangeDetector rd = new RangeDetector();
+		RangeDetector.Range range;
+		
+		for (ItemContainer container : addedItems) {
+			range = rd.addIndex(data.indexOf(container.node));
 			
-			if (itemsOrder.isLess(dataAccess.get(middle).item(), item)) {
-				left = middle;
-			} else {
-				right = middle;
+			if (range != null) {
+				ranges.add(range);
 			}
 		}
 		
-		return right;
-	}
-	
-	private void insertAndNotify(T item) {
-		IRandomAccess<ItemContainer> access = new ListRandomAccess<>(data);
-		int insertionIndex = indexOfFirstGreaterOrEqualItem(access, item);
-		data.add(insertionIndex, new ItemContainer(item));
-		notifyAdded(insertionIndex, 1);
+		ranges.add(rd.finish());
+		
+		for (RangeDetector.Range r : ranges) {
+			notifyAdded(r.start(), r.length());
+		}
 	}
-
 }
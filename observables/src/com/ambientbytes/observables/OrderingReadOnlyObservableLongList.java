@@ -0,0 +1,44 @@
+package com.ambientbytes.observables;
+
+/**
+ * Observable long list that keeps values of another observable long list sorted in the specified order.
+ * @author Pavel Karpenko
+ *
+ */
+final class OrderingReadOnlyObservableLongList
+		extends OrderingReadOnlyObservablePrimitiveList<Long, long[], ILongOrder>
+		implements IReadOnlyObservableLongList {
+
+	private final LongArrayList data;
+
+	OrderingReadOnlyObservableLongList(
+			IReadOnlyObservableLongList source,
+			IObservableReference<ILongOrder> order,
+			IReadWriteMonitor monitor) {
+		this(source, order, new LongArrayList(source.getSize()), monitor);
+	}
+
+	private OrderingReadOnlyObservableLongList(
+			IReadOnlyObservableLongList source,
+			IObservableReference<ILongOrder> order,
+			LongArrayList data,
+			IReadWriteMonitor monitor) {
+		super(source, order, data, monitor);
+		this.data = data;
+	}
+
+	@Override
+	public long getLong(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	public Long getAt(int index) {
+		return data.get(index);
+	}
+
+	@Override
+	protected boolean isLess(ILongOrder order, long[] values, int index, long[] otherValues, int otherIndex) {
+		return order.isLess(values[index], otherValues[otherIndex]);
+	}
+}
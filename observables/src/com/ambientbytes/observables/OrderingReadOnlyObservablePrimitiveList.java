@@ -0,0 +1,287 @@
+package com.ambientbytes.observables;
+
+/**
+ * Base class for observable lists of primitive values that keep values of another observable list
+ * of the same type sorted in the specified order.
+ * Values are kept in a primitive array and located with binary search; equal values keep the order
+ * in which they were added. Subclasses compare values of their type in arrays.
+ * @author Pavel Karpenko
+ *
+ * @param <T> boxed type of values in the list.
+ * @param <A> type of the array of values, for example int[].
+ * @param <O> type of the order.
+ */
+abstract class OrderingReadOnlyObservablePrimitiveList<T, A, O> extends LinkedReadOnlyObservableList<T> {
+
+	private final PrimitiveArrayList<A> data;
+	private final IObservableReference<O> orderRef;
+	private final IReferenceListener<O> orderListener;
+
+	protected OrderingReadOnlyObservablePrimitiveList(
+			IReadOnlyObservableList<T> source,
+			IObservableReference<O> order,
+			PrimitiveArrayList<A> data,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+		this.data = data;
+		this.orderListener = new IReferenceListener<O>() {
+			@Override
+			public void changed(IObservableReference<O> sender, O oldValue) {
+				setOrder(sender.getValue());
+			}
+		};
+		this.orderRef = order;
+		this.orderRef.addListener(orderListener);
+
+		load(source);
+	}
+
+	/**
+	 * Compare two values in an order.
+	 * @param order order of values.
+	 * @param values array of the first value.
+	 * @param index index of the first value.
+	 * @param otherValues array of the second value.
+	 * @param otherIndex index of the second value.
+	 * @return true if the first value goes before the second one.
+	 */
+	protected abstract boolean isLess(O order, A values, int index, A otherValues, int otherIndex);
+
+	@Override
+	public final int getSize() {
+		return data.size();
+	}
+
+	@Override
+	protected final void onUnlinked() {
+		orderRef.removeListener(orderListener);
+	}
+
+	@Override
+	protected final void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		if (count == 1) {
+			final A value = data.read(source, startIndex, 1);
+			final int index = upperBound(value);
+
+			data.add(index, value, 0, 1);
+			notifyAdded(index, 1);
+		} else if (count > 1) {
+			insert(data.read(source, startIndex, count), count);
+		}
+	}
+
+	@Override
+	protected final void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		onRemoving(source, startIndex, count);
+	}
+
+	@Override
+	protected final void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		onAdded(source, startIndex, count);
+	}
+
+	@Override
+	protected final void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final A values = data.read(source, startIndex, count);
+
+		for (int i = 0; i < count; ++i) {
+			final int index = indexOf(values, i);
+
+			notifyRemoving(index, 1);
+			data.remove(index, 1);
+			notifyRemoved(index, 1);
+		}
+	}
+
+	@Override
+	protected final void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Values have been removed in onRemoving.
+	}
+
+	@Override
+	protected final void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		// Do nothing. Moving values in the source list does not change their order.
+	}
+
+	@Override
+	protected final void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		// Do nothing. Rearranging values in the source list does not change their order.
+	}
+
+	@Override
+	protected final void onResetting(IReadOnlyObservableList<T> source) {
+		notifyResetting();
+	}
+
+	@Override
+	protected final void onReset(IReadOnlyObservableList<T> source) {
+		data.clear();
+		load(source);
+		notifyReset();
+	}
+
+	private void load(IReadOnlyObservableList<T> source) {
+		final int size = source.getSize();
+		final A values = data.read(source, 0, size);
+
+		data.add(0, data.select(values, sortIndexes(values, size, orderRef.getValue())), 0, size);
+	}
+
+	private void insert(A values, int count) {
+		//
+		// Merge sorted new values into the sorted array in one pass; new values go after equal old values.
+		// Runs of new values are copied at once and reported as ascending ranges of the merged array.
+		//
+		final O order = orderRef.getValue();
+		final A sorted = data.select(values, sortIndexes(values, count, order));
+		final A current = data.array();
+		final int size = data.size();
+		final A merged = data.newArray(size + count);
+		final int[] rangeStarts = new int[count];
+		final int[] rangeLengths = new int[count];
+		int rangeCount = 0;
+		int i = 0;
+		int j = 0;
+
+		while (j < count) {
+			int nextI = i;
+
+			while (nextI < size && !isLess(order, sorted, j, current, nextI)) {
+				++nextI;
+			}
+			System.arraycopy(current, i, merged, i + j, nextI - i);
+			i = nextI;
+
+			int nextJ = j;
+
+			while (nextJ < count && (i == size || isLess(order, sorted, nextJ, current, i))) {
+				++nextJ;
+			}
+			System.arraycopy(sorted, j, merged, i + j, nextJ - j);
+			rangeStarts[rangeCount] = i + j;
+			rangeLengths[rangeCount++] = nextJ - j;
+			j = nextJ;
+		}
+		System.arraycopy(current, i, merged, i + count, size - i);
+
+		data.clear();
+		data.add(0, merged, 0, size + count);
+
+		for (int r = 0; r < rangeCount; ++r) {
+			notifyAdded(rangeStarts[r], rangeLengths[r]);
+		}
+	}
+
+	private void setOrder(O order) {
+		final int size = data.size();
+		final A values = data.toArray(0, size);
+		final int[] newPositions = new int[size];
+		boolean rearranged = false;
+
+		//
+		// Sort positions of values rather than the values themselves to learn where every value goes.
+		//
+		final int[] indexes = sortIndexes(values, size, order);
+
+		data.set(0, data.select(values, indexes), 0, size);
+
+		for (int i = 0; i < size; ++i) {
+			newPositions[indexes[i]] = i;
+			rearranged |= indexes[i] != i;
+		}
+
+		if (rearranged) {
+			notifyPermuted(newPositions);
+		}
+	}
+
+	private int upperBound(A value) {
+		final O order = orderRef.getValue();
+		final A current = data.array();
+		int low = 0;
+		int high = data.size();
+
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+
+			if (isLess(order, value, 0, current, middle)) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+
+		return low;
+	}
+
+	private int indexOf(A values, int index) {
+		final O order = orderRef.getValue();
+		final A current = data.array();
+		final int size = data.size();
+		int low = 0;
+		int high = size;
+
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+
+			if (isLess(order, current, middle, values, index)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		//
+		// Distinct values may be equal in the order; find the exact value among them.
+		//
+		while (low < size && !data.same(current, low, values, index)) {
+			++low;
+		}
+
+		if (low == size) {
+			throw new IllegalStateException("value is not in the list");
+		}
+
+		return low;
+	}
+
+	private int[] sortIndexes(A values, int count, O order) {
+		final int[] indexes = new int[count];
+
+		for (int i = 0; i < count; ++i) {
+			indexes[i] = i;
+		}
+
+		if (count > 1) {
+			mergeSortIndexes(indexes, new int[count], 0, count, values, order);
+		}
+
+		return indexes;
+	}
+
+	private void mergeSortIndexes(int[] indexes, int[] buffer, int start, int end, A values, O order) {
+		//
+		// Stable merge sort of positions of the values; equal values keep their relative order.
+		//
+		if (end - start > 1) {
+			final int middle = (start + end) >>> 1;
+
+			mergeSortIndexes(indexes, buffer, start, middle, values, order);
+			mergeSortIndexes(indexes, buffer, middle, end, values, order);
+
+			if (isLess(order, values, indexes[middle], values, indexes[middle - 1])) {
+				int i = start;
+				int j = middle;
+
+				System.arraycopy(indexes, start, buffer, start, end - start);
+				for (int k = start; k < end; ++k) {
+					if (j == end || (i < middle && !isLess(order, values, buffer[j], values, buffer[i]))) {
+						indexes[k] = buffer[i++];
+					} else {
+						indexes[k] = buffer[j++];
+					}
+				}
+			}
+		}
+	}
+}
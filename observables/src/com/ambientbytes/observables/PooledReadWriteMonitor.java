@@ -0,0 +1,144 @@
+package com.ambientbytes.observables;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Implementation of IReadWriteMonitor that uses Java's ReadWriteLock interface to acquire and release locks
+ * and keeps the state of held locks in pooled objects instead of allocating it when locks are acquired.
+ * Each thread keeps a pool of lock holds, one per level of nested acquisitions, and reuses them.
+ * Every hold keeps a small ring of preallocated resources and hands out the next one with each acquisition,
+ * stamped with the generation of the hold, so acquiring and releasing locks allocates nothing.
+ * Releasing a resource is idempotent: a resource released again after its hold has been reused by up to
+ * RESOURCES_PER_HOLD - 1 later acquisitions does nothing, because its stamp no longer matches the hold.
+ * @author Pavel Karpenko
+ */
+
+final class PooledReadWriteMonitor implements IReadWriteMonitor {
+
+    private static final int INITIAL_POOL_SIZE = 4;
+    private static final int RESOURCES_PER_HOLD = 4;  // must be a power of 2
+
+    private final ReadWriteLock lock;
+    private final ThreadLocal<HoldPool> pools;
+
+    //
+    // Hold of a lock at one level of nested acquisitions. The generation changes with every release,
+    // so resources of earlier acquisitions of the hold cannot release it.
+    //
+    private static final class LockHold {
+        private final LockResource[] resources;
+        private Lock lock;
+        private int generation;
+
+        LockHold() {
+            resources = new LockResource[RESOURCES_PER_HOLD];
+            for (int i = 0; i < RESOURCES_PER_HOLD; ++i) {
+                resources[i] = new LockResource(this);
+            }
+        }
+
+        boolean isHeld() {
+            return lock != null;
+        }
+
+        IResource hold(Lock lock) {
+            final LockResource resource = resources[generation & (RESOURCES_PER_HOLD - 1)];
+
+            lock.lock();
+            this.lock = lock;
+            resource.generation = generation;
+
+            return resource;
+        }
+
+        void release(int generation) {
+            final Lock oldLock = this.lock;
+
+            if (oldLock != null && this.generation == generation) {
+                this.lock = null;
+                this.generation++;
+                oldLock.unlock();
+            }
+        }
+    }
+
+    //
+    // Resource stamped with the generation of the acquisition that returned it. Resources are used only
+    // by the thread that owns their pool, so the stamp needs no synchronization.
+    //
+    private static final class LockResource implements IResource {
+        private final LockHold hold;
+        private int generation;
+
+        LockResource(LockHold hold) {
+            this.hold = hold;
+        }
+
+        @Override
+        public void release() {
+            hold.release(generation);
+        }
+    }
+
+    //
+    // Holds of a single thread. The pool is accessed only by its thread so it needs no synchronization.
+    //
+    private static final class HoldPool {
+        private LockHold[] holds;
+
+        HoldPool() {
+            holds = new LockHold[INITIAL_POOL_SIZE];
+            fill(0);
+        }
+
+        IResource acquire(Lock lock) {
+            LockHold hold = null;
+
+            for (int i = 0; i < holds.length && hold == null; ++i) {
+                if (!holds[i].isHeld()) {
+                    hold = holds[i];
+                }
+            }
+
+            if (hold == null) {
+                //
+                // All holds are taken by nested acquisitions; grow the pool.
+                //
+                final int oldLength = holds.length;
+                holds = Arrays.copyOf(holds, oldLength * 2);
+                fill(oldLength);
+                hold = holds[oldLength];
+            }
+
+            return hold.hold(lock);
+        }
+
+        private void fill(int startIndex) {
+            for (int i = startIndex; i < holds.length; ++i) {
+                holds[i] = new LockHold();
+            }
+        }
+    }
+
+    public PooledReadWriteMonitor(ReadWriteLock lock) {
+        this.lock = lock;
+        this.pools = new ThreadLocal<HoldPool>() {
+            @Override
+            protected HoldPool initialValue() {
+                return new HoldPool();
+            }
+        };
+    }
+
+    @Override
+    public IResource acquireRead() {
+        return pools.get().acquire(lock.readLock());
+    }
+
+    @Override
+    public IResource acquireWrite() {
+        return pools.get().acquire(lock.writeLock());
+    }
+}
@@ -0,0 +1,174 @@
+package com.ambientbytes.observables;
+
+/**
+ * Growable array of primitive values with the range operations needed by observable lists of primitive values.
+ * Subclasses fix the type of the array and add operations on single values, so int, long and double lists
+ * share one implementation of the range operations.
+ * @author Pavel Karpenko
+ *
+ * @param <A> type of the array of primitive values, for example int[].
+ */
+abstract class PrimitiveArrayList<A> {
+
+	private A values;
+	private int capacity;
+	private int size;
+
+	protected PrimitiveArrayList(int capacity) {
+		this.capacity = Math.max(capacity, 1);
+		this.values = newArray(this.capacity);
+		this.size = 0;
+	}
+
+	/**
+	 * Create an array of primitive values.
+	 * @param length length of the array.
+	 * @return new array of zeros.
+	 */
+	abstract A newArray(int length);
+
+	/**
+	 * Copy a range of values of an observable list of the same primitive type into a new array
+	 * without boxing them.
+	 * @param source observable list of primitive values of the same type.
+	 * @param startIndex index of the first copied value in the source list.
+	 * @param count number of copied values.
+	 * @return new array of the values.
+	 */
+	abstract A read(IReadOnlyObservableList<?> source, int startIndex, int count);
+
+	/**
+	 * Copy values selected by their indexes into a new array.
+	 * @param values array of values.
+	 * @param indexes indexes of the selected values in the order in which they are copied.
+	 * @return new array of the selected values.
+	 */
+	abstract A select(A values, int[] indexes);
+
+	/**
+	 * Test if two values are the same value.
+	 * @param values array of the first value.
+	 * @param index index of the first value.
+	 * @param otherValues array of the second value.
+	 * @param otherIndex index of the second value.
+	 * @return true if the values are the same.
+	 */
+	abstract boolean same(A values, int index, A otherValues, int otherIndex);
+
+	/**
+	 * Get the array that stores values of the list; only the first size() values belong to the list,
+	 * and the array is replaced when the list grows.
+	 * @return array that stores values of the list.
+	 */
+	final A array() {
+		return values;
+	}
+
+	final int size() {
+		return size;
+	}
+
+	final void add(int index, A newValues, int offset, int count) {
+		open(index, count);
+		System.arraycopy(newValues, offset, values, index, count);
+	}
+
+	final void set(int index, A newValues, int offset, int count) {
+		if (index < 0 || count < 0 || index + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(newValues, offset, values, index, count);
+	}
+
+	final void remove(int index, int count) {
+		if (index < 0 || count < 0 || index + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		System.arraycopy(values, index + count, values, index, size - index - count);
+		size -= count;
+	}
+
+	final void move(int source, int destination, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + count > size || destination + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && count > 0) {
+			final A moved = toArray(source, count);
+
+			if (source < destination) {
+				System.arraycopy(values, source + count, values, source, destination - source);
+			} else {
+				System.arraycopy(values, destination, values, destination + count, source - destination);
+			}
+			System.arraycopy(moved, 0, values, destination, count);
+		}
+	}
+
+	final void permute(int start, int[] newPositions) {
+		if (start < 0 || start + newPositions.length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final int[] indexes = new int[newPositions.length];
+
+		for (int i = 0; i < newPositions.length; ++i) {
+			indexes[newPositions[i]] = start + i;
+		}
+		System.arraycopy(select(values, indexes), 0, values, start, indexes.length);
+	}
+
+	final void clear() {
+		size = 0;
+	}
+
+	final A toArray(int start, int count) {
+		if (start < 0 || count < 0 || start + count > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final A copy = newArray(count);
+
+		System.arraycopy(values, start, copy, 0, count);
+
+		return copy;
+	}
+
+	/**
+	 * Insert a range of values that subclasses fill in after the call.
+	 * @param index index of the first inserted value.
+	 * @param count number of inserted values.
+	 */
+	protected final void open(int index, int count) {
+		if (index < 0 || index > size || count < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		ensureCapacity(size + count);
+		System.arraycopy(values, index, values, index + count, size - index);
+		size += count;
+	}
+
+	protected final void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void ensureCapacity(int newCapacity) {
+		if (newCapacity > capacity) {
+			final int length = Math.max(newCapacity, capacity + (capacity >> 1));
+			final A grown = newArray(length);
+
+			System.arraycopy(values, 0, grown, 0, size);
+			values = grown;
+			capacity = length;
+		}
+	}
+}
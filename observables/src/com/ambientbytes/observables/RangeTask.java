@@ -0,0 +1,73 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that splits a range of indexes in halves until the parts are no longer than a chunk
+ * and computes the parts in parallel. Evaluators pass in the operation that computes a part and,
+ * if the results of adjacent parts have to be combined, merges them.
+ * @author Pavel Karpenko
+ */
+final class RangeTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Operation over parts of a range of indexes; parts are computed on threads of a fork/join pool.
+	 */
+	static abstract class Operation {
+		/**
+		 * Compute a part of the range.
+		 * @param startIndex first index of the part.
+		 * @param endIndex index after the last index of the part.
+		 */
+		abstract void compute(int startIndex, int endIndex);
+
+		/**
+		 * Combine two adjacent parts of the range after both of them have been computed. Does nothing by default.
+		 * @param startIndex first index of the first part.
+		 * @param middleIndex first index of the second part.
+		 * @param endIndex index after the last index of the second part.
+		 */
+		void merge(int startIndex, int middleIndex, int endIndex) {
+		}
+	}
+
+	private final Operation operation;
+	private final int chunkSize;
+	private final int startIndex;
+	private final int endIndex;
+
+	private RangeTask(Operation operation, int chunkSize, int startIndex, int endIndex) {
+		this.operation = operation;
+		this.chunkSize = chunkSize;
+		this.startIndex = startIndex;
+		this.endIndex = endIndex;
+	}
+
+	/**
+	 * Compute the operation over a range of indexes in the pool and wait until all parts have been computed.
+	 * @param pool fork/join pool that computes the parts.
+	 * @param operation operation that computes and merges parts of the range.
+	 * @param size number of indexes in the range that starts at 0.
+	 * @param chunkSize maximum number of indexes in a part computed by one call of the operation.
+	 */
+	static void invoke(ForkJoinPool pool, Operation operation, int size, int chunkSize) {
+		pool.invoke(new RangeTask(operation, chunkSize, 0, size));
+	}
+
+	@Override
+	protected void compute() {
+		if (endIndex - startIndex <= chunkSize) {
+			operation.compute(startIndex, endIndex);
+		} else {
+			final int middle = (startIndex + endIndex) >>> 1;
+
+			invokeAll(
+					new RangeTask(operation, chunkSize, startIndex, middle),
+					new RangeTask(operation, chunkSize, middle, endIndex));
+			operation.merge(startIndex, middle, endIndex);
+		}
+	}
+}
@@ -0,0 +1,643 @@
+package com.ambientbytes.observables;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * List of elements stored in chunks of limited capacity. Inserting or removing an element shifts elements
+ * of one chunk only, and growing the list allocates new chunks instead of copying all elements
+ * to a larger array, so the list never allocates a single large array for its elements.
+ * The chunk that holds an element and the index of its first element are found in one O(log n) walk
+ * of a Fenwick tree of chunk sizes; a list that fits in one chunk skips the walk.
+ * Snapshots share chunks with the list; a chunk shared with a snapshot is copied the first time
+ * the list changes it, so taking a snapshot costs O(number of chunks) and never copies elements.
+ * @author Pavel Karpenko
+ *
+ * @param <E> type of elements.
+ */
+final class SegmentedList<E> extends AbstractList<E> implements RandomAccess, IListStore<E> {
+
+	//
+	// Chunks hold at most CHUNK_CAPACITY elements; adjacent chunks are merged when together
+	// they hold no more than MERGE_THRESHOLD elements, so chunks don't degrade into many small ones.
+	//
+	static final int CHUNK_CAPACITY = 1024;
+	static final int MERGE_THRESHOLD = CHUNK_CAPACITY / 2;
+	//
+	// Chunks are allocated for the elements they receive and grow up to CHUNK_CAPACITY as elements are added,
+	// so small lists don't allocate full chunks; the first chunk of a list starts with INITIAL_CAPACITY elements.
+	//
+	static final int INITIAL_CAPACITY = 8;
+
+	private Object[][] chunks;		// chunk index; only the first chunkCount chunks are used
+	private boolean[] shared;		// true for chunks shared with snapshots
+	private final FenwickTree sizes;	// number of elements in each chunk
+	private int chunkCount;
+	private int size;
+	private IListSnapshot<E> snapshot;	// snapshot of the current contents, if one has been taken
+
+	//
+	// Snapshot of the list that keeps references to chunks and offsets of their first elements.
+	//
+	private static final class Snapshot<E> implements IListSnapshot<E> {
+		private final Object[][] chunks;
+		private final int[] starts;	// index of the first element of each chunk, followed by the size
+
+		Snapshot(Object[][] chunks, int[] starts) {
+			this.chunks = chunks;
+			this.starts = starts;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E getAt(int index) {
+			if (index < 0 || index >= getSize()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			int low = 0;
+			int high = chunks.length;
+
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+
+				if (starts[middle + 1] <= index) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+
+			return (E) chunks[low][index - starts[low]];
+		}
+
+		@Override
+		public int getSize() {
+			return starts[chunks.length];
+		}
+	}
+
+	SegmentedList() {
+		this.chunks = new Object[1][];
+		this.shared = new boolean[1];
+		this.sizes = new FenwickTree();
+		this.chunkCount = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index);
+
+		final long location = locate(index);
+
+		return (E) chunks[FenwickTree.locationIndex(location)][index - FenwickTree.locationStart(location)];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E element) {
+		checkIndex(index);
+
+		final long location = locate(index);
+		final int chunk = FenwickTree.locationIndex(location);
+		final int offset = index - FenwickTree.locationStart(location);
+		final E previous = (E) chunks[chunk][offset];
+
+		writable(chunk)[offset] = element;
+
+		return previous;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int chunk;
+		int offset;
+
+		if (index == size) {
+			chunk = chunkCount - 1;
+			if (chunk < 0 || sizes.get(chunk) == CHUNK_CAPACITY) {
+				//
+				// A chunk added after a full chunk is likely to be filled too, so only the first chunk starts small.
+				//
+				final Object[] elements = new Object[chunk < 0 ? INITIAL_CAPACITY : CHUNK_CAPACITY];
+
+				insertChunks(++chunk, new Object[][] { elements }, new int[] { 0 });
+			}
+			offset = sizes.get(chunk);
+		} else {
+			final long location = locate(index);
+
+			chunk = FenwickTree.locationIndex(location);
+			offset = index - FenwickTree.locationStart(location);
+
+			if (sizes.get(chunk) == CHUNK_CAPACITY) {
+				//
+				// Split the full chunk in halves and insert the element in the half that contains the index.
+				//
+				splitChunk(chunk, MERGE_THRESHOLD);
+				if (offset > MERGE_THRESHOLD) {
+					offset -= MERGE_THRESHOLD;
+					++chunk;
+				}
+			}
+		}
+
+		final int chunkSize = sizes.get(chunk);
+		final Object[] elements = writable(chunk, chunkSize + 1);
+
+		System.arraycopy(elements, offset, elements, offset + 1, chunkSize - offset);
+		elements[offset] = element;
+		sizes.set(chunk, chunkSize + 1);
+		++size;
+		++modCount;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		return addAll(size, c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends E> c) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return insert(index, c.toArray());
+	}
+
+	@Override
+	public E remove(int index) {
+		checkIndex(index);
+
+		final long location = locate(index);
+		final int chunk = FenwickTree.locationIndex(location);
+		final int offset = index - FenwickTree.locationStart(location);
+		@SuppressWarnings("unchecked")
+		final E element = (E) chunks[chunk][offset];
+
+		removeFromChunk(chunk, offset, 1);
+		--size;
+		++modCount;
+		compact(chunk);
+
+		return element;
+	}
+
+	/**
+	 * Remove a range of elements.
+	 * @param start index of the first removed element.
+	 * @param length number of removed elements.
+	 */
+	public void remove(int start, int length) {
+		if (start < 0 || length < 0 || start + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (length > 0) {
+			final long location = locate(start);
+			final int first = FenwickTree.locationIndex(location);
+			final int offset = start - FenwickTree.locationStart(location);
+			int remaining = length;
+			int chunk = first;
+
+			if (offset > 0) {
+				final int count = Math.min(remaining, sizes.get(chunk) - offset);
+
+				removeFromChunk(chunk, offset, count);
+				remaining -= count;
+				++chunk;
+			}
+
+			int end = chunk;
+
+			while (end < chunkCount && remaining >= sizes.get(end)) {
+				remaining -= sizes.get(end++);
+			}
+			removeChunks(chunk, end - chunk);
+
+			if (remaining > 0) {
+				removeFromChunk(chunk, 0, remaining);
+			}
+
+			size -= length;
+			++modCount;
+			compact(chunk);
+			compact(first);
+		}
+	}
+
+	/**
+	 * Move a range of elements.
+	 * @param source index of the first moved element.
+	 * @param destination index at which the first moved element will appear.
+	 * @param length number of moved elements.
+	 */
+	public void move(int source, int destination, int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length may not be negative");
+		}
+
+		if (source < 0 || destination < 0 || source + length > size || destination + length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (source != destination && length > 0) {
+			//
+			// Moving a range swaps it with the range of elements between its old and new positions.
+			// The smaller of the two ranges is kept in a temporary buffer while the larger one is shifted
+			// with bulk copies between chunks; sizes of chunks don't change.
+			//
+			if (source < destination) {
+				rotate(source, length, destination - source);
+			} else {
+				rotate(destination, source - destination, length);
+			}
+		}
+	}
+
+	/**
+	 * Rearrange a range of elements.
+	 * @param start index of the first rearranged element.
+	 * @param newPositions new positions of elements relative to start; the element at start + i
+	 * moves to start + newPositions[i].
+	 */
+	public void permute(int start, int[] newPositions) {
+		if (start < 0 || start + newPositions.length > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		final Object[] elements = new Object[newPositions.length];
+		final Object[] permuted = new Object[newPositions.length];
+
+		copyTo(start, elements);
+		for (int i = 0; i < elements.length; ++i) {
+			permuted[newPositions[i]] = elements[i];
+		}
+		copyFrom(start, permuted);
+	}
+
+	@Override
+	public IListSnapshot<E> snapshot() {
+		if (snapshot == null) {
+			final int[] starts = new int[chunkCount + 1];
+
+			for (int i = 0; i < chunkCount; ++i) {
+				starts[i + 1] = starts[i] + sizes.get(i);
+			}
+			Arrays.fill(shared, 0, chunkCount, true);
+			snapshot = new Snapshot<>(Arrays.copyOf(chunks, chunkCount), starts);
+		}
+
+		return snapshot;
+	}
+
+	@Override
+	public void clear() {
+		chunks = new Object[1][];
+		shared = new boolean[1];
+		snapshot = null;
+		sizes.clear();
+		chunkCount = 0;
+		size = 0;
+		++modCount;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int chunk = 0;
+			private int offset = 0;
+			private int remaining = size;
+
+			@Override
+			public boolean hasNext() {
+				return remaining > 0;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (remaining == 0) {
+					throw new NoSuchElementException();
+				}
+
+				while (offset == sizes.get(chunk)) {
+					++chunk;
+					offset = 0;
+				}
+				--remaining;
+
+				return (E) chunks[chunk][offset++];
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	@Override
+	public Object[] toArray() {
+		final Object[] array = new Object[size];
+
+		copyTo(0, array);
+
+		return array;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		remove(fromIndex, toIndex - fromIndex);
+	}
+
+	private boolean insert(int index, Object[] elements) {
+		final int count = elements.length;
+
+		if (count == 1) {
+			@SuppressWarnings("unchecked")
+			final E element = (E) elements[0];
+			add(index, element);
+		} else if (count > 1) {
+			final int target = index < size ? sizes.indexOf(index) : chunkCount - 1;
+
+			if (target >= 0 && sizes.get(target) + count <= CHUNK_CAPACITY) {
+				insertInChunk(target, index - sizes.prefixSum(target), elements);
+			} else {
+				insertAsChunks(index, elements);
+			}
+			size += count;
+			++modCount;
+		}
+
+		return count > 0;
+	}
+
+	private void insertInChunk(int chunk, int offset, Object[] elements) {
+		final int chunkSize = sizes.get(chunk);
+		final Object[] target = writable(chunk, chunkSize + elements.length);
+
+		System.arraycopy(target, offset, target, offset + elements.length, chunkSize - offset);
+		System.arraycopy(elements, 0, target, offset, elements.length);
+		sizes.set(chunk, chunkSize + elements.length);
+	}
+
+	private void insertAsChunks(int index, Object[] elements) {
+		//
+		// Split the chunk at the index and insert new chunks filled with the elements between the halves.
+		//
+		final int count = elements.length;
+		final int chunk = splitAt(index);
+		final int newChunkCount = (count + CHUNK_CAPACITY - 1) / CHUNK_CAPACITY;
+		final Object[][] newChunks = new Object[newChunkCount][];
+		final int[] newSizes = new int[newChunkCount];
+
+		for (int i = 0; i < newChunkCount; ++i) {
+			final int start = i * CHUNK_CAPACITY;
+
+			newSizes[i] = Math.min(CHUNK_CAPACITY, count - start);
+			newChunks[i] = Arrays.copyOfRange(elements, start, start + newSizes[i]);
+		}
+
+		insertChunks(chunk, newChunks, newSizes);
+		compact(chunk + newChunkCount);
+		compact(chunk);
+	}
+
+	private void rotate(int start, int firstLength, int secondLength) {
+		//
+		// Swap two adjacent ranges of elements that begin at the start index.
+		//
+		if (firstLength <= secondLength) {
+			final Object[] buffer = new Object[firstLength];
+
+			copyTo(start, buffer);
+			copyWithin(start + firstLength, start, secondLength);
+			copyFrom(start + secondLength, buffer);
+		} else {
+			final Object[] buffer = new Object[secondLength];
+
+			copyTo(start + firstLength, buffer);
+			copyWithin(start, start + secondLength, firstLength);
+			copyFrom(start, buffer);
+		}
+	}
+
+	private void copyWithin(int from, int to, int count) {
+		//
+		// Copy a range of elements to an overlapping range in pieces that don't cross boundaries of chunks.
+		// Elements are copied in the direction of the shift, so no piece overwrites elements that haven't been copied yet.
+		//
+		if (to < from) {
+			for (int copied = 0; copied < count;) {
+				final long source = locate(from + copied);
+				final int sourceChunk = FenwickTree.locationIndex(source);
+				final int sourceOffset = from + copied - FenwickTree.locationStart(source);
+				final long destination = locate(to + copied);
+				final int destinationChunk = FenwickTree.locationIndex(destination);
+				final int destinationOffset = to + copied - FenwickTree.locationStart(destination);
+				final int length = Math.min(count - copied,
+						Math.min(sizes.get(sourceChunk) - sourceOffset, sizes.get(destinationChunk) - destinationOffset));
+
+				System.arraycopy(chunks[sourceChunk], sourceOffset, writable(destinationChunk), destinationOffset, length);
+				copied += length;
+			}
+		} else {
+			for (int remaining = count; remaining > 0;) {
+				final long source = locate(from + remaining - 1);
+				final int sourceChunk = FenwickTree.locationIndex(source);
+				final int sourceEnd = from + remaining - FenwickTree.locationStart(source);
+				final long destination = locate(to + remaining - 1);
+				final int destinationChunk = FenwickTree.locationIndex(destination);
+				final int destinationEnd = to + remaining - FenwickTree.locationStart(destination);
+				final int length = Math.min(remaining, Math.min(sourceEnd, destinationEnd));
+
+				System.arraycopy(chunks[sourceChunk], sourceEnd - length, writable(destinationChunk), destinationEnd - length, length);
+				remaining -= length;
+			}
+		}
+	}
+
+	private void copyTo(int start, Object[] destination) {
+		final long location = destination.length > 0 ? locate(start) : 0;
+		int chunk = FenwickTree.locationIndex(location);
+		int offset = destination.length > 0 ? start - FenwickTree.locationStart(location) : 0;
+		int copied = 0;
+
+		while (copied < destination.length) {
+			final int count = Math.min(destination.length - copied, sizes.get(chunk) - offset);
+
+			System.arraycopy(chunks[chunk], offset, destination, copied, count);
+			copied += count;
+			offset = 0;
+			++chunk;
+		}
+	}
+
+	private void copyFrom(int start, Object[] source) {
+		final long location = source.length > 0 ? locate(start) : 0;
+		int chunk = FenwickTree.locationIndex(location);
+		int offset = source.length > 0 ? start - FenwickTree.locationStart(location) : 0;
+		int copied = 0;
+
+		while (copied < source.length) {
+			final int count = Math.min(source.length - copied, sizes.get(chunk) - offset);
+
+			System.arraycopy(source, copied, writable(chunk), offset, count);
+			copied += count;
+			offset = 0;
+			++chunk;
+		}
+	}
+
+	private int splitAt(int index) {
+		//
+		// Make the index a boundary between chunks; return the index of the chunk that starts at the index.
+		//
+		int chunk = chunkCount;
+
+		if (index < size) {
+			final long location = locate(index);
+			final int offset = index - FenwickTree.locationStart(location);
+
+			chunk = FenwickTree.locationIndex(location);
+
+			if (offset > 0) {
+				splitChunk(chunk++, offset);
+			}
+		}
+
+		return chunk;
+	}
+
+	private void splitChunk(int chunk, int offset) {
+		//
+		// Move elements of the chunk starting at the offset to a new chunk inserted after it.
+		//
+		final int chunkSize = sizes.get(chunk);
+		final Object[] tail = Arrays.copyOfRange(chunks[chunk], offset, chunkSize);
+
+		Arrays.fill(writable(chunk), offset, chunkSize, null);
+		sizes.set(chunk, offset);
+		insertChunks(chunk + 1, new Object[][] { tail }, new int[] { chunkSize - offset });
+	}
+
+	private void insertChunks(int chunk, Object[][] newChunks, int[] newSizes) {
+		final int count = newChunks.length;
+
+		if (chunkCount + count > chunks.length) {
+			chunks = Arrays.copyOf(chunks, Math.max(chunkCount + count, chunks.length + (chunks.length >> 1)));
+			shared = Arrays.copyOf(shared, chunks.length);
+		}
+
+		System.arraycopy(chunks, chunk, chunks, chunk + count, chunkCount - chunk);
+		System.arraycopy(shared, chunk, shared, chunk + count, chunkCount - chunk);
+		System.arraycopy(newChunks, 0, chunks, chunk, count);
+		Arrays.fill(shared, chunk, chunk + count, false);
+		snapshot = null;
+		chunkCount += count;
+		sizes.insert(chunk, newSizes, count);
+	}
+
+	private void removeChunks(int chunk, int count) {
+		if (count > 0) {
+			System.arraycopy(chunks, chunk + count, chunks, chunk, chunkCount - chunk - count);
+			System.arraycopy(shared, chunk + count, shared, chunk, chunkCount - chunk - count);
+			Arrays.fill(chunks, chunkCount - count, chunkCount, null);
+			Arrays.fill(shared, chunkCount - count, chunkCount, false);
+			snapshot = null;
+			chunkCount -= count;
+			sizes.remove(chunk, count);
+		}
+	}
+
+	private void removeFromChunk(int chunk, int offset, int count) {
+		final int chunkSize = sizes.get(chunk);
+		final Object[] elements = writable(chunk);
+
+		System.arraycopy(elements, offset + count, elements, offset, chunkSize - offset - count);
+		Arrays.fill(elements, chunkSize - count, chunkSize, null);
+		sizes.set(chunk, chunkSize - count);
+	}
+
+	private void compact(int chunk) {
+		//
+		// Remove the chunk if it is empty, or merge it with a neighbour if together they are small.
+		//
+		if (chunk >= 0 && chunk < chunkCount) {
+			final int chunkSize = sizes.get(chunk);
+
+			if (chunkSize == 0) {
+				removeChunks(chunk, 1);
+			} else if (chunk + 1 < chunkCount && chunkSize + sizes.get(chunk + 1) <= MERGE_THRESHOLD) {
+				mergeChunks(chunk);
+			} else if (chunk > 0 && sizes.get(chunk - 1) + chunkSize <= MERGE_THRESHOLD) {
+				mergeChunks(chunk - 1);
+			}
+		}
+	}
+
+	private void mergeChunks(int chunk) {
+		//
+		// Append elements of the next chunk to the chunk and remove the next chunk.
+		//
+		final int chunkSize = sizes.get(chunk);
+		final int nextSize = sizes.get(chunk + 1);
+
+		System.arraycopy(chunks[chunk + 1], 0, writable(chunk, chunkSize + nextSize), chunkSize, nextSize);
+		sizes.set(chunk, chunkSize + nextSize);
+		removeChunks(chunk + 1, 1);
+	}
+
+	private Object[] writable(int chunk) {
+		return writable(chunk, 0);
+	}
+
+	private Object[] writable(int chunk, int capacity) {
+		//
+		// Grow the chunk if it cannot hold the capacity, or copy it before changing it if a snapshot refers to it.
+		//
+		final Object[] elements = chunks[chunk];
+
+		if (capacity > elements.length) {
+			chunks[chunk] = Arrays.copyOf(elements, Math.min(CHUNK_CAPACITY, Math.max(capacity, elements.length * 2)));
+			shared[chunk] = false;
+		} else if (shared[chunk]) {
+			chunks[chunk] = elements.clone();
+			shared[chunk] = false;
+		}
+		snapshot = null;
+
+		return chunks[chunk];
+	}
+
+	private long locate(int index) {
+		//
+		// Find the chunk that holds an element at an index lower than the size; a list that fits in one chunk
+		// finds the element without walking the tree, so small lists read elements at the cost of an array.
+		//
+		return chunkCount == 1 ? 0 : sizes.locate(index);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+}
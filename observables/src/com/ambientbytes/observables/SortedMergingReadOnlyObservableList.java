@@ -0,0 +1,518 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Observable list that merges lists of a list set ordered by the same order into one ordered list.
+ * The merged list is built with a k-way merge of the lists, and items added to a list later are inserted
+ * at positions found by binary search, so the list never sorts all items again.
+ * Each list keeps entries of its items in the order of the list, so an item removed from a list
+ * is found in the merged list without comparing items, and reordering a list doesn't change the merged list.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of the list item.
+ */
+final class SortedMergingReadOnlyObservableList<T> implements ILinkedReadOnlyObservableList<T> {
+
+	private final IReadWriteMonitor monitor;
+	private final ListObservers<T> observers;
+	private final IItemsOrder<T> order;
+	private final OrderStatisticTree<Entry> data;
+	private final List<ListInfo> lists;
+	private final Map<IReadOnlyObservableList<T>, ListInfo> listInfos;	// list infos by their lists, compared by identity
+	private final Map<T, ItemObserver> itemObservers;	// observers of mutable items by the items, compared by identity
+	private final IListSet<T> listSet;
+	private final IListSetListener<T> listSetListener;
+
+	//
+	// Item of one of the merged lists in the merged list.
+	//
+	private final class Entry {
+		private final T item;
+		private OrderStatisticTree.Node<Entry> node;	// node of the entry in "data"
+
+		Entry(T item) {
+			this.item = item;
+			this.node = null;
+		}
+	}
+
+	//
+	// Observer of a mutable item that moves entries of the item when the item changes its position in the order.
+	// Source lists report their own changes of order, but a list may keep a mutated item in place
+	// while the item has to move among items of other lists.
+	//
+	private final class ItemObserver implements IObjectMutationObserver {
+		private final List<Entry> entries;
+		private IMutableObject mutable;
+
+		ItemObserver(IMutableObject mutable) {
+			this.entries = new ArrayList<>(1);
+			this.mutable = mutable;
+			this.mutable.addObserver(this);
+		}
+
+		void unadvise() {
+			mutable.removeObserver(this);
+			mutable = null;
+		}
+
+		@Override
+		public void mutated() {
+			if (mutable != null) {
+				onItemMutated(this);
+			}
+		}
+	}
+
+	//
+	// Observer of one of the merged lists that keeps entries of the list's items in the order of the list.
+	//
+	private final class ListInfo implements IListObserver {
+		private final IReadOnlyObservableList<T> list;
+		private final OrderStatisticTree<Entry> entries;
+
+		ListInfo(IReadOnlyObservableList<T> list) {
+			this.list = list;
+			this.entries = new OrderStatisticTree<>();
+			this.list.addObserver(this);
+		}
+
+		void unlink() {
+			list.removeObserver(this);
+		}
+
+		@Override
+		public void added(int startIndex, int count) {
+			insert(this, startIndex, count);
+		}
+
+		@Override
+		public void changing(int startIndex, int count) {
+			//
+			// Changed items may go to other positions in the merged list, so they are removed here
+			// and inserted again when the change has been made.
+			//
+			remove(this, startIndex, count);
+		}
+
+		@Override
+		public void changed(int startIndex, int count) {
+			insert(this, startIndex, count);
+		}
+
+		@Override
+		public void removing(int startIndex, int count) {
+			remove(this, startIndex, count);
+		}
+
+		@Override
+		public void removed(int startIndex, int count) {
+			// Do nothing. Items have been removed in removing.
+		}
+
+		@Override
+		public void moved(int oldStartIndex, int newStartIndex, int count) {
+			final List<Entry> moved = new ArrayList<>(count);
+
+			for (int i = 0; i < count; ++i) {
+				moved.add(entries.get(oldStartIndex + i));
+			}
+			entries.remove(oldStartIndex, count);
+			for (int i = 0; i < count; ++i) {
+				entries.add(newStartIndex + i, moved.get(i));
+			}
+		}
+
+		@Override
+		public void permuted(int[] newPositions) {
+			final List<Entry> permuted = new ArrayList<>(Collections.<Entry>nCopies(newPositions.length, null));
+			int i = 0;
+
+			for (Entry entry : entries) {
+				permuted.set(newPositions[i++], entry);
+			}
+			entries.reset(permuted, null);
+		}
+
+		@Override
+		public void resetting() {
+			observers.resetting();
+		}
+
+		@Override
+		public void reset() {
+			reload(this);
+			observers.reset();
+		}
+	}
+
+	//
+	// Position of the k-way merge in one of the merged lists.
+	//
+	private final static class Cursor<T> {
+		private final int listIndex;
+		private final IReadOnlyObservableList<T> list;
+		private int index;
+
+		Cursor(int listIndex, IReadOnlyObservableList<T> list) {
+			this.listIndex = listIndex;
+			this.list = list;
+			this.index = 0;
+		}
+
+		T item() {
+			return list.getAt(index);
+		}
+	}
+
+	SortedMergingReadOnlyObservableList(IListSet<T> listSet, IItemsOrder<T> order, IReadWriteMonitor monitor) {
+		this.monitor = monitor;
+		this.observers = new ListObservers<>(monitor);
+		this.order = order;
+		this.data = new OrderStatisticTree<>();
+		this.lists = new ArrayList<>();
+		this.listInfos = new IdentityHashMap<>();
+		this.itemObservers = new IdentityHashMap<>();
+		this.listSet = listSet;
+
+		for (IReadOnlyObservableList<T> list : listSet) {
+			link(list);
+		}
+		build();
+		this.listSetListener = new IListSetListener<T>() {
+
+			@Override
+			public void added(IListSet<T> source, IReadOnlyObservableList<T> list) {
+				add(list);
+			}
+
+			@Override
+			public void removed(IListSet<T> source, IReadOnlyObservableList<T> list) {
+				remove(list);
+			}
+
+		};
+		this.listSet.addListener(this.listSetListener);
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index).item;
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public <R> R read(IListReader<T, R> reader) {
+		return LockTool.read(monitor, this, reader);
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		return ArraySnapshot.copyOf(this, monitor);
+	}
+
+	@Override
+	public void addObserver(IListObserver observer) {
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(IListObserver observer) {
+		observers.remove(observer);
+	}
+
+	@Override
+	public void unlink() {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			listSet.removeListener(listSetListener);
+			for (ListInfo list : lists) {
+				list.unlink();
+			}
+			for (ItemObserver itemObserver : itemObservers.values()) {
+				itemObserver.unadvise();
+			}
+			lists.clear();
+			listInfos.clear();
+			itemObservers.clear();
+		} finally {
+			res.release();
+		}
+	}
+
+	private ListInfo link(IReadOnlyObservableList<T> list) {
+		if (listInfos.containsKey(list)) {
+			throw new IllegalArgumentException("duplicate list in the collection");
+		}
+
+		final ListInfo info = new ListInfo(list);
+
+		lists.add(info);
+		listInfos.put(list, info);
+
+		return info;
+	}
+
+	private void add(IReadOnlyObservableList<T> list) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			final ListInfo info = link(list);
+
+			insert(info, 0, list.getSize());
+		} finally {
+			res.release();
+		}
+	}
+
+	private void remove(IReadOnlyObservableList<T> list) {
+		IResource res = monitor.acquireWrite();
+
+		try {
+			final ListInfo info = listInfos.remove(list);
+
+			if (info != null) {
+				info.unlink();
+				remove(info, 0, info.entries.size());
+				lists.remove(info);
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	private void build() {
+		//
+		// Merge all lists with a heap of cursors; equal items are taken from lists in the order
+		// in which the lists have been added.
+		//
+		final PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(lists.size(), 1), new Comparator<Cursor<T>>() {
+			@Override
+			public int compare(Cursor<T> o1, Cursor<T> o2) {
+				final T item1 = o1.item();
+				final T item2 = o2.item();
+
+				if (order.isLess(item1, item2)) {
+					return -1;
+				} else if (order.isLess(item2, item1)) {
+					return 1;
+				}
+
+				return Integer.compare(o1.listIndex, o2.listIndex);
+			}
+		});
+		final List<Entry> merged = new ArrayList<>();
+		final List<List<Entry>> listEntries = new ArrayList<>(lists.size());
+
+		for (ListInfo info : lists) {
+			listEntries.add(new ArrayList<Entry>(info.list.getSize()));
+			if (info.list.getSize() > 0) {
+				heap.add(new Cursor<>(listEntries.size() - 1, info.list));
+			}
+		}
+
+		while (!heap.isEmpty()) {
+			final Cursor<T> cursor = heap.poll();
+			final Entry entry = register(new Entry(cursor.item()));
+
+			merged.add(entry);
+			listEntries.get(cursor.listIndex).add(entry);
+			if (++cursor.index < cursor.list.getSize()) {
+				heap.add(cursor);
+			}
+		}
+
+		final OrderStatisticTree.Node<Entry>[] nodes = OrderStatisticTree.newNodes(merged.size());
+
+		data.reset(merged, nodes);
+		for (int i = 0; i < nodes.length; ++i) {
+			merged.get(i).node = nodes[i];
+		}
+		for (int i = 0; i < lists.size(); ++i) {
+			lists.get(i).entries.reset(listEntries.get(i), null);
+		}
+	}
+
+	private void reload(ListInfo info) {
+		//
+		// Replace items of one list without reporting changes; other lists may have changed and
+		// not reported their changes yet, so they must stay as they are.
+		//
+		for (Entry entry : info.entries) {
+			data.remove(data.indexOf(entry.node));
+			unregister(entry);
+		}
+		info.entries.clear();
+
+		for (int i = 0; i < info.list.getSize(); ++i) {
+			final Entry entry = register(new Entry(info.list.getAt(i)));
+
+			info.entries.add(i, entry);
+			entry.node = data.add(position(entry.item), entry);
+		}
+	}
+
+	private void insert(ListInfo info, int startIndex, int count) {
+		//
+		// Insert all items, then report ranges of their final positions in ascending order,
+		// so every reported range follows the items that are already in place.
+		//
+		final int[] positions = new int[count];
+
+		for (int i = 0; i < count; ++i) {
+			final Entry entry = register(new Entry(info.list.getAt(startIndex + i)));
+
+			info.entries.add(startIndex + i, entry);
+			entry.node = data.add(position(entry.item), entry);
+		}
+		for (int i = 0; i < count; ++i) {
+			positions[i] = data.indexOf(info.entries.get(startIndex + i).node);
+		}
+
+		for (RangeDetector.Range range : ranges(positions)) {
+			observers.added(range.start(), range.length());
+		}
+	}
+
+	private void remove(ListInfo info, int startIndex, int count) {
+		//
+		// Remove ranges of positions of the removed items from the last one,
+		// so reported positions of the ranges that remain are not shifted.
+		//
+		final int[] positions = new int[count];
+
+		for (int i = 0; i < count; ++i) {
+			final Entry entry = info.entries.get(startIndex + i);
+
+			positions[i] = data.indexOf(entry.node);
+			unregister(entry);
+		}
+		if (count > 0) {
+			info.entries.remove(startIndex, count);
+		}
+
+		final List<RangeDetector.Range> ranges = ranges(positions);
+
+		for (int i = ranges.size() - 1; i >= 0; --i) {
+			final RangeDetector.Range range = ranges.get(i);
+
+			observers.removing(range.start(), range.length());
+			data.remove(range.start(), range.length());
+			observers.removed(range.start(), range.length());
+		}
+	}
+
+	private void onItemMutated(ItemObserver itemObserver) {
+		//
+		// Item mutations must be processed under a write lock, like changes of the source lists.
+		//
+		IResource lock = monitor.acquireWrite();
+
+		try {
+			if (itemObserver.entries.size() == 1) {
+				final Entry entry = itemObserver.entries.get(0);
+				final int oldIndex = data.indexOf(entry.node);
+
+				data.remove(oldIndex);
+
+				final int newIndex = position(entry.item);
+
+				entry.node = data.add(newIndex, entry);
+				if (oldIndex != newIndex) {
+					observers.moved(oldIndex, newIndex, 1);
+				}
+			} else {
+				//
+				// The item is in more than one list. Take all its entries out before inserting them,
+				// because a search among items that include the mutated item at old positions may fail.
+				//
+				for (Entry entry : itemObserver.entries) {
+					final int index = data.indexOf(entry.node);
+
+					observers.removing(index, 1);
+					data.remove(index);
+					observers.removed(index, 1);
+				}
+				for (Entry entry : itemObserver.entries) {
+					final int index = position(entry.item);
+
+					entry.node = data.add(index, entry);
+					observers.added(index, 1);
+				}
+			}
+		} finally {
+			lock.release();
+		}
+	}
+
+	private Entry register(Entry entry) {
+		if (entry.item instanceof IMutableObject) {
+			ItemObserver itemObserver = itemObservers.get(entry.item);
+
+			if (itemObserver == null) {
+				itemObserver = new ItemObserver((IMutableObject) entry.item);
+				itemObservers.put(entry.item, itemObserver);
+			}
+			itemObserver.entries.add(entry);
+		}
+
+		return entry;
+	}
+
+	private void unregister(Entry entry) {
+		final ItemObserver itemObserver = itemObservers.get(entry.item);
+
+		if (itemObserver != null) {
+			itemObserver.entries.remove(entry);
+			if (itemObserver.entries.isEmpty()) {
+				itemObserver.unadvise();
+				itemObservers.remove(entry.item);
+			}
+		}
+	}
+
+	private int position(final T item) {
+		//
+		// Find the position after all items that are not greater than the item.
+		//
+		return data.search(new OrderStatisticTree.ISearch<Entry>() {
+			@Override
+			public boolean isBefore(Entry element) {
+				return !order.isLess(item, element.item);
+			}
+		});
+	}
+
+	private static List<RangeDetector.Range> ranges(int[] positions) {
+		final List<RangeDetector.Range> ranges = new ArrayList<>();
+		final RangeDetector rd = new RangeDetector();
+		RangeDetector.Range range;
+
+		Arrays.sort(positions);
+		for (int position : positions) {
+			range = rd.addIndex(position);
+			if (range != null) {
+				ranges.add(range);
+			}
+		}
+		range = rd.finish();
+		if (range != null) {
+			ranges.add(range);
+		}
+
+		return ranges;
+	}
+}
@@ -0,0 +1,511 @@
+package com.ambientbytes.observables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of IReadOnlyObservableList that filters items of another observable list
+ * and keeps the items that pass through the filter in the same order as in the source list.
+ * Containers of all source items are kept in an order-statistic tree in the source order with weight 1
+ * for visible items and 0 for filtered out ones, so a source index is translated into an index
+ * in the filtered list, and source items are added, removed or moved, in O(log n) per change,
+ * and each source change is reported as precise ranges of filtered items.
+ * @author Pavel Karpenko
+ *
+ * @param <T> type of the list item.
+ */
+final class SourceOrderFilteringReadOnlyObservableList<T> extends LinkedReadOnlyObservableList<T> {
+
+	private final OrderStatisticTree<ItemContainer> all;	// containers of all source items in the source order
+	private final SegmentedList<ItemContainer> data;		// containers of visible items in the source order
+	private final IObservableReference<IItemFilter<T>> filterRef;
+	private final IReferenceListener<IItemFilter<T>> filterListener;
+
+	private final class ItemContainer implements IObjectMutationObserver {
+
+		private final T item;
+		private IMutableObject mutable;
+		private OrderStatisticTree.Node<ItemContainer> node;	// node of the container in "all"
+		private boolean visible;
+
+		public ItemContainer(T item, boolean visible) {
+			this.item = item;
+			this.visible = visible;
+			this.node = null;
+
+			if (item instanceof IMutableObject) {
+				this.mutable = (IMutableObject) item;
+				this.mutable.addObserver(this);
+			} else {
+				this.mutable = null;
+			}
+		}
+
+		public T item() {
+			return item;
+		}
+
+		public void unadvise() {
+			if (mutable != null) {
+				mutable.removeObserver(this);
+				mutable = null;
+			}
+		}
+
+		@Override
+		public final void mutated() {
+			//
+			// The item may report the mutation to a snapshot of its observers that includes containers
+			// unadvised by earlier observers; such containers are no longer in the list.
+			//
+			if (mutable != null) {
+				onItemMutated(this);
+			}
+		}
+	}
+
+	public SourceOrderFilteringReadOnlyObservableList(
+			IReadOnlyObservableList<T> source,
+			IObservableReference<IItemFilter<T>> filter,
+			IReadWriteMonitor monitor) {
+		super(source, monitor);
+
+		this.all = new OrderStatisticTree<>();
+		this.data = new SegmentedList<>();
+		this.filterListener = new IReferenceListener<IItemFilter<T>>() {
+			@Override
+			public void changed(IObservableReference<IItemFilter<T>> sender, IItemFilter<T> oldValue) {
+				setFilter(sender.getValue());
+			}
+		};
+		this.filterRef = filter;
+		this.filterRef.addListener(filterListener);
+
+		load(source);
+	}
+
+	@Override
+	public T getAt(int index) {
+		return data.get(index).item();
+	}
+
+	@Override
+	public int getSize() {
+		return data.size();
+	}
+
+	@Override
+	public IListSnapshot<T> snapshot() {
+		//
+		// Share chunks of containers with the snapshot instead of copying items; containers never change their items.
+		//
+		IResource res = monitor().acquireRead();
+
+		try {
+			final IListSnapshot<ItemContainer> containers = data.snapshot();
+
+			return new IListSnapshot<T>() {
+				@Override
+				public T getAt(int index) {
+					return containers.getAt(index).item();
+				}
+
+				@Override
+				public int getSize() {
+					return containers.getSize();
+				}
+			};
+		} finally {
+			res.release();
+		}
+	}
+
+	@Override
+	protected void onUnlinked() {
+		filterRef.removeListener(filterListener);
+		unadviseAll();
+	}
+
+	@Override
+	protected void onAdded(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final IItemFilter<T> filter = filterRef.getValue();
+		final List<ItemContainer> added = new ArrayList<>(count);
+		final List<ItemContainer> visibleItems = new ArrayList<>(count);
+		final int[] flags = new int[count];
+
+		for (int i = 0; i < count; ++i) {
+			final T item = source.getAt(startIndex + i);
+			final ItemContainer container = new ItemContainer(item, filter.isIn(item));
+
+			added.add(container);
+
+			if (container.visible) {
+				flags[i] = 1;
+				visibleItems.add(container);
+			}
+		}
+
+		final int filteredIndex = all.weightBefore(startIndex);
+
+		insert(startIndex, added, flags);
+
+		if (!visibleItems.isEmpty()) {
+			data.addAll(filteredIndex, visibleItems);
+			notifyAdded(filteredIndex, visibleItems.size());
+		}
+	}
+
+	@Override
+	protected void onChanging(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Changed items are replaced in onChanged.
+	}
+
+	@Override
+	protected void onChanged(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final IItemFilter<T> filter = filterRef.getValue();
+		final int filteredIndex = all.weightBefore(startIndex);
+		final int oldVisibleCount = all.weightBefore(startIndex + count) - filteredIndex;
+		final List<ItemContainer> changed = new ArrayList<>(count);
+		final List<ItemContainer> visibleItems = new ArrayList<>(count);
+		final int[] flags = new int[count];
+
+		unadvise(startIndex, count);
+		all.remove(startIndex, count);
+
+		for (int i = 0; i < count; ++i) {
+			final T item = source.getAt(startIndex + i);
+			final ItemContainer container = new ItemContainer(item, filter.isIn(item));
+
+			changed.add(container);
+
+			if (container.visible) {
+				flags[i] = 1;
+				visibleItems.add(container);
+			}
+		}
+
+		insert(startIndex, changed, flags);
+
+		//
+		// Report the leading visible items as changed and the difference as added or removed.
+		//
+		final int newVisibleCount = visibleItems.size();
+		final int changedCount = Math.min(oldVisibleCount, newVisibleCount);
+
+		if (changedCount > 0) {
+			notifyChanging(filteredIndex, changedCount);
+			for (int i = 0; i < changedCount; ++i) {
+				data.set(filteredIndex + i, visibleItems.get(i));
+			}
+			notifyChanged(filteredIndex, changedCount);
+		}
+
+		if (oldVisibleCount > newVisibleCount) {
+			final int removedCount = oldVisibleCount - newVisibleCount;
+			notifyRemoving(filteredIndex + changedCount, removedCount);
+			data.remove(filteredIndex + changedCount, removedCount);
+			notifyRemoved(filteredIndex + changedCount, removedCount);
+		} else if (newVisibleCount > oldVisibleCount) {
+			data.addAll(filteredIndex + changedCount, visibleItems.subList(changedCount, newVisibleCount));
+			notifyAdded(filteredIndex + changedCount, newVisibleCount - oldVisibleCount);
+		}
+	}
+
+	@Override
+	protected void onRemoving(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		final int filteredIndex = all.weightBefore(startIndex);
+		final int visibleCount = all.weightBefore(startIndex + count) - filteredIndex;
+
+		unadvise(startIndex, count);
+		all.remove(startIndex, count);
+
+		if (visibleCount > 0) {
+			notifyRemoving(filteredIndex, visibleCount);
+			data.remove(filteredIndex, visibleCount);
+			notifyRemoved(filteredIndex, visibleCount);
+		}
+	}
+
+	@Override
+	protected void onRemoved(IReadOnlyObservableList<T> source, int startIndex, int count) {
+		// Do nothing. Items have been removed in onRemoving.
+	}
+
+	@Override
+	protected void onMoved(IReadOnlyObservableList<T> source, int oldStartIndex, int newStartIndex, int count) {
+		final int oldFilteredIndex = all.weightBefore(oldStartIndex);
+		final int visibleCount = all.weightBefore(oldStartIndex + count) - oldFilteredIndex;
+
+		all.move(oldStartIndex, newStartIndex, count);
+
+		final int newFilteredIndex = all.weightBefore(newStartIndex);
+
+		if (visibleCount > 0 && oldFilteredIndex != newFilteredIndex) {
+			data.move(oldFilteredIndex, newFilteredIndex, visibleCount);
+			notifyMoved(oldFilteredIndex, newFilteredIndex, visibleCount);
+		}
+	}
+
+	@Override
+	protected void onPermuted(IReadOnlyObservableList<T> source, int[] newPositions) {
+		//
+		// Rearrange all items, then calculate new positions of visible items from their
+		// old and new positions in the filtered list.
+		//
+		final int size = all.size();
+		final int[] oldFilteredIndexes = new int[size];	// old filtered indexes of items at their new source positions
+		final int[] filteredPositions = new int[data.size()];
+		final int[] flags = new int[size];
+		final List<ItemContainer> permuted = new ArrayList<>(Collections.<ItemContainer>nCopies(size, null));
+		int filteredIndex = 0;
+		int i = 0;
+		boolean rearranged = false;
+
+		for (ItemContainer container : all) {
+			if (container.visible) {
+				oldFilteredIndexes[newPositions[i]] = filteredIndex++;
+			}
+			permuted.set(newPositions[i++], container);
+		}
+
+		data.clear();
+		filteredIndex = 0;
+
+		for (i = 0; i < size; ++i) {
+			final ItemContainer container = permuted.get(i);
+
+			if (container.visible) {
+				final int oldFilteredIndex = oldFilteredIndexes[i];
+
+				rearranged |= oldFilteredIndex != filteredIndex;
+				filteredPositions[oldFilteredIndex] = filteredIndex++;
+				flags[i] = 1;
+				data.add(container);
+			}
+		}
+
+		reset(permuted, flags);
+
+		if (rearranged) {
+			notifyPermuted(filteredPositions);
+		}
+	}
+
+	@Override
+	protected void onResetting(IReadOnlyObservableList<T> source) {
+		notifyResetting();
+	}
+
+	@Override
+	protected void onReset(IReadOnlyObservableList<T> source) {
+		unadviseAll();
+		all.clear();
+		data.clear();
+		load(source);
+		notifyReset();
+	}
+
+	private void setFilter(IItemFilter<T> filter) {
+		//
+		// Evaluate the new filter for all items and report only items that appeared or disappeared.
+		// If more items flip than stay visible, a reset is cheaper for the downstream lists.
+		//
+		final List<ItemContainer> containers = containers();
+		final int size = containers.size();
+		final int[] flags = new int[size];
+		int keptCount = 0;
+		int flippedCount = 0;
+
+		for (int i = 0; i < size; ++i) {
+			final ItemContainer container = containers.get(i);
+			final boolean visible = filter.isIn(container.item());
+
+			if (visible) {
+				flags[i] = 1;
+			}
+
+			if (visible != container.visible) {
+				++flippedCount;
+			} else if (visible) {
+				++keptCount;
+			}
+		}
+
+		if (flippedCount > keptCount) {
+			resetFilter(containers, flags);
+		} else if (flippedCount > 0) {
+			applyFilter(containers, flags);
+		}
+	}
+
+	private void resetFilter(List<ItemContainer> containers, int[] flags) {
+		final int size = containers.size();
+
+		notifyResetting();
+		data.clear();
+
+		for (int i = 0; i < size; ++i) {
+			final ItemContainer container = containers.get(i);
+
+			container.visible = flags[i] != 0;
+
+			if (container.visible) {
+				data.add(container);
+			}
+		}
+
+		reset(containers, flags);
+		notifyReset();
+	}
+
+	private void applyFilter(List<ItemContainer> containers, int[] flags) {
+		//
+		// Walk the source list and report runs of disappearing and appearing items.
+		// Items of a run are adjacent in the filtered list because items that stay filtered out
+		// between them do not occupy positions in the filtered list.
+		//
+		final int size = containers.size();
+		final List<ItemContainer> appearing = new ArrayList<>();
+		int filteredIndex = 0;
+		int removedCount = 0;
+
+		for (int i = 0; i < size; ++i) {
+			final ItemContainer container = containers.get(i);
+			final boolean visible = flags[i] != 0;
+
+			if (visible && !container.visible) {
+				removedCount = removeRun(filteredIndex, removedCount);
+				appearing.add(container);
+			} else if (!visible && container.visible) {
+				filteredIndex = addRun(filteredIndex, appearing);
+				++removedCount;
+			} else if (visible) {
+				removedCount = removeRun(filteredIndex, removedCount);
+				filteredIndex = addRun(filteredIndex, appearing) + 1;
+			}
+
+			container.visible = visible;
+		}
+
+		removeRun(filteredIndex, removedCount);
+		addRun(filteredIndex, appearing);
+
+		reset(containers, flags);
+	}
+
+	private int removeRun(int filteredIndex, int count) {
+		if (count > 0) {
+			notifyRemoving(filteredIndex, count);
+			data.remove(filteredIndex, count);
+			notifyRemoved(filteredIndex, count);
+		}
+
+		return 0;
+	}
+
+	private int addRun(int filteredIndex, List<ItemContainer> run) {
+		final int count = run.size();
+
+		if (count > 0) {
+			data.addAll(filteredIndex, run);
+			run.clear();
+			notifyAdded(filteredIndex, count);
+		}
+
+		return filteredIndex + count;
+	}
+
+	private void onItemMutated(ItemContainer container) {
+		//
+		// Item mutations must be processed under a write lock because they
+		// may change the collection that is updated by event handlers that are supposed
+		// to be synchronized by the same lock (all collections in the pipeline are supposed
+		// to share a single lock).
+		//
+		IResource res = monitor().acquireWrite();
+
+		try {
+			final boolean visible = filterRef.getValue().isIn(container.item());
+
+			if (visible != container.visible) {
+				final int filteredIndex = all.weightBefore(container.node);
+
+				container.visible = visible;
+				all.setWeight(container.node, visible ? 1 : 0);
+
+				if (visible) {
+					data.add(filteredIndex, container);
+					notifyAdded(filteredIndex, 1);
+				} else {
+					notifyRemoving(filteredIndex, 1);
+					data.remove(filteredIndex);
+					notifyRemoved(filteredIndex, 1);
+				}
+			}
+		} finally {
+			res.release();
+		}
+	}
+
+	private void load(IReadOnlyObservableList<T> source) {
+		final IItemFilter<T> filter = filterRef.getValue();
+		final int size = source.getSize();
+		final List<ItemContainer> loaded = new ArrayList<>(size);
+		final int[] flags = new int[size];
+
+		for (int i = 0; i < size; ++i) {
+			final T item = source.getAt(i);
+			final ItemContainer container = new ItemContainer(item, filter.isIn(item));
+
+			loaded.add(container);
+
+			if (container.visible) {
+				flags[i] = 1;
+				data.add(container);
+			}
+		}
+
+		reset(loaded, flags);
+	}
+
+	private void insert(int startIndex, List<ItemContainer> containers, int[] flags) {
+		final OrderStatisticTree.Node<ItemContainer>[] nodes = OrderStatisticTree.newNodes(containers.size());
+
+		all.addAll(startIndex, containers, flags, nodes);
+		for (OrderStatisticTree.Node<ItemContainer> node : nodes) {
+			node.element().node = node;
+		}
+	}
+
+	private void reset(List<ItemContainer> containers, int[] flags) {
+		final OrderStatisticTree.Node<ItemContainer>[] nodes = OrderStatisticTree.newNodes(containers.size());
+
+		all.reset(containers, flags, nodes);
+		for (OrderStatisticTree.Node<ItemContainer> node : nodes) {
+			node.element().node = node;
+		}
+	}
+
+	private List<ItemContainer> containers() {
+		final List<ItemContainer> containers = new ArrayList<>(all.size());
+
+		for (ItemContainer container : all) {
+			containers.add(container);
+		}
+
+		return containers;
+	}
+
+	private void unadvise(int startIndex, int count) {
+		for (int i = startIndex; i < startIndex + count; ++i) {
+			all.get(i).unadvise();
+		}
+	}
+
+	private void unadviseAll() {
+		for (ItemContainer container : all) {
+			container.unadvise();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package com.ambientbytes.observables;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Implementation of IReadWriteMonitor that uses Java's StampedLock to acquire and release locks
+ * and supports optimistic reads of the size and single items of lists that do not block writers.
+ * StampedLock is not reentrant, so the monitor tracks locks held by each thread: nested acquisitions
+ * of a held lock and read acquisitions made while holding the write lock do not lock again.
+ * Acquiring the write lock while holding only the read lock is not supported and throws an exception.
+ * Nested resources must be released in the reverse order of acquisition.
+ * @author Pavel Karpenko
+ */
+
+final class StampedReadWriteMonitor implements IReadWriteMonitor {
+
+    private final StampedLock lock;
+    private final ThreadLocal<Holds> holds;
+
+    //
+    // Locks held by a single thread. Accessed only by its thread so it needs no synchronization.
+    //
+    private static final class Holds {
+        private int reads;
+        private int writes;
+        private long readStamp;
+        private long writeStamp;
+    }
+
+    private final class StampResource implements IResource {
+        private final Holds holds;
+        private final boolean write;
+        private boolean released;
+
+        StampResource(Holds holds, boolean write) {
+            this.holds = holds;
+            this.write = write;
+            this.released = false;
+        }
+
+        @Override
+        public void release() {
+            if (!released) {
+                released = true;
+
+                if (write) {
+                    releaseWrite(holds);
+                } else {
+                    releaseRead(holds);
+                }
+            }
+        }
+    }
+
+    //
+    // Thrown by OptimisticView to abandon an optimistic read; it carries no stack trace, so it is shared.
+    //
+    private static final class AbandonedRead extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        AbandonedRead() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final AbandonedRead ABANDONED_READ = new AbandonedRead();
+
+    //
+    // View of a list given to optimistic readers that lets them read the size of the list and one item.
+    //
+    private static final class OptimisticView<T> implements IReadOnlyObservableList<T> {
+        private final IReadOnlyObservableList<T> list;
+        private boolean itemRead;
+
+        OptimisticView(IReadOnlyObservableList<T> list) {
+            this.list = list;
+            this.itemRead = false;
+        }
+
+        @Override
+        public T getAt(int index) {
+            if (itemRead) {
+                throw ABANDONED_READ;
+            }
+            itemRead = true;
+
+            return list.getAt(index);
+        }
+
+        @Override
+        public int getSize() {
+            return list.getSize();
+        }
+
+        @Override
+        public <R> R read(IListReader<T, R> reader) {
+            throw ABANDONED_READ;
+        }
+
+        @Override
+        public IListSnapshot<T> snapshot() {
+            throw ABANDONED_READ;
+        }
+
+        @Override
+        public void addObserver(IListObserver observer) {
+            throw ABANDONED_READ;
+        }
+
+        @Override
+        public void removeObserver(IListObserver observer) {
+            throw ABANDONED_READ;
+        }
+    }
+
+    StampedReadWriteMonitor() {
+        this.lock = new StampedLock();
+        this.holds = new ThreadLocal<Holds>() {
+            @Override
+            protected Holds initialValue() {
+                return new Holds();
+            }
+        };
+    }
+
+    @Override
+    public IResource acquireRead() {
+        final Holds h = holds.get();
+
+        if (h.reads == 0 && h.writes == 0) {
+            h.readStamp = lock.readLock();
+        }
+        h.reads++;
+
+        return new StampResource(h, false);
+    }
+
+    @Override
+    public IResource acquireWrite() {
+        final Holds h = holds.get();
+
+        if (h.writes == 0) {
+            if (h.reads != 0) {
+                throw new IllegalStateException("Cannot acquire the write lock while holding the read lock");
+            }
+            h.writeStamp = lock.writeLock();
+        }
+        h.writes++;
+
+        return new StampResource(h, true);
+    }
+
+    /**
+     * Read a list that keeps its items in plain storage optimistically without locking the monitor,
+     * and validate that no writer has acquired the monitor while reading.
+     * Only readers that read the size of the list and at most one item run optimistically, because only such reads
+     * are bounded while a writer may be changing the storage; the optimistic run of any other reader is abandoned
+     * when it makes another call to the list. If the reader is abandoned or validation fails,
+     * the list is read again under the read lock.
+     * @param list list to read; getSize() and getAt() of the list must only read fields and arrays of the list.
+     * @param reader reader of the list.
+     * @return result returned by the reader.
+     */
+    <T, R> R read(IReadOnlyObservableList<T> list, IListReader<T, R> reader) {
+        final long stamp = lock.tryOptimisticRead();
+        R result = null;
+        boolean valid = false;
+
+        if (stamp != 0) {
+            try {
+                result = reader.read(new OptimisticView<T>(list));
+                valid = lock.validate(stamp);
+            } catch (AbandonedRead e) {
+                valid = false;
+            } catch (RuntimeException | Error e) {
+                //
+                // The reader may have failed because a writer was changing the list concurrently.
+                // Only report the failure if the list hasn't been changed.
+                //
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+
+        if (!valid) {
+            final IResource res = acquireRead();
+
+            try {
+                result = reader.read(list);
+            } finally {
+                res.release();
+            }
+        }
+
+        return result;
+    }
+
+    private void releaseRead(Holds h) {
+        if (--h.reads == 0 && h.readStamp != 0) {
+            final long stamp = h.readStamp;
+            h.readStamp = 0;
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void releaseWrite(Holds h) {
+        if (--h.writes == 0) {
+            final long stamp = h.writeStamp;
+            h.writeStamp = 0;
+            lock.unlockWrite(stamp);
+        }
+    }
+}
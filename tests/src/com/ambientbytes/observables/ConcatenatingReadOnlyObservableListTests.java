@@ -0,0 +1,169 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ConcatenatingReadOnlyObservableListTests {
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private MutableListSet<Integer> sources;
+	private ListMutator<Integer> mutator1;
+	private ListMutator<Integer> mutator2;
+	private IReadOnlyObservableList<Integer> source1;
+	private IReadOnlyObservableList<Integer> source2;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		sources = new MutableListSet<Integer>(monitor);
+		mutator1 = new ListMutator<>(monitor);
+		mutator2 = new ListMutator<>(monitor);
+		source1 = ListBuilder.<Integer>create(monitor).mutable(mutator1).build();
+		source2 = ListBuilder.<Integer>create(monitor).mutable(mutator2).build();
+		mutator1.add(0, Arrays.asList(1, 2, 3));
+		mutator2.add(0, Arrays.asList(4, 5));
+	}
+
+	@Test
+	public void newListCorrectSetup() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+
+		assertEquals(0, col.getSize());
+	}
+
+	@Test
+	public void addListsReadsSources() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+
+		sources.add(source1);
+		sources.add(source2);
+
+		assertEquals(5, col.getSize());
+		for (int i = 0; i < 3; ++i) {
+			assertSame(source1.getAt(i), col.getAt(i));
+		}
+		for (int i = 0; i < 2; ++i) {
+			assertSame(source2.getAt(i), col.getAt(3 + i));
+		}
+	}
+
+	@Test
+	public void addListNotifies() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		col.addObserver(observer);
+
+		sources.add(source2);
+
+		verify(observer, times(1)).added(3, 2);
+	}
+
+	@Test
+	public void removeListShiftsNextList() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(source2);
+		col.addObserver(observer);
+
+		sources.remove(source1);
+
+		assertEquals(2, col.getSize());
+		assertEquals(Integer.valueOf(4), col.getAt(0));
+		assertEquals(Integer.valueOf(5), col.getAt(1));
+		verify(observer, times(1)).removing(0, 3);
+		verify(observer, times(1)).removed(0, 3);
+	}
+
+	@Test
+	public void addToSourceNotifiesWithOffset() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(source2);
+		col.addObserver(observer);
+
+		mutator2.add(0, 10);
+
+		assertEquals(6, col.getSize());
+		assertEquals(Integer.valueOf(10), col.getAt(3));
+		verify(observer, times(1)).added(3, 1);
+	}
+
+	@Test
+	public void removeFromSourceShiftsNextList() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(source2);
+		col.addObserver(observer);
+
+		mutator1.remove(1, 2);
+
+		assertEquals(3, col.getSize());
+		assertEquals(Integer.valueOf(1), col.getAt(0));
+		assertEquals(Integer.valueOf(4), col.getAt(1));
+		verify(observer, times(1)).removing(1, 2);
+		verify(observer, times(1)).removed(1, 2);
+	}
+
+	@Test
+	public void moveInSourceNotifiesWithOffset() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(source2);
+		col.addObserver(observer);
+
+		mutator2.move(0, 1, 1);
+
+		assertEquals(Integer.valueOf(5), col.getAt(3));
+		assertEquals(Integer.valueOf(4), col.getAt(4));
+		verify(observer, times(1)).moved(3, 4, 1);
+	}
+
+	@Test
+	public void emptySourceSkipped() {
+		final ListMutator<Integer> mutator3 = new ListMutator<>(monitor);
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(ListBuilder.<Integer>create(monitor).mutable(mutator3).build());
+		sources.add(source2);
+
+		assertEquals(5, col.getSize());
+		assertEquals(Integer.valueOf(3), col.getAt(2));
+		assertEquals(Integer.valueOf(4), col.getAt(3));
+	}
+
+	@Test
+	public void resetSourceUpdatesSize() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+		sources.add(source2);
+		col.addObserver(observer);
+
+		mutator1.reset(Arrays.asList(7));
+
+		assertEquals(3, col.getSize());
+		assertEquals(Integer.valueOf(7), col.getAt(0));
+		assertEquals(Integer.valueOf(4), col.getAt(1));
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getAtPastEndThrows() {
+		ConcatenatingReadOnlyObservableList<Integer> col = new ConcatenatingReadOnlyObservableList<>(sources, monitor);
+		sources.add(source1);
+
+		col.getAt(3);
+	}
+}
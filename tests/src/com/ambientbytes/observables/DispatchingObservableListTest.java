@@ -15,6 +15,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 public class DispatchingObservableListTest {
@@ -163,6 +164,38 @@ public class DispatchingObservableListTest {
 		assertListsEqual(source, dol);
 	}
 	
+	@Test
+	public void permuteInSourceDispatchesPermutation() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		for (int i = 0; i < 5; ++i) {
+			mutator.add(Integer.valueOf(i));
+		}
+		MutableObservableReference<IItemsOrder<Integer>> order = new MutableObservableReference<IItemsOrder<Integer>>(new IItemsOrder<Integer>() {
+			@Override
+			public boolean isLess(Integer lesser, Integer greater) {
+				return lesser.intValue() < greater.intValue();
+			}
+		}, monitor);
+		OrderingReadOnlyObservableList<Integer> ordered = new OrderingReadOnlyObservableList<>(source, order, monitor);
+		DispatchingObservableList<Integer> dol = new DispatchingObservableList<Integer>(ordered, testDispatcher, monitor);
+		testDispatcher.executeAll();
+		dol.addObserver(observer);
+
+		order.setValue(new IItemsOrder<Integer>() {
+			@Override
+			public boolean isLess(Integer lesser, Integer greater) {
+				return greater.intValue() < lesser.intValue();
+			}
+		});
+
+		assertEquals(0, dol.getAt(0).intValue());
+		assertEquals(1, testDispatcher.executeAll());
+		verify(observer, times(1)).permuted(aryEq(new int[] { 4, 3, 2, 1, 0 }));
+		verify(observer, never()).reset();
+		assertListsEqual(ordered, dol);
+	}
+	
 	@Test
 	public void moveUpInSourceOverlapNotifies() {
 		IDispatcher dispatcher = mock(IDispatcher.class);
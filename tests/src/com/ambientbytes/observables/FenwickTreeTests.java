@@ -0,0 +1,145 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FenwickTreeTests {
+
+	@Test
+	public void newTreeEmpty() {
+		FenwickTree tree = new FenwickTree();
+
+		assertEquals(0, tree.size());
+		assertEquals(0, tree.sum());
+	}
+
+	@Test
+	public void insertCalculatesPrefixSums() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 0, 1, 1, 0 }, 5);
+
+		assertEquals(5, tree.size());
+		assertEquals(0, tree.prefixSum(0));
+		assertEquals(1, tree.prefixSum(2));
+		assertEquals(2, tree.prefixSum(3));
+		assertEquals(3, tree.sum());
+	}
+
+	@Test
+	public void insertInMiddleShiftsValues() {
+		FenwickTree tree = new FenwickTree(2);
+		tree.insert(0, new int[] { 1, 1 }, 2);
+		tree.insert(1, new int[] { 0, 5, 7 }, 2);
+
+		assertEquals(4, tree.size());
+		assertEquals(1, tree.get(0));
+		assertEquals(0, tree.get(1));
+		assertEquals(5, tree.get(2));
+		assertEquals(1, tree.get(3));
+		assertEquals(7, tree.sum());
+	}
+
+	@Test
+	public void appendCalculatesPrefixSums() {
+		FenwickTree tree = new FenwickTree(1);
+
+		for (int i = 1; i <= 11; ++i) {
+			tree.append(i);
+		}
+
+		assertEquals(11, tree.size());
+		for (int i = 0; i <= 11; ++i) {
+			assertEquals(i * (i + 1) / 2, tree.prefixSum(i));
+		}
+		assertEquals(6, tree.indexOf(21));
+	}
+
+	@Test
+	public void appendAfterRemoveCalculatesSums() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 2, 3, 4 }, 4);
+		tree.remove(1, 3);
+		tree.append(5);
+		tree.append(6);
+
+		assertEquals(3, tree.size());
+		assertEquals(6, tree.prefixSum(2));
+		assertEquals(12, tree.sum());
+	}
+
+	@Test
+	public void setUpdatesSums() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 1, 1, 1 }, 4);
+		tree.set(1, 0);
+
+		assertEquals(1, tree.prefixSum(2));
+		assertEquals(3, tree.sum());
+	}
+
+	@Test
+	public void removeRemovesValues() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 2, 3, 4 }, 4);
+		tree.remove(1, 2);
+
+		assertEquals(2, tree.size());
+		assertEquals(4, tree.get(1));
+		assertEquals(5, tree.sum());
+	}
+
+	@Test
+	public void moveMovesValues() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 2, 3, 4 }, 4);
+		tree.move(0, 2, 2);
+
+		assertEquals(3, tree.get(0));
+		assertEquals(4, tree.get(1));
+		assertEquals(1, tree.get(2));
+		assertEquals(2, tree.get(3));
+		assertEquals(7, tree.prefixSum(2));
+	}
+
+	@Test
+	public void indexOfFindsValue() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 0, 1, 0, 0, 1, 1 }, 6);
+
+		assertEquals(1, tree.indexOf(0));
+		assertEquals(4, tree.indexOf(1));
+		assertEquals(5, tree.indexOf(2));
+	}
+
+	@Test
+	public void locateFindsValueAndStart() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 3, 0, 2, 5, 1 }, 5);
+
+		long location = tree.locate(6);
+
+		assertEquals(3, FenwickTree.locationIndex(location));
+		assertEquals(5, FenwickTree.locationStart(location));
+		location = tree.locate(0);
+		assertEquals(0, FenwickTree.locationIndex(location));
+		assertEquals(0, FenwickTree.locationStart(location));
+		location = tree.locate(10);
+		assertEquals(4, FenwickTree.locationIndex(location));
+		assertEquals(10, FenwickTree.locationStart(location));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void indexOfBeyondSumThrows() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1, 0, 1 }, 3);
+		tree.indexOf(2);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void prefixSumBeyondSizeThrows() {
+		FenwickTree tree = new FenwickTree();
+		tree.insert(0, new int[] { 1 }, 1);
+		tree.prefixSum(2);
+	}
+}
@@ -0,0 +1,77 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FilterEvaluatorTests {
+
+	private static class EvenFilter implements IItemFilter<Integer> {
+		@Override
+		public boolean isIn(Integer item) {
+			return item % 2 == 0;
+		}
+	}
+
+	private static List<Integer> makeItems(int count) {
+		List<Integer> items = new ArrayList<>(count);
+
+		for (int i = 0; i < count; ++i) {
+			items.add(i);
+		}
+
+		return items;
+	}
+
+	@Test
+	public void evaluateNoPoolEvaluatesAllItems() {
+		FilterEvaluator evaluator = new FilterEvaluator(null);
+		boolean[] results = evaluator.evaluate(new EvenFilter(), makeItems(5));
+
+		assertEquals(5, results.length);
+		for (int i = 0; i < results.length; ++i) {
+			assertEquals(i % 2 == 0, results[i]);
+		}
+	}
+
+	@Test
+	public void evaluateLargeListInPoolEvaluatesAllItems() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			FilterEvaluator evaluator = new FilterEvaluator(pool);
+			boolean[] results = evaluator.evaluate(new EvenFilter(), makeItems(FilterEvaluator.PARALLEL_THRESHOLD * 3 + 1));
+
+			assertEquals(FilterEvaluator.PARALLEL_THRESHOLD * 3 + 1, results.length);
+			for (int i = 0; i < results.length; ++i) {
+				assertEquals(i % 2 == 0, results[i]);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void evaluateSmallListInPoolUsesCallingThread() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final Thread thread = Thread.currentThread();
+			FilterEvaluator evaluator = new FilterEvaluator(pool);
+			evaluator.evaluate(new IItemFilter<Integer>() {
+				@Override
+				public boolean isIn(Integer item) {
+					assertSame(thread, Thread.currentThread());
+					return true;
+				}
+			}, makeItems(10));
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
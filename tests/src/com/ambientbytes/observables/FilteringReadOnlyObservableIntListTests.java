@@ -0,0 +1,156 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FilteringReadOnlyObservableIntListTests {
+
+	private static final IIntFilter EVEN = new IIntFilter() {
+		@Override
+		public boolean isIn(int value) {
+			return value % 2 == 0;
+		}
+	};
+
+	private static final IIntFilter ODD = new IIntFilter() {
+		@Override
+		public boolean isIn(int value) {
+			return value % 2 != 0;
+		}
+	};
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private IntListMutator mutator;
+	private IReadOnlyObservableIntList source;
+	private MutableObservableReference<IIntFilter> filter;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		mutator = new IntListMutator(monitor);
+		source = ListBuilder.create(monitor).mutableInts(mutator).build();
+		filter = new MutableObservableReference<>(EVEN, monitor);
+	}
+
+	private static void assertValues(int[] expected, IReadOnlyObservableIntList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getInt(i));
+		}
+	}
+
+	@Test
+	public void newListFiltersSource() {
+		mutator.add(0, new int[] { 1, 2, 3, 4, 6 });
+
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+
+		assertValues(new int[] { 2, 4, 6 }, list);
+	}
+
+	@Test
+	public void addReportsVisibleValues() {
+		mutator.add(0, new int[] { 2, 4 });
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+		list.addObserver(observer);
+
+		mutator.add(1, new int[] { 1, 8, 3, 10 });
+
+		assertValues(new int[] { 2, 8, 10, 4 }, list);
+		verify(observer, times(1)).added(1, 2);
+	}
+
+	@Test
+	public void changeToFilteredOutReportsRemoval() {
+		mutator.add(0, new int[] { 2, 4, 6 });
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+		list.addObserver(observer);
+
+		mutator.set(1, 5);
+
+		assertValues(new int[] { 2, 6 }, list);
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).removed(1, 1);
+	}
+
+	@Test
+	public void moveInSourceReportsFilteredMove() {
+		mutator.add(0, new int[] { 2, 1, 4, 3, 6 });
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 3, 2);
+
+		assertValues(new int[] { 4, 6, 2 }, list);
+		verify(observer, times(1)).moved(0, 2, 1);
+	}
+
+	@Test
+	public void permuteSourceReportsFilteredPermutation() {
+		MutableObservableReference<IIntOrder> order = new MutableObservableReference<IIntOrder>(new IIntOrder() {
+			@Override
+			public boolean isLess(int lesser, int greater) {
+				return lesser > greater;
+			}
+		}, monitor);
+		mutator.add(0, new int[] { 3, 2, 4, 1 });
+		IReadOnlyObservableIntList ordered = ListBuilder.create(monitor).sourceInts(source).order(order).build();
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(ordered, filter, monitor);
+		list.addObserver(observer);
+
+		order.setValue(new IIntOrder() {
+			@Override
+			public boolean isLess(int lesser, int greater) {
+				return lesser < greater;
+			}
+		});
+
+		assertValues(new int[] { 2, 4 }, list);
+		verify(observer, times(1)).permuted(aryEq(new int[] { 1, 0 }));
+		verify(observer, never()).resetting();
+	}
+
+	@Test
+	public void changeFilterResets() {
+		mutator.add(0, new int[] { 1, 2, 3 });
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+		list.addObserver(observer);
+
+		filter.setValue(ODD);
+
+		assertValues(new int[] { 1, 3 }, list);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void changeFilterReportsAppearingAndDisappearingValues() {
+		mutator.add(0, new int[] { 2, 4, 6, 7, 8, 10, 12 });
+		FilteringReadOnlyObservableIntList list = new FilteringReadOnlyObservableIntList(source, filter, monitor);
+		list.addObserver(observer);
+
+		filter.setValue(new IIntFilter() {
+			@Override
+			public boolean isIn(int value) {
+				return value > 4 || value == 2;
+			}
+		});
+
+		assertValues(new int[] { 2, 6, 7, 8, 10, 12 }, list);
+		verify(observer, times(1)).removing(1, 1);
+		verify(observer, times(1)).removed(1, 1);
+		verify(observer, times(1)).added(2, 1);
+		verify(observer, never()).resetting();
+	}
+}
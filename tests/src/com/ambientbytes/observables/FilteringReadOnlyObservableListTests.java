@@ -10,6 +10,7 @@ import org.mockito.stubbing.Answer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
@@ -100,6 +101,30 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(3, fol.getSize());
 	}
 
+	@Test
+	public void snapshotKeepsItemsAfterChanges() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		TestItem item1, item2;
+		mutator.add(item1 = new TestItem(1));
+		mutator.add(new TestItem(11));
+		mutator.add(item2 = new TestItem(2));
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(
+				source,
+				new ImmutableObservableReference<IItemFilter<TestItem>>(new TestFilter()),
+				monitor);
+
+		IListSnapshot<TestItem> snapshot = fol.snapshot();
+		item1.setValue(12);
+		mutator.add(new TestItem(3));
+		mutator.remove(2, 1);
+
+		assertEquals(1, fol.getSize());
+		assertEquals(2, snapshot.getSize());
+		assertSame(item1, snapshot.getAt(0));
+		assertSame(item2, snapshot.getAt(1));
+	}
+
 	@Test
 	public void newListPermitNoneNoneAdded() {
 		when(mockFilter1.isIn(any(Integer.class))).thenReturn(false);
@@ -117,6 +142,35 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(0, fol.getSize());
 	}
 
+	@Test
+	public void newListParallelPoolFiltersAllItems() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+			IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+			List<Integer> items = new ArrayList<>();
+			for (int i = 0; i < 3 * FilterEvaluator.PARALLEL_THRESHOLD; ++i) {
+				items.add(i);
+			}
+			mutator.add(0, items);
+			MutableObservableReference<IItemFilter<Integer>> filter = new MutableObservableReference<IItemFilter<Integer>>(new IItemFilter<Integer>() {
+				@Override
+				public boolean isIn(Integer item) {
+					return item % 3 == 0;
+				}
+			}, monitor);
+			FilteringReadOnlyObservableList<Integer> fol = new FilteringReadOnlyObservableList<>(source, filter, pool, monitor);
+
+			assertEquals(FilterEvaluator.PARALLEL_THRESHOLD, fol.getSize());
+			for (int i = 0; i < fol.getSize(); ++i) {
+				assertEquals(3 * i, fol.getAt(i).intValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void changeFilterItemsDisappear() {
 		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
@@ -156,6 +210,56 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(3, fol.getSize());
 	}
 
+	@Test
+	public void changeFilterReportsFlippedItems() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+        MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		TestItem item;
+		
+		mutator.add(new TestItem(1));
+		mutator.add(new TestItem(2));
+		mutator.add(item = new TestItem(11));
+		mutator.add(new TestItem(3));
+		mutator.add(new TestItem(4));
+		mutator.add(new TestItem(12));
+		fol.addObserver(observer);
+		filter.setValue(new IItemFilter<TestItem>() {
+			@Override
+			public boolean isIn(TestItem item) {
+				return item.getValue() < 10 && item.getValue() != 2 || item.getValue() == 11;
+			}
+		});
+		
+		assertEquals(4, fol.getSize());
+		assertSame(item, fol.getAt(3));
+		verify(observer, never()).resetting();
+		verify(observer, times(1)).removing(eq(1), eq(1));
+		verify(observer, times(1)).removed(eq(1), eq(1));
+		verify(observer, times(1)).added(eq(3), eq(1));
+	}
+
+	@Test
+	public void changeFilterMostItemsFlipResets() {
+		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
+		when(mockFilter2.isIn(any(Integer.class))).thenReturn(false);
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(1);
+		mutator.add(2);
+		MutableObservableReference<IItemFilter<Integer>> filter = new MutableObservableReference<>(mockFilter1, monitor);
+		FilteringReadOnlyObservableList<Integer> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		filter.setValue(mockFilter2);
+
+		assertEquals(0, fol.getSize());
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		verify(observer, never()).removing(anyInt(), anyInt());
+	}
+
 	@Test
 	public void permitAllAddItemsAllAdded() {
 		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
@@ -291,6 +395,105 @@ public class FilteringReadOnlyObservableListTests {
 		assertEquals(2, fol.getSize());
 	}
 	
+	@Test
+	public void mutateUnadvisedContainerIgnored() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+        MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		final List<IObjectMutationObserver> advised = new ArrayList<>();
+		TestItem item = new TestItem(11) {
+			@Override
+			public void addObserver(IObjectMutationObserver observer) {
+				super.addObserver(observer);
+				advised.add(observer);
+			}
+		};
+
+		mutator.add(new TestItem(1));
+		mutator.add(item);
+		mutator.remove(1, 1);
+		item.value = 3;
+		//
+		// An item that notifies a snapshot of its observers may still call the removed container.
+		//
+		advised.get(0).mutated();
+
+		assertEquals(1, fol.getSize());
+	}
+
+	@Test
+	public void mutateManyItemsReportsCurrentIndexes() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+        MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		List<TestItem> items = new ArrayList<>();
+
+		for (int i = 0; i < 300; ++i) {
+			TestItem item = new TestItem(i % 10);
+			items.add(item);
+			mutator.add(item);
+		}
+		for (int i = 0; i < 300; i += 2) {
+			items.get(i).setValue(20);
+		}
+		fol.addObserver(observer);
+		items.get(299).setValue(20);
+		items.get(1).setValue(20);
+
+		assertEquals(148, fol.getSize());
+		verify(observer, times(1)).removing(149, 1);
+		verify(observer, times(1)).removing(0, 1);
+		for (int i = 0; i < 148; ++i) {
+			assertSame(items.get(2 * i + 3), fol.getAt(i));
+		}
+	}
+
+	@Test
+	public void removeRangeOfNonAdjacentVisibleItemsRemoves() {
+		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+        MutableObservableReference<IItemFilter<TestItem>> filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+		FilteringReadOnlyObservableList<TestItem> fol = new FilteringReadOnlyObservableList<>(source, filter, monitor);
+		TestItem item1, item2;
+		
+		mutator.add(new TestItem(1));
+		mutator.add(new TestItem(2));
+		mutator.add(item1 = new TestItem(11));
+		mutator.add(item2 = new TestItem(3));
+		item1.setValue(4);
+		fol.addObserver(observer);
+		mutator.remove(0, 3);
+		
+		assertEquals(1, fol.getSize());
+		assertSame(item2, fol.getAt(0));
+		verify(observer, times(1)).removing(eq(0), eq(2));
+		verify(observer, times(1)).removing(eq(3), eq(1));
+	}
+	
+	@Test
+	public void removeDuplicateItemRemovesOnce() {
+		when(mockFilter1.isIn(any(Integer.class))).thenReturn(true);
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		Integer value = Integer.valueOf(1);
+		mutator.add(value);
+		mutator.add(Integer.valueOf(2));
+		mutator.add(value);
+		FilteringReadOnlyObservableList<Integer> fol = new FilteringReadOnlyObservableList<>(
+				source,
+				new ImmutableObservableReference<>(mockFilter1),
+				monitor);
+		
+		mutator.remove(2, 1);
+		
+		assertEquals(2, fol.getSize());
+		mutator.remove(0, 1);
+		assertEquals(1, fol.getSize());
+		assertEquals(2, fol.getAt(0).intValue());
+	}
+	
 	@Test
 	public void unlinkNoMoreUpdates() {
 		ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
@@ -0,0 +1,23 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ItemKeysTests {
+
+	@Test
+	public void ofDoubleKeepsOrder() {
+		double[] values = { Double.NEGATIVE_INFINITY, -1e10, -2.5, -1.0, -0.0, 0.0, 1e-300, 1.0, 2.5, 1e10, Double.POSITIVE_INFINITY };
+
+		for (int i = 1; i < values.length; ++i) {
+			assertTrue(ItemKeys.ofDouble(values[i - 1]) < ItemKeys.ofDouble(values[i]));
+		}
+	}
+
+	@Test
+	public void ofDoubleEqualValuesEqualKeys() {
+		assertEquals(ItemKeys.ofDouble(3.25), ItemKeys.ofDouble(3.25));
+	}
+}
@@ -0,0 +1,217 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LazyMappingReadOnlyObservableListTests {
+
+	private static final class CountingMapper implements IItemMapper<Integer, String> {
+		private int calls = 0;
+
+		@Override
+		public String map(Integer item) {
+			++calls;
+			return item == 0 ? null : "item:" + item.toString();
+		}
+	}
+
+	private IReadWriteMonitor monitor;
+	private ListMutator<Integer> mutator;
+	private IReadOnlyObservableList<Integer> source;
+	private CountingMapper mapper;
+
+	@Before
+	public void setUp() throws Exception {
+		monitor = new DummyReadWriteMonitor();
+		mutator = new ListMutator<>(monitor);
+		source = ListBuilder.<Integer>create(monitor).mutable(mutator).build();
+		mapper = new CountingMapper();
+		mutator.add(0, Arrays.asList(1, 2, 3, 4, 5));
+	}
+
+	@Test
+	public void newListMapsNothing() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+
+		assertEquals(5, lml.getSize());
+		assertEquals(0, mapper.calls);
+	}
+
+	@Test
+	public void getAtMapsOnce() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+
+		final String first = lml.getAt(2);
+		final String second = lml.getAt(2);
+
+		assertEquals("item:3", first);
+		assertSame(first, second);
+		assertEquals(1, mapper.calls);
+	}
+
+	@Test
+	public void nullMappedItemCached() {
+		mutator.set(0, 0);
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+
+		assertNull(lml.getAt(0));
+		assertNull(lml.getAt(0));
+		assertEquals(1, mapper.calls);
+	}
+
+	@Test
+	public void addToSourceMapsNothing() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		lml.getAt(1);
+
+		mutator.add(0, Arrays.asList(10, 11));
+
+		assertEquals(7, lml.getSize());
+		assertEquals(1, mapper.calls);
+		assertEquals("item:2", lml.getAt(3));
+		assertEquals(1, mapper.calls);
+		assertEquals("item:11", lml.getAt(1));
+		assertEquals(2, mapper.calls);
+	}
+
+	@Test
+	public void changeInSourceInvalidatesItem() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		lml.getAt(0);
+
+		mutator.set(0, 7);
+
+		assertEquals("item:7", lml.getAt(0));
+		assertEquals(2, mapper.calls);
+	}
+
+	@Test
+	public void moveInSourceMovesMappedItems() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		final String mapped = lml.getAt(0);
+
+		mutator.move(0, 3, 2);
+
+		assertSame(mapped, lml.getAt(3));
+		assertEquals("item:2", lml.getAt(4));
+		assertEquals("item:3", lml.getAt(0));
+		assertEquals(3, mapper.calls);
+	}
+
+	@Test
+	public void removeFromSourceRemovesMappedItems() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+
+		mutator.remove(1, 3);
+
+		assertEquals(2, lml.getSize());
+		assertEquals("item:1", lml.getAt(0));
+		assertEquals("item:5", lml.getAt(1));
+	}
+
+	@Test
+	public void getAtInRemovedHandlerMapsRemainingItems() {
+		final LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		final List<String> read = new ArrayList<>();
+		lml.addObserver(new IListObserver() {
+			@Override public void added(int startIndex, int count) { }
+			@Override public void changing(int startIndex, int count) { }
+			@Override public void changed(int startIndex, int count) { }
+			@Override public void removing(int startIndex, int count) { read.add(lml.getAt(startIndex)); }
+			@Override public void removed(int startIndex, int count) { read.add(lml.getAt(startIndex)); }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { }
+			@Override public void permuted(int[] newPositions) { }
+			@Override public void resetting() { }
+			@Override public void reset() { }
+		});
+
+		mutator.remove(0, 1);
+
+		assertEquals(Arrays.asList("item:1", "item:2"), read);
+		assertEquals("item:2", lml.getAt(0));
+		assertEquals(source.getSize(), lml.getSize());
+	}
+
+	@Test
+	public void getAtInChangingHandlerMapsOldItem() {
+		final LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		final List<String> read = new ArrayList<>();
+		lml.addObserver(new IListObserver() {
+			@Override public void added(int startIndex, int count) { }
+			@Override public void changing(int startIndex, int count) { read.add(lml.getAt(startIndex)); }
+			@Override public void changed(int startIndex, int count) { read.add(lml.getAt(startIndex)); }
+			@Override public void removing(int startIndex, int count) { }
+			@Override public void removed(int startIndex, int count) { }
+			@Override public void moved(int oldStartIndex, int newStartIndex, int count) { }
+			@Override public void permuted(int[] newPositions) { }
+			@Override public void resetting() { }
+			@Override public void reset() { }
+		});
+
+		mutator.set(1, 20);
+
+		assertEquals(Arrays.asList("item:2", "item:20"), read);
+	}
+
+	@Test
+	public void readLocksMonitor() {
+		final IReadWriteMonitor stampedMonitor = LockTool.createStampedMonitor();
+		final int[] reads = { 0 };
+		final IReadWriteMonitor stamped = new IReadWriteMonitor() {
+			@Override
+			public IResource acquireRead() {
+				++reads[0];
+				return stampedMonitor.acquireRead();
+			}
+
+			@Override
+			public IResource acquireWrite() {
+				return stampedMonitor.acquireWrite();
+			}
+		};
+		final ListMutator<Integer> stampedMutator = new ListMutator<>(stamped);
+		final IReadOnlyObservableList<Integer> stampedSource = ListBuilder.<Integer>create(stamped).mutable(stampedMutator).build();
+		stampedMutator.add(0, Arrays.asList(1, 2));
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(stampedSource, mapper, stamped);
+
+		final String item = lml.read(new IListReader<String, String>() {
+			@Override
+			public String read(IReadOnlyObservableList<String> list) {
+				return list.getAt(1);
+			}
+		});
+
+		assertEquals("item:2", item);
+		assertEquals(1, reads[0]);
+	}
+
+	@Test
+	public void resetSourceMapsNothing() {
+		LazyMappingReadOnlyObservableList<Integer, String> lml = new LazyMappingReadOnlyObservableList<>(source, mapper, monitor);
+		lml.getAt(0);
+
+		mutator.reset(Arrays.asList(8, 9));
+
+		assertEquals(2, lml.getSize());
+		assertEquals(1, mapper.calls);
+		assertEquals("item:9", lml.getAt(1));
+	}
+
+	@Test
+	public void builderCreatesLazyList() {
+		IReadOnlyObservableList<String> list = ListBuilder.<Integer>create(monitor).source(source).mapLazily(mapper).build();
+
+		assertEquals(5, list.getSize());
+		assertEquals(0, mapper.calls);
+		assertEquals("item:5", list.getAt(4));
+		assertEquals(1, mapper.calls);
+	}
+}
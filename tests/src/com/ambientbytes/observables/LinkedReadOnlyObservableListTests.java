@@ -56,6 +56,10 @@ public class LinkedReadOnlyObservableListTests {
 		protected void onMoved(IReadOnlyObservableList<Integer> source, int oldStartIndex, int newStartIndex, int count) {
 		}
 
+		@Override
+		protected void onPermuted(IReadOnlyObservableList<Integer> source, int[] newPositions) {
+		}
+
 		@Override
 		protected void onResetting(IReadOnlyObservableList<Integer> source) {
 		}
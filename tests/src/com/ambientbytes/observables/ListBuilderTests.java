@@ -21,6 +21,9 @@ public class ListBuilderTests {
 	@Mock IDispatcher dispatcher;
 	@Mock IItemMapper<Integer, Integer> mapper;
 	@Mock IItemsOrder<Integer> order;
+	@Mock IReadOnlyObservableIntList intSource;
+	@Mock IIntMapper intMapper;
+	@Mock ITrigger mockTrigger;
 
 	@Before
 	public void setUp() throws Exception {
@@ -46,6 +49,21 @@ public class ListBuilderTests {
 		verify(source, times(1)).removeObserver(any(IListObserver.class));
 	}
 
+	@Test
+	public void singleSourceAddSourceOrderFilterUnlinkUnlinks() {
+		Trigger trigger = new Trigger(monitor);
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(trigger, monitor)
+				.source(source)
+				.filterInSourceOrder(new ImmutableObservableReference<>(filter))
+				.build();
+
+		verify(source, times(1)).addObserver(any(IListObserver.class));
+		verify(source, never()).removeObserver(any(IListObserver.class));
+		trigger.trigger();
+		
+		verify(source, times(1)).removeObserver(any(IListObserver.class));
+	}
+
 	@Test
 	public void mergedSourceAddFilterUnlinkUnlinks() {
 		Trigger trigger = new Trigger(monitor);
@@ -105,4 +123,16 @@ public class ListBuilderTests {
 		verify(source, times(1)).removeObserver(any(IListObserver.class));
 	}
 
+	@Test
+	public void intSourceAddMapperBoxedAttachesOneUnlinker() {
+		IReadOnlyObservableList<Integer> list = ListBuilder.<Integer>create(mockTrigger, monitor)
+				.sourceInts(intSource)
+				.map(intMapper)
+				.boxed()
+				.build();
+
+		verify(intSource, times(1)).addObserver(any(IListObserver.class));
+		verify(mockTrigger, times(1)).addListener(any(ITriggerListener.class));
+	}
+
 }
@@ -142,5 +142,17 @@ public class ListMutatorTests {
 		
 		verify(listener, times(1)).reset(eq(range));
 	}
+	
+	@Test
+	public void batchCallsBatch() {
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		@SuppressWarnings("unchecked")
+		IListTransaction<Integer> transaction = mock(IListTransaction.class);
+		mutator.addListener(listener);
+		
+		mutator.batch(transaction);
+		
+		verify(listener, times(1)).batch(eq(transaction));
+	}
 
 }
@@ -5,7 +5,10 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -73,6 +76,17 @@ public class ListObserversTests {
 		verify(observer, times(1)).moved(0, 1, 5);
 	}
 
+	@Test
+	public void reportPermutedReported() {
+		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		int[] newPositions = new int[] { 2, 0, 1 };
+		
+		collection.add(observer);
+		collection.permuted(newPositions);
+		
+		verify(observer, times(1)).permuted(newPositions);
+	}
+
 	@Test
 	public void reportResettingReported() {
 		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
@@ -143,6 +157,43 @@ public class ListObserversTests {
 		verify(observer, times(1)).changed(eq(0), eq(10));
 	}
 	
+	@Test
+	public void reportAddedMonitorNotUsed() {
+		IResource lock = mock(IResource.class);
+		IReadWriteMonitor monitor = mock(IReadWriteMonitor.class);
+		when(monitor.acquireRead()).thenReturn(lock);
+		when(monitor.acquireWrite()).thenReturn(lock);
+		ListObservers<Object> collection = new ListObservers<>(monitor);
+		collection.add(observer);
+
+		collection.added(0, 1);
+
+		verify(observer, times(1)).added(0, 1);
+		verify(monitor, never()).acquireRead();
+		verify(monitor, times(1)).acquireWrite();
+	}
+
+	@Test
+	public void removeObserverWhileReportingCompletesReporting() {
+		final ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
+		IListObserver otherObserver = mock(IListObserver.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				collection.remove(observer);
+				return null;
+			}
+		}).when(otherObserver).added(0, 1);
+		collection.add(otherObserver);
+		collection.add(observer);
+
+		collection.added(0, 1);
+		collection.added(0, 1);
+
+		verify(otherObserver, times(2)).added(0, 1);
+		verify(observer, times(1)).added(0, 1);
+	}
+	
 	@Test(expected = IllegalStateException.class)
 	public void addObserverTwiceThrows() {
 		ListObservers<Object> collection = new ListObservers<>(new DummyReadWriteMonitor());
@@ -5,9 +5,16 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,4 +78,164 @@ public class LockToolTests {
         verify(rwLock, never()).readLock();
     }
 
+    @Test
+    public void releasePooledReadLockReleases() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.readLock()).thenReturn(lock);
+
+        monitor.acquireRead().release();
+
+        verify(lock, times(1)).lock();
+        verify(lock, times(1)).unlock();
+        verify(rwLock, never()).writeLock();
+    }
+
+    @Test
+    public void releasePooledWriteLockReleases() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.writeLock()).thenReturn(lock);
+
+        monitor.acquireWrite().release();
+
+        verify(lock, times(1)).lock();
+        verify(lock, times(1)).unlock();
+        verify(rwLock, never()).readLock();
+    }
+
+    @Test
+    public void releasePooledLockTwiceReleasesOnce() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.writeLock()).thenReturn(lock);
+        IResource resource = monitor.acquireWrite();
+
+        resource.release();
+        resource.release();
+
+        verify(lock, times(1)).lock();
+        verify(lock, times(1)).unlock();
+    }
+
+    @Test
+    public void releasePooledLockAfterReacquireKeepsNewLock() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.readLock()).thenReturn(lock);
+        when(rwLock.writeLock()).thenReturn(lock);
+        IResource first = monitor.acquireWrite();
+        first.release();
+        IResource second = monitor.acquireRead();
+
+        first.release();
+
+        verify(lock, times(2)).lock();
+        verify(lock, times(1)).unlock();
+        second.release();
+        verify(lock, times(2)).unlock();
+    }
+
+    @Test
+    public void releasePooledLockAfterSeveralReacquiresKeepsNewLock() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.writeLock()).thenReturn(lock);
+        IResource first = monitor.acquireWrite();
+        first.release();
+        monitor.acquireWrite().release();
+        monitor.acquireWrite().release();
+        IResource last = monitor.acquireWrite();
+
+        first.release();
+
+        verify(lock, times(4)).lock();
+        verify(lock, times(3)).unlock();
+        last.release();
+        verify(lock, times(4)).unlock();
+    }
+
+    @Test
+    public void acquirePooledLockDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(new ReentrantReadWriteLock());
+        final long threadId = Thread.currentThread().getId();
+        final int count = 100000;
+
+        acquireAndRelease(monitor, count);
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        acquireAndRelease(monitor, count);
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        //
+        // Allow for a few allocations made by the measurement itself; one allocation per acquisition
+        // would take at least 16 bytes per call.
+        //
+        assertTrue("allocated " + allocated + " bytes", allocated < count);
+    }
+
+    private static void acquireAndRelease(IReadWriteMonitor monitor, int count) {
+        for (int i = 0; i < count; ++i) {
+            IResource write = monitor.acquireWrite();
+
+            try {
+                monitor.acquireRead().release();
+            } finally {
+                write.release();
+            }
+        }
+    }
+
+    @Test
+    public void acquirePooledLockNestedReturnsDistinctResources() {
+        IReadWriteMonitor monitor = LockTool.createPooledReadWriteMonitor(rwLock);
+        when(rwLock.writeLock()).thenReturn(lock);
+        List<IResource> resources = new ArrayList<>();
+
+        for (int i = 0; i < 10; ++i) {
+            IResource resource = monitor.acquireWrite();
+            assertFalse(resources.contains(resource));
+            resources.add(resource);
+        }
+        for (IResource resource : resources) {
+            resource.release();
+        }
+
+        verify(lock, times(10)).lock();
+        verify(lock, times(10)).unlock();
+    }
+
+    @Test
+    public void acquireStampedWriteLockNestedReleases() {
+        IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+
+        IResource outer = monitor.acquireWrite();
+        IResource inner = monitor.acquireWrite();
+        IResource read = monitor.acquireRead();
+        read.release();
+        inner.release();
+        inner.release();
+        outer.release();
+
+        monitor.acquireWrite().release();
+    }
+
+    @Test
+    public void acquireStampedReadLockNestedReleases() {
+        IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+
+        IResource outer = monitor.acquireRead();
+        IResource inner = monitor.acquireRead();
+        inner.release();
+        outer.release();
+
+        monitor.acquireWrite().release();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void acquireStampedWriteLockWhileReadingThrows() {
+        IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+
+        monitor.acquireRead();
+        monitor.acquireWrite();
+    }
+
 }
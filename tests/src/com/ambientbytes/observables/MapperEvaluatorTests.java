@@ -0,0 +1,77 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MapperEvaluatorTests {
+
+	private static class SquareMapper implements IItemMapper<Integer, Integer> {
+		@Override
+		public Integer map(Integer item) {
+			return item * item;
+		}
+	}
+
+	private static List<Integer> makeItems(int count) {
+		List<Integer> items = new ArrayList<>(count);
+
+		for (int i = 0; i < count; ++i) {
+			items.add(i);
+		}
+
+		return items;
+	}
+
+	@Test
+	public void mapNoPoolMapsAllItems() {
+		MapperEvaluator evaluator = new MapperEvaluator(null);
+		List<Integer> results = evaluator.map(new SquareMapper(), makeItems(5));
+
+		assertEquals(5, results.size());
+		for (int i = 0; i < results.size(); ++i) {
+			assertEquals(i * i, results.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void mapLargeListInPoolKeepsOrder() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			MapperEvaluator evaluator = new MapperEvaluator(pool);
+			List<Integer> results = evaluator.map(new SquareMapper(), makeItems(MapperEvaluator.PARALLEL_THRESHOLD * 3 + 1));
+
+			assertEquals(MapperEvaluator.PARALLEL_THRESHOLD * 3 + 1, results.size());
+			for (int i = 0; i < results.size(); ++i) {
+				assertEquals(i * i, results.get(i).intValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void mapSmallListInPoolUsesCallingThread() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final Thread thread = Thread.currentThread();
+			MapperEvaluator evaluator = new MapperEvaluator(pool);
+			evaluator.map(new IItemMapper<Integer, Integer>() {
+				@Override
+				public Integer map(Integer item) {
+					assertSame(thread, Thread.currentThread());
+					return item;
+				}
+			}, makeItems(10));
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -12,8 +12,10 @@ import org.mockito.stubbing.Answer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
@@ -245,6 +247,39 @@ public class MappingReadOnlyObservableListTests {
 		}
 	}
 
+	@Test
+	public void permuteSourceRearrangesWithoutMapping() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(2);
+		mutator.add(0);
+		mutator.add(1);
+		MutableObservableReference<IItemsOrder<Integer>> order = new MutableObservableReference<IItemsOrder<Integer>>(new IItemsOrder<Integer>() {
+			@Override
+			public boolean isLess(Integer lesser, Integer greater) {
+				return lesser.intValue() < greater.intValue();
+			}
+		}, new DummyReadWriteMonitor());
+		OrderingReadOnlyObservableList<Integer> ordered = new OrderingReadOnlyObservableList<>(source, order, new DummyReadWriteMonitor());
+		when(mockMapper.map(anyInt())).thenReturn("a", "b", "c");
+		MappingReadOnlyObservableList<Integer, String> mol = new MappingReadOnlyObservableList<>(ordered, mockMapper, new DummyReadWriteMonitor());
+		mol.addObserver(stringObserver);
+
+		order.setValue(new IItemsOrder<Integer>() {
+			@Override
+			public boolean isLess(Integer lesser, Integer greater) {
+				return greater.intValue() < lesser.intValue();
+			}
+		});
+
+		assertEquals("c", mol.getAt(0));
+		assertEquals("b", mol.getAt(1));
+		assertEquals("a", mol.getAt(2));
+		verify(mockMapper, times(3)).map(anyInt());
+		verify(stringObserver, times(1)).permuted(aryEq(new int[] { 2, 1, 0 }));
+		verify(stringObserver, never()).reset();
+	}
+
 	@Test
 	public void unlinkNoMoreUpdates() {
 		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -311,4 +346,30 @@ public class MappingReadOnlyObservableListTests {
 		verify(stringObserver, times(1)).changed(eq(1), eq(1));
 	}
 
+	@Test
+	public void resetInPoolMapsItemsInOrder() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			IReadWriteMonitor monitor = new DummyReadWriteMonitor();
+			ListMutator<Integer> mutator = new ListMutator<>(monitor);
+			IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(monitor).mutable(mutator).build();
+			MappingReadOnlyObservableList<Integer, String> mol = new MappingReadOnlyObservableList<>(source, new IntegerToStringMapper(), pool, monitor);
+			List<Integer> items = new ArrayList<>();
+			for (int i = 0; i < MapperEvaluator.PARALLEL_THRESHOLD * 4; ++i) {
+				items.add(i);
+			}
+
+			mutator.reset(items);
+			mutator.add(10, items);
+
+			assertEquals(items.size() * 2, mol.getSize());
+			for (int i = 0; i < mol.getSize(); ++i) {
+				assertEquals("item:" + source.getAt(i), mol.getAt(i));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 }
@@ -0,0 +1,149 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MutableObservableDoubleListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock IDoubleListMutatorListener mockMutator;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListCorrectSetup() {
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mockMutator, mockMonitor);
+
+		assertEquals(0, list.getSize());
+		verify(mockMutator, times(1)).addListener(any(IDoubleListMutator.class));
+		verify(mockMutator, never()).removeListener(any(IDoubleListMutator.class));
+	}
+
+	@Test
+	public void addLocksWriteAndReports() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mutator, mockMonitor);
+		list.addObserver(observer);
+		//
+		// Adding the list to the mutator and the observer to the list both lock the monitor for writing.
+		//
+		verify(wLock, times(2)).release();
+
+		mutator.add(5);
+		mutator.add(0, new double[] { 1, 2, 3 });
+
+		assertEquals(4, list.getSize());
+		assertEquals(1, list.getDouble(0), 0.0);
+		assertEquals(5, list.getDouble(3), 0.0);
+		assertEquals(Double.valueOf(2), list.getAt(1));
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(0, 3);
+		verify(mockMonitor, times(4)).acquireWrite();
+		verify(wLock, times(4)).release();
+	}
+
+	@Test
+	public void setReportsChange() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mutator, mockMonitor);
+		mutator.add(0, new double[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.set(1, new double[] { 20, 30 });
+
+		assertEquals(20, list.getDouble(1), 0.0);
+		assertEquals(30, list.getDouble(2), 0.0);
+		verify(observer, times(1)).changing(1, 2);
+		verify(observer, times(1)).changed(1, 2);
+	}
+
+	@Test
+	public void removeBeyondEndRemovesTail() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mutator, mockMonitor);
+		mutator.add(0, new double[] { 1, 2, 3, 4 });
+		list.addObserver(observer);
+
+		mutator.remove(2, 10);
+
+		assertEquals(2, list.getSize());
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+	}
+
+	@Test
+	public void moveReportsMove() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mutator, mockMonitor);
+		mutator.add(0, new double[] { 1, 2, 3, 4, 5 });
+		list.addObserver(observer);
+
+		mutator.move(0, 3, 2);
+
+		assertEquals(3, list.getDouble(0), 0.0);
+		assertEquals(5, list.getDouble(2), 0.0);
+		assertEquals(1, list.getDouble(3), 0.0);
+		assertEquals(2, list.getDouble(4), 0.0);
+		verify(observer, times(1)).moved(0, 3, 2);
+	}
+
+	@Test
+	public void resetReportsReset() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mutator, mockMonitor);
+		mutator.add(0, new double[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.reset(new double[] { 7, 8 });
+
+		assertEquals(2, list.getSize());
+		assertEquals(7, list.getDouble(0), 0.0);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void boxedListReadsDoubles() {
+		DoubleListMutator mutator = new DoubleListMutator(mockMonitor);
+		IReadOnlyObservableDoubleList source = ListBuilder.create(mockMonitor).mutableDoubles(mutator).build();
+		IReadOnlyObservableList<Double> list = ListBuilder.create(mockMonitor).sourceDoubles(source).map(new IDoubleMapper() {
+			@Override
+			public double map(double value) {
+				return value / 2;
+			}
+		}).boxed().build();
+
+		mutator.add(0, new double[] { 1, 3 });
+
+		assertEquals(2, list.getSize());
+		assertEquals(Double.valueOf(0.5), list.getAt(0));
+		assertEquals(Double.valueOf(1.5), list.getAt(1));
+	}
+
+	@Test
+	public void unlinkRemovesListener() {
+		MutableObservableDoubleList list = new MutableObservableDoubleList(mockMutator, mockMonitor);
+
+		list.unlink();
+		list.unlink();
+
+		verify(mockMutator, times(1)).removeListener(any(IDoubleListMutator.class));
+	}
+}
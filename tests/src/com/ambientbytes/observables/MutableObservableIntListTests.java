@@ -0,0 +1,131 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MutableObservableIntListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock IIntListMutatorListener mockMutator;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListCorrectSetup() {
+		MutableObservableIntList list = new MutableObservableIntList(mockMutator, mockMonitor);
+
+		assertEquals(0, list.getSize());
+		verify(mockMutator, times(1)).addListener(any(IIntListMutator.class));
+		verify(mockMutator, never()).removeListener(any(IIntListMutator.class));
+	}
+
+	@Test
+	public void addLocksWriteAndReports() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableObservableIntList list = new MutableObservableIntList(mutator, mockMonitor);
+		list.addObserver(observer);
+		//
+		// Adding the list to the mutator and the observer to the list both lock the monitor for writing.
+		//
+		verify(wLock, times(2)).release();
+
+		mutator.add(5);
+		mutator.add(0, new int[] { 1, 2, 3 });
+
+		assertEquals(4, list.getSize());
+		assertEquals(1, list.getInt(0));
+		assertEquals(5, list.getInt(3));
+		assertEquals(Integer.valueOf(2), list.getAt(1));
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(0, 3);
+		verify(mockMonitor, times(4)).acquireWrite();
+		verify(wLock, times(4)).release();
+	}
+
+	@Test
+	public void setReportsChange() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableObservableIntList list = new MutableObservableIntList(mutator, mockMonitor);
+		mutator.add(0, new int[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.set(1, new int[] { 20, 30 });
+
+		assertEquals(20, list.getInt(1));
+		assertEquals(30, list.getInt(2));
+		verify(observer, times(1)).changing(1, 2);
+		verify(observer, times(1)).changed(1, 2);
+	}
+
+	@Test
+	public void removeBeyondEndRemovesTail() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableObservableIntList list = new MutableObservableIntList(mutator, mockMonitor);
+		mutator.add(0, new int[] { 1, 2, 3, 4 });
+		list.addObserver(observer);
+
+		mutator.remove(2, 10);
+
+		assertEquals(2, list.getSize());
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+	}
+
+	@Test
+	public void moveReportsMove() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableObservableIntList list = new MutableObservableIntList(mutator, mockMonitor);
+		mutator.add(0, new int[] { 1, 2, 3, 4, 5 });
+		list.addObserver(observer);
+
+		mutator.move(0, 3, 2);
+
+		assertEquals(3, list.getInt(0));
+		assertEquals(5, list.getInt(2));
+		assertEquals(1, list.getInt(3));
+		assertEquals(2, list.getInt(4));
+		verify(observer, times(1)).moved(0, 3, 2);
+	}
+
+	@Test
+	public void resetReportsReset() {
+		IntListMutator mutator = new IntListMutator(mockMonitor);
+		MutableObservableIntList list = new MutableObservableIntList(mutator, mockMonitor);
+		mutator.add(0, new int[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.reset(new int[] { 7, 8 });
+
+		assertEquals(2, list.getSize());
+		assertEquals(7, list.getInt(0));
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void unlinkRemovesListener() {
+		MutableObservableIntList list = new MutableObservableIntList(mockMutator, mockMonitor);
+
+		list.unlink();
+		list.unlink();
+
+		verify(mockMutator, times(1)).removeListener(any(IIntListMutator.class));
+	}
+}
@@ -86,6 +86,24 @@ public class MutableObservableListTests {
 		verify(wLock, times(2)).release();
 	}
 
+	@Test
+	public void snapshotLocksReadAndKeepsContents() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(Integer.valueOf(1));
+		mutator.add(Integer.valueOf(2));
+
+		IListSnapshot<Integer> snapshot = mol.snapshot();
+		mutator.set(0, Integer.valueOf(10));
+		mutator.clear();
+
+		verify(mockMonitor, times(1)).acquireRead();
+		verify(rLock, times(1)).release();
+		assertEquals(2, snapshot.getSize());
+		assertEquals(Integer.valueOf(1), snapshot.getAt(0));
+		assertEquals(Integer.valueOf(2), snapshot.getAt(1));
+	}
+
 	@Test
 	public void add2ItemsAdded() {
 		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -719,4 +737,210 @@ public class MutableObservableListTests {
 		verify(observer, times(1)).changed(eq(0), eq(3));
 	}
 
+	@Test
+	public void readLocksRead() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(Integer.valueOf(1));
+
+		Integer value = mol.read(new IListReader<Integer, Integer>() {
+			@Override
+			public Integer read(IReadOnlyObservableList<Integer> list) {
+				return list.getAt(0);
+			}
+		});
+
+		assertEquals(Integer.valueOf(1), value);
+		verify(mockMonitor, times(1)).acquireRead();
+		verify(rLock, times(1)).release();
+	}
+
+	@Test
+	public void readStampedMonitorReturnsItems() {
+		IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, monitor);
+		mutator.add(Integer.valueOf(1));
+		mutator.add(Integer.valueOf(2));
+
+		Integer sum = mol.read(new IListReader<Integer, Integer>() {
+			@Override
+			public Integer read(IReadOnlyObservableList<Integer> list) {
+				int s = 0;
+				for (int i = 0; i < list.getSize(); ++i) {
+					s += list.getAt(i).intValue();
+				}
+				return s;
+			}
+		});
+
+		assertEquals(Integer.valueOf(3), sum);
+	}
+
+	@Test
+	public void readStampedMonitorReadsItemOnce() {
+		IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, monitor);
+		final int[] calls = new int[1];
+		mutator.add(Integer.valueOf(1));
+		mutator.add(Integer.valueOf(2));
+
+		Integer value = mol.read(new IListReader<Integer, Integer>() {
+			@Override
+			public Integer read(IReadOnlyObservableList<Integer> list) {
+				++calls[0];
+				return list.getAt(list.getSize() - 1);
+			}
+		});
+
+		assertEquals(Integer.valueOf(2), value);
+		assertEquals(1, calls[0]);
+	}
+
+	@Test
+	public void readStampedMonitorReadsItemsAgainUnderLock() {
+		IReadWriteMonitor monitor = LockTool.createStampedMonitor();
+		ListMutator<Integer> mutator = new ListMutator<>(monitor);
+		final MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, monitor);
+		final List<IReadOnlyObservableList<Integer>> readLists = new ArrayList<>();
+		mutator.add(Integer.valueOf(1));
+		mutator.add(Integer.valueOf(2));
+
+		mol.read(new IListReader<Integer, Integer>() {
+			@Override
+			public Integer read(IReadOnlyObservableList<Integer> list) {
+				readLists.add(list);
+				return list.getAt(0) + list.getAt(1);
+			}
+		});
+
+		assertEquals(2, readLists.size());
+		assertSame(mol, readLists.get(1));
+	}
+
+	@Test
+	public void batchLocksWriteOnce() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		new MutableObservableList<>(mutator, mockMonitor);
+
+		mutator.batch(new IListTransaction<Integer>() {
+			@Override
+			public void execute(IListMutator<Integer> tx) {
+				tx.add(Integer.valueOf(1));
+				tx.add(Integer.valueOf(2));
+				tx.remove(0, 1);
+			}
+		});
+
+		verify(mockMonitor, times(2)).acquireWrite();
+		verify(wLock, times(2)).release();
+	}
+
+	@Test
+	public void batchAddsReportedOnce() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(Integer.valueOf(0));
+		mol.addObserver(observer);
+
+		mutator.batch(new IListTransaction<Integer>() {
+			@Override
+			public void execute(IListMutator<Integer> tx) {
+				tx.add(Integer.valueOf(1));
+				tx.add(Integer.valueOf(3));
+				tx.add(2, Integer.valueOf(2));
+				tx.set(3, Integer.valueOf(4));
+			}
+		});
+
+		assertEquals(4, mol.getSize());
+		assertEquals(Integer.valueOf(0), mol.getAt(0));
+		assertEquals(Integer.valueOf(1), mol.getAt(1));
+		assertEquals(Integer.valueOf(2), mol.getAt(2));
+		assertEquals(Integer.valueOf(4), mol.getAt(3));
+		verify(observer, times(1)).added(1, 3);
+		verify(observer, never()).changing(anyInt(), anyInt());
+		verify(observer, never()).changed(anyInt(), anyInt());
+	}
+
+	@Test
+	public void batchRemovesReportedOnce() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		for (int i = 0; i < 10; ++i) {
+			mutator.add(Integer.valueOf(i));
+		}
+		mol.addObserver(observer);
+
+		mutator.batch(new IListTransaction<Integer>() {
+			@Override
+			public void execute(IListMutator<Integer> tx) {
+				tx.remove(5, 1);
+				tx.remove(5, 2);
+				tx.remove(4, 1);
+			}
+		});
+
+		assertEquals(6, mol.getSize());
+		assertEquals(Integer.valueOf(3), mol.getAt(3));
+		assertEquals(Integer.valueOf(8), mol.getAt(4));
+		verify(observer, times(1)).removing(4, 4);
+		verify(observer, times(1)).removed(4, 4);
+	}
+
+	@Test
+	public void batchManyEditsReportedAsReset() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		for (int i = 0; i < 4; ++i) {
+			mutator.add(Integer.valueOf(i));
+		}
+		mol.addObserver(observer);
+
+		mutator.batch(new IListTransaction<Integer>() {
+			@Override
+			public void execute(IListMutator<Integer> tx) {
+				tx.set(0, Integer.valueOf(10));
+				tx.set(2, Integer.valueOf(12));
+				tx.remove(3, 1);
+				tx.add(0, Integer.valueOf(9));
+			}
+		});
+
+		assertEquals(4, mol.getSize());
+		assertEquals(Integer.valueOf(9), mol.getAt(0));
+		assertEquals(Integer.valueOf(10), mol.getAt(1));
+		assertEquals(Integer.valueOf(1), mol.getAt(2));
+		assertEquals(Integer.valueOf(12), mol.getAt(3));
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		verify(observer, never()).added(anyInt(), anyInt());
+		verify(observer, never()).removing(anyInt(), anyInt());
+	}
+
+	@Test
+	public void batchThrowsListUnchanged() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		MutableObservableList<Integer> mol = new MutableObservableList<>(mutator, mockMonitor);
+		mutator.add(Integer.valueOf(0));
+		mol.addObserver(observer);
+
+		try {
+			mutator.batch(new IListTransaction<Integer>() {
+				@Override
+				public void execute(IListMutator<Integer> tx) {
+					tx.add(Integer.valueOf(1));
+					tx.set(5, Integer.valueOf(2));
+				}
+			});
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+
+		assertEquals(1, mol.getSize());
+		verify(observer, never()).added(anyInt(), anyInt());
+		verify(wLock, times(4)).release();
+	}
+
 }
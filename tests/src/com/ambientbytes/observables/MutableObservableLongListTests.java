@@ -0,0 +1,131 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MutableObservableLongListTests {
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	@Mock ILongListMutatorListener mockMutator;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+	}
+
+	@Test
+	public void newListCorrectSetup() {
+		MutableObservableLongList list = new MutableObservableLongList(mockMutator, mockMonitor);
+
+		assertEquals(0, list.getSize());
+		verify(mockMutator, times(1)).addListener(any(ILongListMutator.class));
+		verify(mockMutator, never()).removeListener(any(ILongListMutator.class));
+	}
+
+	@Test
+	public void addLocksWriteAndReports() {
+		LongListMutator mutator = new LongListMutator(mockMonitor);
+		MutableObservableLongList list = new MutableObservableLongList(mutator, mockMonitor);
+		list.addObserver(observer);
+		//
+		// Adding the list to the mutator and the observer to the list both lock the monitor for writing.
+		//
+		verify(wLock, times(2)).release();
+
+		mutator.add(5);
+		mutator.add(0, new long[] { 1, 2, 3 });
+
+		assertEquals(4, list.getSize());
+		assertEquals(1, list.getLong(0));
+		assertEquals(5, list.getLong(3));
+		assertEquals(Long.valueOf(2), list.getAt(1));
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(0, 3);
+		verify(mockMonitor, times(4)).acquireWrite();
+		verify(wLock, times(4)).release();
+	}
+
+	@Test
+	public void setReportsChange() {
+		LongListMutator mutator = new LongListMutator(mockMonitor);
+		MutableObservableLongList list = new MutableObservableLongList(mutator, mockMonitor);
+		mutator.add(0, new long[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.set(1, new long[] { 20, 30 });
+
+		assertEquals(20, list.getLong(1));
+		assertEquals(30, list.getLong(2));
+		verify(observer, times(1)).changing(1, 2);
+		verify(observer, times(1)).changed(1, 2);
+	}
+
+	@Test
+	public void removeBeyondEndRemovesTail() {
+		LongListMutator mutator = new LongListMutator(mockMonitor);
+		MutableObservableLongList list = new MutableObservableLongList(mutator, mockMonitor);
+		mutator.add(0, new long[] { 1, 2, 3, 4 });
+		list.addObserver(observer);
+
+		mutator.remove(2, 10);
+
+		assertEquals(2, list.getSize());
+		verify(observer, times(1)).removing(2, 2);
+		verify(observer, times(1)).removed(2, 2);
+	}
+
+	@Test
+	public void moveReportsMove() {
+		LongListMutator mutator = new LongListMutator(mockMonitor);
+		MutableObservableLongList list = new MutableObservableLongList(mutator, mockMonitor);
+		mutator.add(0, new long[] { 1, 2, 3, 4, 5 });
+		list.addObserver(observer);
+
+		mutator.move(0, 3, 2);
+
+		assertEquals(3, list.getLong(0));
+		assertEquals(5, list.getLong(2));
+		assertEquals(1, list.getLong(3));
+		assertEquals(2, list.getLong(4));
+		verify(observer, times(1)).moved(0, 3, 2);
+	}
+
+	@Test
+	public void resetReportsReset() {
+		LongListMutator mutator = new LongListMutator(mockMonitor);
+		MutableObservableLongList list = new MutableObservableLongList(mutator, mockMonitor);
+		mutator.add(0, new long[] { 1, 2, 3 });
+		list.addObserver(observer);
+
+		mutator.reset(new long[] { 7, 8 });
+
+		assertEquals(2, list.getSize());
+		assertEquals(7, list.getLong(0));
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void unlinkRemovesListener() {
+		MutableObservableLongList list = new MutableObservableLongList(mockMutator, mockMonitor);
+
+		list.unlink();
+		list.unlink();
+
+		verify(mockMutator, times(1)).removeListener(any(ILongListMutator.class));
+	}
+}
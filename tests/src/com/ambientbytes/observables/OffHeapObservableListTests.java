@@ -0,0 +1,197 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OffHeapObservableListTests {
+
+	private static final class Tick {
+		final long time;
+		final double price;
+
+		Tick(long time, double price) {
+			this.time = time;
+			this.price = price;
+		}
+	}
+
+	private static final class TickCodec implements IRecordCodec<Tick> {
+		@Override
+		public int recordSize() {
+			return 16;
+		}
+
+		@Override
+		public void encode(Tick item, ByteBuffer buffer, int offset) {
+			buffer.putLong(offset, item.time);
+			buffer.putDouble(offset + 8, item.price);
+		}
+
+		@Override
+		public Tick decode(ByteBuffer buffer, int offset) {
+			return new Tick(buffer.getLong(offset), buffer.getDouble(offset + 8));
+		}
+	}
+
+	private static final class TickFlyweight implements IRecordFlyweight {
+		private ByteBuffer buffer;
+		private int offset;
+
+		@Override
+		public void wrap(ByteBuffer buffer, int offset) {
+			this.buffer = buffer;
+			this.offset = offset;
+		}
+
+		long time() {
+			return buffer.getLong(offset);
+		}
+	}
+
+	//
+	// Codec of records large enough for a few records to fill a chunk.
+	//
+	private static final class WideCodec implements IRecordCodec<Integer> {
+		@Override
+		public int recordSize() {
+			return OffHeapRecordList.CHUNK_BYTES / 3;
+		}
+
+		@Override
+		public void encode(Integer item, ByteBuffer buffer, int offset) {
+			buffer.putInt(offset, item);
+			buffer.putInt(offset + recordSize() - 4, item);
+		}
+
+		@Override
+		public Integer decode(ByteBuffer buffer, int offset) {
+			assertEquals(buffer.getInt(offset), buffer.getInt(offset + recordSize() - 4));
+			return buffer.getInt(offset);
+		}
+	}
+
+	private IReadWriteMonitor monitor;
+	private ListMutator<Tick> mutator;
+	private IReadOnlyObservableRecordList<Tick> list;
+
+	@Before
+	public void setUp() {
+		monitor = new DummyReadWriteMonitor();
+		mutator = new ListMutator<>(monitor);
+		list = (IReadOnlyObservableRecordList<Tick>) ListBuilder.<Tick>create(monitor).offHeap(mutator, new TickCodec()).build();
+	}
+
+	private static void assertTimes(long[] expected, IReadOnlyObservableRecordList<Tick> list) {
+		final TickFlyweight flyweight = new TickFlyweight();
+
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.wrapAt(i, flyweight).time());
+		}
+	}
+
+	@Test
+	public void addStoresRecords() {
+		mutator.add(new Tick(1, 10.5));
+		mutator.add(0, new Tick(0, 9.5));
+
+		assertEquals(2, list.getSize());
+		assertEquals(9.5, list.getAt(0).price, 0);
+		assertEquals(1, list.getAt(1).time);
+	}
+
+	@Test
+	public void flyweightReadsRecords() {
+		mutator.add(0, Arrays.asList(new Tick(1, 1), new Tick(2, 2), new Tick(3, 3)));
+		final TickFlyweight flyweight = new TickFlyweight();
+
+		assertEquals(2, list.wrapAt(1, flyweight).time());
+		assertEquals(3, list.wrapAt(2, flyweight).time());
+	}
+
+	@Test
+	public void removeAndMoveShiftRecords() {
+		mutator.add(0, Arrays.asList(new Tick(1, 1), new Tick(2, 2), new Tick(3, 3), new Tick(4, 4), new Tick(5, 5)));
+
+		mutator.remove(1, 1);
+		mutator.move(0, 2, 2);
+
+		assertTimes(new long[] { 4, 5, 1, 3 }, list);
+	}
+
+	@Test
+	public void batchAppliesEdits() {
+		mutator.add(new Tick(1, 1));
+
+		mutator.batch(new IListTransaction<Tick>() {
+			@Override
+			public void execute(IListMutator<Tick> mutator) {
+				mutator.add(new Tick(2, 2));
+				mutator.set(0, new Tick(0, 0));
+			}
+		});
+
+		assertTimes(new long[] { 0, 2 }, list);
+	}
+
+	@Test
+	public void recordsSpanChunks() {
+		OffHeapRecordList<Integer> records = new OffHeapRecordList<>(new WideCodec());
+		List<Integer> expected = new ArrayList<>();
+
+		for (int i = 0; i < 10; ++i) {
+			records.add(i, i);
+			expected.add(i);
+		}
+		records.move(1, 6, 3);
+		expected.addAll(9, expected.subList(1, 4));
+		expected.subList(1, 4).clear();
+		records.remove(2, 5);
+		expected.subList(2, 7).clear();
+
+		assertEquals(expected.size(), records.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i), records.get(i));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyRecordsThrow() {
+		new OffHeapRecordList<>(new IRecordCodec<Integer>() {
+			@Override
+			public int recordSize() {
+				return 0;
+			}
+
+			@Override
+			public void encode(Integer item, ByteBuffer buffer, int offset) {
+			}
+
+			@Override
+			public Integer decode(ByteBuffer buffer, int offset) {
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void snapshotKeepsRecordsAfterChanges() {
+		mutator.add(0, Arrays.asList(new Tick(1, 1), new Tick(2, 2), new Tick(3, 3)));
+
+		IListSnapshot<Tick> snapshot = list.snapshot();
+		mutator.set(0, new Tick(10, 10));
+		mutator.remove(1, 2);
+
+		assertEquals(3, snapshot.getSize());
+		assertEquals(1, snapshot.getAt(0).time);
+		assertEquals(3, snapshot.getAt(2).time);
+		assertTimes(new long[] { 10 }, list);
+	}
+}
@@ -0,0 +1,88 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OrderEvaluatorTests {
+
+	//
+	// Items are compared by tens, so items with the same tens are equal and keep their order.
+	//
+	private static class TensComparator implements Comparator<Integer> {
+		@Override
+		public int compare(Integer first, Integer second) {
+			return Integer.compare(first / 10, second / 10);
+		}
+	}
+
+	private static List<Integer> makeItems(int count) {
+		List<Integer> items = new ArrayList<>(count);
+
+		for (int i = 0; i < count; ++i) {
+			items.add((count - 1 - i) / 10 * 10 + 9 - (count - 1 - i) % 10);
+		}
+
+		return items;
+	}
+
+	private static void assertSorted(List<Integer> items) {
+		for (int i = 1; i < items.size(); ++i) {
+			assertTrue(items.get(i - 1) < items.get(i));
+		}
+	}
+
+	@Test
+	public void sortNoPoolSortsStably() {
+		OrderEvaluator evaluator = new OrderEvaluator(null);
+		List<Integer> items = makeItems(50);
+
+		evaluator.sort(items, new TensComparator());
+
+		assertEquals(50, items.size());
+		assertSorted(items);
+	}
+
+	@Test
+	public void sortLargeListInPoolSortsStably() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			OrderEvaluator evaluator = new OrderEvaluator(pool);
+			List<Integer> items = makeItems(OrderEvaluator.PARALLEL_THRESHOLD * 3 + 10);
+
+			evaluator.sort(items, new TensComparator());
+
+			assertEquals(OrderEvaluator.PARALLEL_THRESHOLD * 3 + 10, items.size());
+			assertSorted(items);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void sortSmallListInPoolUsesCallingThread() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final Thread thread = Thread.currentThread();
+			OrderEvaluator evaluator = new OrderEvaluator(pool);
+			evaluator.sort(makeItems(100), new Comparator<Integer>() {
+				@Override
+				public int compare(Integer first, Integer second) {
+					assertSame(thread, Thread.currentThread());
+					return Integer.compare(first, second);
+				}
+			});
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
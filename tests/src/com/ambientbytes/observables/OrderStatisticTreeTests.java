@@ -0,0 +1,186 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class OrderStatisticTreeTests {
+
+	@Test
+	public void newTreeEmpty() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+
+		assertEquals(0, tree.size());
+		assertFalse(tree.iterator().hasNext());
+	}
+
+	@Test
+	public void addGetsInOrder() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		tree.add(0, 2);
+		tree.add(0, 0);
+		tree.add(1, 1);
+		tree.add(3, 3);
+
+		assertEquals(4, tree.size());
+		for (int i = 0; i < 4; ++i) {
+			assertEquals(i, tree.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void indexOfNodeFollowsChanges() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		List<OrderStatisticTree.Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; ++i) {
+			nodes.add(tree.add(i, i));
+		}
+		tree.remove(10, 20);
+		tree.add(0, -1);
+
+		assertEquals(81, tree.size());
+		assertEquals(1, tree.indexOf(nodes.get(0)));
+		assertEquals(11, tree.indexOf(nodes.get(30)));
+		assertEquals(80, tree.indexOf(nodes.get(99)));
+	}
+
+	@Test
+	public void removeReturnsRemovedElement() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		tree.reset(Arrays.asList(0, 1, 2, 3), null);
+
+		assertEquals(2, tree.remove(2).intValue());
+		assertEquals(3, tree.size());
+		assertEquals(3, tree.get(2).intValue());
+	}
+
+	@Test
+	public void resetReplacesElementsAndReturnsNodes() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		List<Integer> elements = new ArrayList<>();
+		for (int i = 0; i < 1000; ++i) {
+			elements.add(i);
+		}
+		@SuppressWarnings("unchecked")
+		OrderStatisticTree.Node<Integer>[] nodes = new OrderStatisticTree.Node[elements.size()];
+		tree.add(0, -1);
+		tree.reset(elements, nodes);
+
+		assertEquals(1000, tree.size());
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, tree.get(i).intValue());
+			assertEquals(i, tree.indexOf(nodes[i]));
+			assertSame(elements.get(i), nodes[i].element());
+		}
+	}
+
+	@Test
+	public void iteratorIteratesInOrder() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		for (int i = 0; i < 50; ++i) {
+			tree.add(i / 2, i);
+		}
+		int index = 0;
+
+		for (Integer element : tree) {
+			assertSame(tree.get(index++), element);
+		}
+		assertEquals(50, index);
+	}
+
+	@Test
+	public void searchFindsFirstNotBefore() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		tree.reset(Arrays.asList(1, 3, 3, 5, 7), null);
+
+		assertEquals(1, tree.search(new OrderStatisticTree.ISearch<Integer>() {
+			@Override
+			public boolean isBefore(Integer element) {
+				return element < 3;
+			}
+		}));
+		assertEquals(5, tree.search(new OrderStatisticTree.ISearch<Integer>() {
+			@Override
+			public boolean isBefore(Integer element) {
+				return element < 10;
+			}
+		}));
+	}
+
+	@Test
+	public void weightBeforeSumsLeadingWeights() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		List<OrderStatisticTree.Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; ++i) {
+			nodes.add(tree.add(i, i, i % 2));
+		}
+
+		assertEquals(0, tree.weightBefore(0));
+		assertEquals(5, tree.weightBefore(11));
+		assertEquals(50, tree.weightBefore(100));
+		assertEquals(5, tree.weightBefore(nodes.get(11)));
+
+		tree.setWeight(nodes.get(2), 3);
+		tree.remove(0, 2);
+
+		assertEquals(3, tree.weightBefore(1));
+		assertEquals(7, tree.weightBefore(nodes.get(11)));
+		assertEquals(3, tree.weight(nodes.get(2)));
+	}
+
+	@Test
+	public void addAllInsertsWeightedElements() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		tree.reset(Arrays.asList(0, 4), new int[] { 1, 1 }, null);
+		OrderStatisticTree.Node<Integer>[] nodes = OrderStatisticTree.newNodes(3);
+
+		tree.addAll(1, Arrays.asList(1, 2, 3), new int[] { 0, 2, 0 }, nodes);
+
+		assertEquals(5, tree.size());
+		for (int i = 0; i < 5; ++i) {
+			assertEquals(i, tree.get(i).intValue());
+		}
+		assertEquals(3, tree.weightBefore(4));
+		assertEquals(3, tree.indexOf(nodes[2]));
+	}
+
+	@Test
+	public void moveKeepsNodesAndWeights() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		OrderStatisticTree.Node<Integer>[] nodes = OrderStatisticTree.newNodes(6);
+		tree.reset(Arrays.asList(0, 1, 2, 3, 4, 5), new int[] { 1, 1, 0, 0, 0, 1 }, nodes);
+
+		tree.move(0, 3, 2);
+
+		assertEquals(Arrays.asList(2, 3, 4, 0, 1, 5), toList(tree));
+		assertEquals(3, tree.indexOf(nodes[0]));
+		assertEquals(0, tree.weightBefore(3));
+		assertEquals(2, tree.weightBefore(nodes[5]));
+
+		tree.move(4, 0, 2);
+
+		assertEquals(Arrays.asList(1, 5, 2, 3, 4, 0), toList(tree));
+		assertEquals(2, tree.weightBefore(2));
+	}
+
+	private static List<Integer> toList(OrderStatisticTree<Integer> tree) {
+		List<Integer> list = new ArrayList<>();
+		for (Integer element : tree) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getBeyondSizeThrows() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+		tree.add(0, 1);
+		tree.get(1);
+	}
+}
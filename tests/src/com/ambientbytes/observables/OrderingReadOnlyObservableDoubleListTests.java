@@ -0,0 +1,147 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OrderingReadOnlyObservableDoubleListTests {
+
+	private static final IDoubleOrder ASCENDING = new IDoubleOrder() {
+		@Override
+		public boolean isLess(double lesser, double greater) {
+			return Double.compare(lesser, greater) < 0;
+		}
+	};
+
+	private static final IDoubleOrder DESCENDING = new IDoubleOrder() {
+		@Override
+		public boolean isLess(double lesser, double greater) {
+			return Double.compare(lesser, greater) > 0;
+		}
+	};
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private DoubleListMutator mutator;
+	private IReadOnlyObservableDoubleList source;
+	private MutableObservableReference<IDoubleOrder> order;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		mutator = new DoubleListMutator(monitor);
+		source = ListBuilder.create(monitor).mutableDoubles(mutator).build();
+		order = new MutableObservableReference<>(ASCENDING, monitor);
+	}
+
+	private static void assertValues(double[] expected, IReadOnlyObservableDoubleList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getDouble(i), 0.0);
+		}
+	}
+
+	@Test
+	public void newListSortsSource() {
+		mutator.add(0, new double[] { 5, 1, 4, 2, 3 });
+
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+
+		assertValues(new double[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void addOneReportsPosition() {
+		mutator.add(0, new double[] { 10, 30 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(20);
+
+		assertValues(new double[] { 10, 20, 30 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void addManyReportsRanges() {
+		mutator.add(0, new double[] { 10, 20, 30 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(0, new double[] { 26, 5, 25 });
+
+		assertValues(new double[] { 5, 10, 20, 25, 26, 30 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(3, 2);
+	}
+
+	@Test
+	public void removeReportsPosition() {
+		mutator.add(0, new double[] { 3, 1, 2 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new double[] { 1, 2 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void removeNaNReportsPosition() {
+		mutator.add(0, new double[] { 2, Double.NaN, 1 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.remove(1, 1);
+
+		assertValues(new double[] { 1, 2 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void changeRepositionsValue() {
+		mutator.add(0, new double[] { 1, 2, 3 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+
+		mutator.set(0, 4);
+
+		assertValues(new double[] { 2, 3, 4 }, list);
+	}
+
+	@Test
+	public void moveInSourceIgnored() {
+		mutator.add(0, new double[] { 1, 2, 3 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 2, 1);
+
+		assertValues(new double[] { 1, 2, 3 }, list);
+		verify(observer, never()).moved(0, 2, 1);
+	}
+
+	@Test
+	public void changeOrderReportsPermutation() {
+		mutator.add(0, new double[] { 2, 4, 1, 3 });
+		OrderingReadOnlyObservableDoubleList list = new OrderingReadOnlyObservableDoubleList(source, order, monitor);
+		list.addObserver(observer);
+
+		order.setValue(DESCENDING);
+
+		assertValues(new double[] { 4, 3, 2, 1 }, list);
+		verify(observer, times(1)).permuted(aryEq(new int[] { 3, 2, 1, 0 }));
+		verify(observer, never()).resetting();
+	}
+}
@@ -0,0 +1,134 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OrderingReadOnlyObservableIntListTests {
+
+	private static final IIntOrder ASCENDING = new IIntOrder() {
+		@Override
+		public boolean isLess(int lesser, int greater) {
+			return lesser < greater;
+		}
+	};
+
+	private static final IIntOrder DESCENDING = new IIntOrder() {
+		@Override
+		public boolean isLess(int lesser, int greater) {
+			return lesser > greater;
+		}
+	};
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private IntListMutator mutator;
+	private IReadOnlyObservableIntList source;
+	private MutableObservableReference<IIntOrder> order;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		mutator = new IntListMutator(monitor);
+		source = ListBuilder.create(monitor).mutableInts(mutator).build();
+		order = new MutableObservableReference<>(ASCENDING, monitor);
+	}
+
+	private static void assertValues(int[] expected, IReadOnlyObservableIntList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getInt(i));
+		}
+	}
+
+	@Test
+	public void newListSortsSource() {
+		mutator.add(0, new int[] { 5, 1, 4, 2, 3 });
+
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+
+		assertValues(new int[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void addOneReportsPosition() {
+		mutator.add(0, new int[] { 10, 30 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(20);
+
+		assertValues(new int[] { 10, 20, 30 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void addManyReportsRanges() {
+		mutator.add(0, new int[] { 10, 20, 30 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(0, new int[] { 26, 5, 25 });
+
+		assertValues(new int[] { 5, 10, 20, 25, 26, 30 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(3, 2);
+	}
+
+	@Test
+	public void removeReportsPosition() {
+		mutator.add(0, new int[] { 3, 1, 2 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new int[] { 1, 2 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void changeRepositionsValue() {
+		mutator.add(0, new int[] { 1, 2, 3 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+
+		mutator.set(0, 4);
+
+		assertValues(new int[] { 2, 3, 4 }, list);
+	}
+
+	@Test
+	public void moveInSourceIgnored() {
+		mutator.add(0, new int[] { 1, 2, 3 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 2, 1);
+
+		assertValues(new int[] { 1, 2, 3 }, list);
+		verify(observer, never()).moved(0, 2, 1);
+	}
+
+	@Test
+	public void changeOrderReportsPermutation() {
+		mutator.add(0, new int[] { 2, 4, 1, 3 });
+		OrderingReadOnlyObservableIntList list = new OrderingReadOnlyObservableIntList(source, order, monitor);
+		list.addObserver(observer);
+
+		order.setValue(DESCENDING);
+
+		assertValues(new int[] { 4, 3, 2, 1 }, list);
+		verify(observer, times(1)).permuted(aryEq(new int[] { 3, 2, 1, 0 }));
+		verify(observer, never()).resetting();
+	}
+}
@@ -13,11 +13,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
@@ -42,6 +45,21 @@ public class OrderingReadOnlyObservableListTests {
 		}
 	}
 	
+	private static class IntegerComparator implements IItemsComparator<Integer> {
+		private int isLessCalls = 0;
+		
+		@Override
+		public boolean isLess(Integer lesser, Integer greater) {
+			++isLessCalls;
+			return lesser.intValue() < greater.intValue();
+		}
+
+		@Override
+		public int compare(Integer first, Integer second) {
+			return Integer.compare(first, second);
+		}
+	}
+	
 	private static final class TestItem implements IMutableObject {
 		private final Collection<IObjectMutationObserver> observers;
 		private int value;
@@ -86,6 +104,23 @@ public class OrderingReadOnlyObservableListTests {
 		}
 	}
 
+	private static final class TestKeyOrder implements IItemsKeyOrder<TestItem> {
+		private int isLessCalls = 0;
+		private int getKeyCalls = 0;
+		
+		@Override
+		public boolean isLess(TestItem lesser, TestItem greater) {
+			++isLessCalls;
+			return lesser.getValue() < greater.getValue();
+		}
+
+		@Override
+		public long getKey(TestItem item) {
+			++getKeyCalls;
+			return item.getValue();
+		}
+	}
+
 	@Captor ArgumentCaptor<Collection<Integer>> integerCollectionCaptor;
 	@Captor ArgumentCaptor<Collection<TestItem>> testCollectionCaptor;
 	@Mock IListObserver observer;
@@ -125,6 +160,74 @@ public class OrderingReadOnlyObservableListTests {
 		assertEquals(5, ool.getAt(4).intValue());
 	}
 
+	@Test
+	public void newOrderingReadOnlyObservableListComparatorSortsWithCompare() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(5);
+		mutator.add(3);
+		mutator.add(1);
+		mutator.add(2);
+		mutator.add(4);
+		IntegerComparator order = new IntegerComparator();
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(
+				source,
+				new ImmutableObservableReference<IItemsOrder<Integer>>(order),
+				monitor);
+
+		assertEquals(0, order.isLessCalls);
+		for (int i = 0; i < 5; ++i) {
+			assertEquals(i + 1, ool.getAt(i).intValue());
+		}
+	}
+
+	@Test
+	public void newOrderingReadOnlyObservableListSortsLargeSource() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		ArrayList<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 100000; ++i) {
+			items.add((i * 7919) % 100000);
+		}
+		mutator.add(0, items);
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(
+				source,
+				new ImmutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder()),
+				monitor);
+
+		assertEquals(100000, ool.getSize());
+		for (int i = 0; i < 100000; ++i) {
+			assertEquals(i, ool.getAt(i).intValue());
+		}
+	}
+
+	@Test
+	public void newOrderingReadOnlyObservableListSortsLargeSourceInPool() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		ArrayList<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 100000; ++i) {
+			items.add((i * 7919) % 100000);
+		}
+		mutator.add(0, items);
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(
+					source,
+					new ImmutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder()),
+					pool,
+					monitor);
+
+			assertEquals(100000, ool.getSize());
+			for (int i = 0; i < 100000; ++i) {
+				assertEquals(i, ool.getAt(i).intValue());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	@Test
 	public void addToSourceSortsSourceItems() {
 		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -164,6 +267,41 @@ public class OrderingReadOnlyObservableListTests {
 		verify(observer, times(1)).added(eq(3), eq(1));
 	}
 
+	@Test
+	public void addRangeToSourceReportsRanges() {
+		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
+		IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
+		mutator.add(10);
+		mutator.add(20);
+		mutator.add(30);
+		OrderingReadOnlyObservableList<Integer> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<Integer>>(new IntegerOrder()),
+                monitor);
+		ool.addObserver(observer);
+		Collection<Integer> range = new ArrayList<>();
+		range.add(25);
+		range.add(5);
+		range.add(21);
+		range.add(1);
+		range.add(40);
+		mutator.add(0, range);
+
+		assertEquals(8, ool.getSize());
+		assertEquals(1, ool.getAt(0).intValue());
+		assertEquals(5, ool.getAt(1).intValue());
+		assertEquals(10, ool.getAt(2).intValue());
+		assertEquals(20, ool.getAt(3).intValue());
+		assertEquals(21, ool.getAt(4).intValue());
+		assertEquals(25, ool.getAt(5).intValue());
+		assertEquals(30, ool.getAt(6).intValue());
+		assertEquals(40, ool.getAt(7).intValue());
+		verify(observer, times(1)).added(eq(0), eq(2));
+		verify(observer, times(1)).added(eq(4), eq(2));
+		verify(observer, times(1)).added(eq(7), eq(1));
+		verify(observer, times(3)).added(anyInt(), anyInt());
+	}
+
 	@Test
 	public void removeLowestRemoves() {
 		ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
@@ -281,7 +419,7 @@ public class OrderingReadOnlyObservableListTests {
 	}
 
 	@Test
-	public void changeOrderReportsReset() {
+	public void changeOrderReportsPermutation() {
 		final ListMutator<Integer> mutator = new ListMutator<>(mockMonitor);
 		final IReadOnlyObservableList<Integer> source = ListBuilder.<Integer>create(mockMonitor).mutable(mutator).build();
 		mutator.add(5);
@@ -295,8 +433,9 @@ public class OrderingReadOnlyObservableListTests {
 
 		order.setValue(new IntegerReverseOrder());
 
-		verify(observer, times(1)).resetting();
-		verify(observer, times(1)).reset();
+		verify(observer, times(1)).permuted(aryEq(new int[] { 4, 3, 2, 1, 0 }));
+		verify(observer, never()).resetting();
+		verify(observer, never()).reset();
 	}
 	
 	@Test
@@ -403,6 +542,32 @@ public class OrderingReadOnlyObservableListTests {
 		assertEquals(9, ool.getAt(3).value);
 	}
 	
+	@Test
+	public void mutateDuplicatedItemReordersAllCopies() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		final TestItem item = new TestItem(3);
+		mutator.add(new TestItem(1));
+		mutator.add(item);
+		mutator.add(new TestItem(2));
+		mutator.add(item);
+		mutator.add(new TestItem(4));
+		mutator.add(item);
+		mutator.add(new TestItem(5));
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		
+		item.setValue(0);
+		assertArrayEquals(new int[] { 0, 0, 0, 1, 2, 4, 5 }, valuesOf(ool));
+		item.setValue(9);
+		assertArrayEquals(new int[] { 1, 2, 4, 5, 9, 9, 9 }, valuesOf(ool));
+		item.setValue(3);
+		assertArrayEquals(new int[] { 1, 2, 3, 3, 3, 4, 5 }, valuesOf(ool));
+		assertEquals(3, item.getObserversNumber());
+	}
+	
 	@Test
 	public void mutateItemMoveReported() {
 		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
@@ -423,6 +588,129 @@ public class OrderingReadOnlyObservableListTests {
 		verify(observer, times(1)).moved(2, 3, 1);
 	}
 	
+	@Test
+	public void mutateItemAfterInsertionsMoveReported() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		TestItem item;
+		mutator.add(new TestItem(1));
+		mutator.add(new TestItem(2));
+		mutator.add(item = new TestItem(3));
+		mutator.add(new TestItem(4));
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		ool.addObserver(observer);
+		
+		item.setValue(9);
+		mutator.add(new TestItem(0));
+		item.setValue(-1);
+
+		verify(observer, times(1)).moved(2, 3, 1);
+		verify(observer, times(1)).moved(4, 0, 1);
+		assertSame(item, ool.getAt(0));
+		assertEquals(0, ool.getAt(1).getValue());
+	}
+
+	@Test
+	public void removeOneOfEqualItemsRemovesIdenticalItem() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		TestItem item1, item2;
+		mutator.add(item1 = new TestItem(2));
+		mutator.add(new TestItem(2));
+		mutator.add(item2 = new TestItem(2));
+		mutator.add(new TestItem(1));
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		
+		mutator.remove(1, 1);
+
+		assertEquals(3, ool.getSize());
+		assertEquals(1, ool.getAt(0).getValue());
+		assertSame(item1, ool.getAt(1));
+		assertSame(item2, ool.getAt(2));
+	}
+
+	@Test
+	public void addEqualItemPlacedAfterExistingEqualItems() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		TestItem item1, item2, item3;
+		mutator.add(item1 = new TestItem(2));
+		mutator.add(item2 = new TestItem(1));
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		ool.addObserver(observer);
+
+		mutator.add(0, item3 = new TestItem(2));
+
+		assertEquals(3, ool.getSize());
+		assertSame(item2, ool.getAt(0));
+		assertSame(item1, ool.getAt(1));
+		assertSame(item3, ool.getAt(2));
+		verify(observer, times(1)).added(eq(2), eq(1));
+	}
+
+	@Test
+	public void removeOneOfManyEqualItemsReportsItsPosition() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		for (int i = 0; i < 5; ++i) {
+			mutator.add(new TestItem(7));
+		}
+		final TestItem item = source.getAt(3);
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(new TestOrder()),
+                monitor);
+		ool.addObserver(observer);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				assertSame(item, ool.getAt(3));
+				return null;
+			}
+		}).when(observer).removing(anyInt(), anyInt());
+
+		mutator.remove(3, 1);
+
+		assertEquals(4, ool.getSize());
+		verify(observer, times(1)).removing(eq(3), eq(1));
+		verify(observer, times(1)).removed(eq(3), eq(1));
+	}
+
+	@Test
+	public void keyOrderMutateItemComparesCachedKeys() {
+		final ListMutator<TestItem> mutator = new ListMutator<>(mockMonitor);
+		final IReadOnlyObservableList<TestItem> source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		TestItem item;
+		mutator.add(new TestItem(4));
+		mutator.add(item = new TestItem(3));
+		mutator.add(new TestItem(2));
+		mutator.add(new TestItem(1));
+		TestKeyOrder order = new TestKeyOrder();
+		OrderingReadOnlyObservableList<TestItem> ool = new OrderingReadOnlyObservableList<>(
+		        source,
+                new ImmutableObservableReference<IItemsOrder<TestItem>>(order),
+                monitor);
+		ool.addObserver(observer);
+		
+		item.setValue(9);
+		mutator.add(new TestItem(5));
+
+		assertEquals(0, order.isLessCalls);
+		assertEquals(6, order.getKeyCalls);
+		verify(observer, times(1)).moved(2, 3, 1);
+		verify(observer, times(1)).added(3, 1);
+		assertSame(item, ool.getAt(4));
+	}
+
 	@Test
 	public void resetSourceItemsReplaced() {
 		final TestItem[] originalItems = new TestItem[] { new TestItem(1), new TestItem(2), new TestItem(3), new TestItem(4), new TestItem(5) };
@@ -505,5 +793,14 @@ public class OrderingReadOnlyObservableListTests {
 			assertEquals(0, ool.getAt(i).getObserversNumber());
 		}
 	}
-
+	
+	private static int[] valuesOf(IReadOnlyObservableList<TestItem> list) {
+		final int[] values = new int[list.getSize()];
+		
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = list.getAt(i).getValue();
+		}
+		
+		return values;
+	}
 }
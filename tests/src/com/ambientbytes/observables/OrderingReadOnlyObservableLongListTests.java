@@ -0,0 +1,143 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OrderingReadOnlyObservableLongListTests {
+
+	private static final ILongOrder ASCENDING = new ILongOrder() {
+		@Override
+		public boolean isLess(long lesser, long greater) {
+			return lesser < greater;
+		}
+	};
+
+	private static final ILongOrder DESCENDING = new ILongOrder() {
+		@Override
+		public boolean isLess(long lesser, long greater) {
+			return lesser > greater;
+		}
+	};
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private LongListMutator mutator;
+	private IReadOnlyObservableLongList source;
+	private MutableObservableReference<ILongOrder> order;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		mutator = new LongListMutator(monitor);
+		source = ListBuilder.create(monitor).mutableLongs(mutator).build();
+		order = new MutableObservableReference<>(ASCENDING, monitor);
+	}
+
+	private static void assertValues(long[] expected, IReadOnlyObservableLongList list) {
+		assertEquals(expected.length, list.getSize());
+		for (int i = 0; i < expected.length; ++i) {
+			assertEquals(expected[i], list.getLong(i));
+		}
+	}
+
+	@Test
+	public void newListSortsSource() {
+		mutator.add(0, new long[] { 5, 1, 4, 2, 3 });
+
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+
+		assertValues(new long[] { 1, 2, 3, 4, 5 }, list);
+	}
+
+	@Test
+	public void newListSortsValuesBeyondIntRange() {
+		mutator.add(0, new long[] { Long.MAX_VALUE, 1L << 40, Long.MIN_VALUE, -(1L << 40) });
+
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+
+		assertValues(new long[] { Long.MIN_VALUE, -(1L << 40), 1L << 40, Long.MAX_VALUE }, list);
+	}
+
+	@Test
+	public void addOneReportsPosition() {
+		mutator.add(0, new long[] { 10, 30 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(20);
+
+		assertValues(new long[] { 10, 20, 30 }, list);
+		verify(observer, times(1)).added(1, 1);
+	}
+
+	@Test
+	public void addManyReportsRanges() {
+		mutator.add(0, new long[] { 10, 20, 30 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.add(0, new long[] { 26, 5, 25 });
+
+		assertValues(new long[] { 5, 10, 20, 25, 26, 30 }, list);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(3, 2);
+	}
+
+	@Test
+	public void removeReportsPosition() {
+		mutator.add(0, new long[] { 3, 1, 2 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.remove(0, 1);
+
+		assertValues(new long[] { 1, 2 }, list);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+	}
+
+	@Test
+	public void changeRepositionsValue() {
+		mutator.add(0, new long[] { 1, 2, 3 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+
+		mutator.set(0, 4);
+
+		assertValues(new long[] { 2, 3, 4 }, list);
+	}
+
+	@Test
+	public void moveInSourceIgnored() {
+		mutator.add(0, new long[] { 1, 2, 3 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+		list.addObserver(observer);
+
+		mutator.move(0, 2, 1);
+
+		assertValues(new long[] { 1, 2, 3 }, list);
+		verify(observer, never()).moved(0, 2, 1);
+	}
+
+	@Test
+	public void changeOrderReportsPermutation() {
+		mutator.add(0, new long[] { 2, 4, 1, 3 });
+		OrderingReadOnlyObservableLongList list = new OrderingReadOnlyObservableLongList(source, order, monitor);
+		list.addObserver(observer);
+
+		order.setValue(DESCENDING);
+
+		assertValues(new long[] { 4, 3, 2, 1 }, list);
+		verify(observer, times(1)).permuted(aryEq(new int[] { 3, 2, 1, 0 }));
+		verify(observer, never()).resetting();
+	}
+}
@@ -0,0 +1,89 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RangeTaskTests {
+
+	@Test
+	public void invokeComputesEveryIndexOnceInChunks() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final int size = 1000;
+			final int chunkSize = 64;
+			final AtomicIntegerArray counts = new AtomicIntegerArray(size);
+
+			RangeTask.invoke(pool, new RangeTask.Operation() {
+				@Override
+				void compute(int startIndex, int endIndex) {
+					assertTrue(endIndex - startIndex <= chunkSize);
+					for (int i = startIndex; i < endIndex; ++i) {
+						counts.incrementAndGet(i);
+					}
+				}
+			}, size, chunkSize);
+
+			for (int i = 0; i < size; ++i) {
+				assertEquals(1, counts.get(i));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void invokeMergesComputedParts() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final int size = 300;
+			final int[] sums = new int[size + 1];
+
+			RangeTask.invoke(pool, new RangeTask.Operation() {
+				@Override
+				void compute(int startIndex, int endIndex) {
+					sums[startIndex] = endIndex - startIndex;
+				}
+
+				@Override
+				void merge(int startIndex, int middleIndex, int endIndex) {
+					assertEquals(middleIndex - startIndex, sums[startIndex]);
+					assertEquals(endIndex - middleIndex, sums[middleIndex]);
+					sums[startIndex] += sums[middleIndex];
+				}
+			}, size, 16);
+
+			assertEquals(size, sums[0]);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void invokeSmallRangeComputesOnePart() {
+		ForkJoinPool pool = new ForkJoinPool(2);
+
+		try {
+			final int[] calls = new int[1];
+
+			RangeTask.invoke(pool, new RangeTask.Operation() {
+				@Override
+				void compute(int startIndex, int endIndex) {
+					assertEquals(0, startIndex);
+					assertEquals(10, endIndex);
+					++calls[0];
+				}
+			}, 10, 16);
+
+			assertEquals(1, calls[0]);
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
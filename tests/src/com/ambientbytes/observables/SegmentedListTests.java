@@ -0,0 +1,496 @@
+package com.ambientbytes.observables;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SegmentedListTests {
+
+	private static List<Integer> range(int start, int count) {
+		List<Integer> values = new ArrayList<>(count);
+
+		for (int i = 0; i < count; ++i) {
+			values.add(start + i);
+		}
+
+		return values;
+	}
+
+	private static void assertContents(List<Integer> expected, SegmentedList<Integer> list) {
+		assertEquals(expected.size(), list.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i), list.get(i));
+		}
+	}
+
+	@Test
+	public void newListEmpty() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+
+		assertEquals(0, list.size());
+		assertEquals(0, list.toArray().length);
+		assertFalse(list.iterator().hasNext());
+	}
+
+	@Test
+	public void addManyAppendsAcrossChunks() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		final int count = SegmentedList.CHUNK_CAPACITY * 3 + 5;
+
+		for (int i = 0; i < count; ++i) {
+			list.add(i);
+		}
+
+		assertContents(range(0, count), list);
+	}
+
+	@Test
+	public void addToSmallListGrowsChunk() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, SegmentedList.INITIAL_CAPACITY);
+		list.addAll(expected);
+		IListSnapshot<Integer> snapshot = list.snapshot();
+
+		for (int i = 0; i < SegmentedList.INITIAL_CAPACITY * 3; ++i) {
+			list.add(i % 5, -i);
+			expected.add(i % 5, -i);
+		}
+
+		assertContents(expected, list);
+		assertEquals(SegmentedList.INITIAL_CAPACITY, snapshot.getSize());
+		for (int i = 0; i < SegmentedList.INITIAL_CAPACITY; ++i) {
+			assertEquals(Integer.valueOf(i), snapshot.getAt(i));
+		}
+	}
+
+	@Test
+	public void addToFullChunkInserts() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, SegmentedList.CHUNK_CAPACITY);
+		list.addAll(expected);
+
+		list.add(10, -1);
+		list.add(SegmentedList.CHUNK_CAPACITY - 10, -2);
+		expected.add(10, -1);
+		expected.add(SegmentedList.CHUNK_CAPACITY - 10, -2);
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void addAllInMiddleInserts() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 3000);
+		list.addAll(expected);
+
+		list.addAll(1500, range(10000, 2500));
+		list.addAll(7, range(20000, 3));
+		expected.addAll(1500, range(10000, 2500));
+		expected.addAll(7, range(20000, 3));
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void removeRangeAcrossChunksRemoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 5000);
+		list.addAll(expected);
+
+		list.remove(100, 3000);
+		expected.subList(100, 3100).clear();
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void removeAllElementsEmpties() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.addAll(range(0, 3000));
+
+		list.remove(0, 3000);
+		list.add(5);
+
+		assertEquals(1, list.size());
+		assertEquals(5, list.get(0).intValue());
+	}
+
+	@Test
+	public void removeToSingleChunkReadsAndWrites() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 3000);
+		list.addAll(expected);
+
+		list.remove(100, 2700);
+		list.set(50, -1);
+		list.add(150, -2);
+		expected.subList(100, 2800).clear();
+		expected.set(50, -1);
+		expected.add(150, -2);
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void removeOneReturnsRemoved() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 2000);
+		list.addAll(expected);
+
+		assertEquals(1500, list.remove(1500).intValue());
+		expected.remove(1500);
+
+		assertContents(expected, list);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void removeRangeBeyondEndThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.addAll(range(0, 10));
+
+		list.remove(5, 6);
+	}
+
+	@Test
+	public void moveUpAcrossChunksMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 4000);
+		list.addAll(expected);
+
+		list.move(100, 2500, 1200);
+		List<Integer> moved = new ArrayList<>(expected.subList(100, 1300));
+		expected.subList(100, 1300).clear();
+		expected.addAll(2500, moved);
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void moveDownMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 10);
+		list.addAll(expected);
+
+		list.move(6, 1, 3);
+		List<Integer> moved = new ArrayList<>(expected.subList(6, 9));
+		expected.subList(6, 9).clear();
+		expected.addAll(1, moved);
+
+		assertContents(expected, list);
+	}
+
+	@Test
+	public void permuteRearranges() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.addAll(range(1, 5));
+
+		list.permute(1, new int[] { 2, 0, 1 });
+
+		assertEquals(1, list.get(0).intValue());
+		assertEquals(3, list.get(1).intValue());
+		assertEquals(4, list.get(2).intValue());
+		assertEquals(2, list.get(3).intValue());
+		assertEquals(5, list.get(4).intValue());
+	}
+
+	@Test
+	public void iteratorVisitsAllElements() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.addAll(range(0, 3000));
+		list.remove(1000, 24);
+
+		Iterator<Integer> iterator = list.iterator();
+		for (int i = 0; i < list.size(); ++i) {
+			assertEquals(list.get(i), iterator.next());
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void snapshotKeepsContentsAfterChanges() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		List<Integer> expected = range(0, 3000);
+		list.addAll(expected);
+
+		IListSnapshot<Integer> snapshot = list.snapshot();
+		list.set(5, -1);
+		list.add(1500, -2);
+		list.remove(2000, 700);
+		list.move(0, 1000, 10);
+
+		assertEquals(expected.size(), snapshot.getSize());
+		for (int i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i), snapshot.getAt(i));
+		}
+		assertEquals(-1, list.get(1005).intValue());
+	}
+
+	@Test
+	public void snapshotOfUnchangedListReused() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.addAll(range(0, 10));
+
+		IListSnapshot<Integer> snapshot = list.snapshot();
+
+		assertSame(snapshot, list.snapshot());
+		list.set(0, 1);
+		assertNotSame(snapshot, list.snapshot());
+	}
+
+	@Test
+	public void removeRangeAtBeginningRemoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.remove(0, 3);
+		
+		assertEquals(3, list.size());
+		assertEquals(4, list.get(0).intValue());
+		assertEquals(5, list.get(1).intValue());
+		assertEquals(6, list.get(2).intValue());
+	}
+
+	@Test
+	public void removeRangeAtEndRemoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.remove(3, 3);
+		
+		assertEquals(3, list.size());
+		assertEquals(1, list.get(0).intValue());
+		assertEquals(2, list.get(1).intValue());
+		assertEquals(3, list.get(2).intValue());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void removeNegativeLengthThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.remove(3, -2);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void removeNegativeStartThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.remove(-2, 2);
+	}
+
+	@Test
+	public void moveUpNoOverlapMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(0, 4, 2);
+		assertEquals(3, list.get(0).intValue());
+		assertEquals(4, list.get(1).intValue());
+		assertEquals(5, list.get(2).intValue());
+		assertEquals(6, list.get(3).intValue());
+		assertEquals(1, list.get(4).intValue());
+		assertEquals(2, list.get(5).intValue());
+	}
+
+	@Test
+	public void moveUpOverlapMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(0, 2, 4);
+		assertEquals(5, list.get(0).intValue());
+		assertEquals(6, list.get(1).intValue());
+		assertEquals(1, list.get(2).intValue());
+		assertEquals(2, list.get(3).intValue());
+		assertEquals(3, list.get(4).intValue());
+		assertEquals(4, list.get(5).intValue());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void moveUpTooMuchThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(0, 2, 10);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void moveUpTooFarThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(0, 5, 2);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void moveNegativeSourceThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(-3, 2, 2);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void moveNegativeDestinationThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(3, -2, 2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void moveNegativeLengthThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(0, 5, -2);
+	}
+
+	@Test
+	public void moveDownNoOverlapMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(4, 0, 2);
+		assertEquals(5, list.get(0).intValue());
+		assertEquals(6, list.get(1).intValue());
+		assertEquals(1, list.get(2).intValue());
+		assertEquals(2, list.get(3).intValue());
+		assertEquals(3, list.get(4).intValue());
+		assertEquals(4, list.get(5).intValue());
+	}
+
+	@Test
+	public void moveDownOverlapMoves() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(2, 0, 3);
+		assertEquals(3, list.get(0).intValue());
+		assertEquals(4, list.get(1).intValue());
+		assertEquals(5, list.get(2).intValue());
+		assertEquals(1, list.get(3).intValue());
+		assertEquals(2, list.get(4).intValue());
+		assertEquals(6, list.get(5).intValue());
+	}
+
+	@Test
+	public void moveSamePlaceNoChanges() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(2, 2, 3);
+		assertEquals(1, list.get(0).intValue());
+		assertEquals(2, list.get(1).intValue());
+		assertEquals(3, list.get(2).intValue());
+		assertEquals(4, list.get(3).intValue());
+		assertEquals(5, list.get(4).intValue());
+		assertEquals(6, list.get(5).intValue());
+	}
+
+	@Test
+	public void moveZeroLengthNoChanges() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+		list.add(3);
+		list.add(4);
+		list.add(5);
+		list.add(6);
+
+		list.move(2, 3, 0);
+		assertEquals(1, list.get(0).intValue());
+		assertEquals(2, list.get(1).intValue());
+		assertEquals(3, list.get(2).intValue());
+		assertEquals(4, list.get(3).intValue());
+		assertEquals(5, list.get(4).intValue());
+		assertEquals(6, list.get(5).intValue());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void permuteBeyondEndThrows() {
+		SegmentedList<Integer> list = new SegmentedList<>();
+		list.add(1);
+		list.add(2);
+
+		list.permute(1, new int[] { 1, 0 });
+	}
+}
@@ -0,0 +1,178 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SortedMergingReadOnlyObservableListTests {
+
+	@Mock IListObserver observer;
+
+	private IReadWriteMonitor monitor;
+	private MutableListSet<TestItem> sources;
+	private ListMutator<TestItem> mutator1;
+	private ListMutator<TestItem> mutator2;
+	private IReadOnlyObservableList<TestItem> source1;
+	private IReadOnlyObservableList<TestItem> source2;
+	private IItemsOrder<TestItem> order;
+
+	private static final class TestItem implements IMutableObject {
+		private final Collection<IObjectMutationObserver> observers;
+		private int value;
+
+		TestItem(int value) {
+			this.observers = new HashSet<>();
+			this.value = value;
+		}
+
+		public int getValue() {
+			return value;
+		}
+
+		public void setValue(int value) {
+			if (this.value != value) {
+				this.value = value;
+				for (IObjectMutationObserver observer : observers) {
+					observer.mutated();
+				}
+			}
+		}
+
+		@Override
+		public void addObserver(IObjectMutationObserver observer) {
+			observers.add(observer);
+		}
+
+		@Override
+		public void removeObserver(IObjectMutationObserver observer) {
+			observers.remove(observer);
+		}
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		monitor = new DummyReadWriteMonitor();
+		sources = new MutableListSet<TestItem>(monitor);
+		mutator1 = new ListMutator<>(monitor);
+		mutator2 = new ListMutator<>(monitor);
+		order = new IItemsOrder<TestItem>() {
+			@Override
+			public boolean isLess(TestItem lesser, TestItem greater) {
+				return lesser.getValue() < greater.getValue();
+			}
+		};
+		source1 = ListBuilder.<TestItem>create(monitor).mutable(mutator1).order(new ImmutableObservableReference<>(order)).build();
+		source2 = ListBuilder.<TestItem>create(monitor).mutable(mutator2).order(new ImmutableObservableReference<>(order)).build();
+		mutator1.add(0, Arrays.asList(new TestItem(1), new TestItem(5), new TestItem(9)));
+		mutator2.add(0, Arrays.asList(new TestItem(2), new TestItem(6)));
+		sources.add(source1);
+		sources.add(source2);
+	}
+
+	@Test
+	public void newListMergesSources() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+
+		assertValues(sml, 1, 2, 5, 6, 9);
+	}
+
+	@Test
+	public void addToSourceInsertsInOrder() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+		sml.addObserver(observer);
+
+		mutator2.add(new TestItem(7));
+
+		assertValues(sml, 1, 2, 5, 6, 7, 9);
+		verify(observer, times(1)).added(4, 1);
+	}
+
+	@Test
+	public void removeFromSourceRemovesItem() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+		final TestItem removed = source1.getAt(1);
+		sml.addObserver(observer);
+
+		mutator1.remove(1, 1);
+
+		assertValues(sml, 1, 2, 6, 9);
+		verify(observer, times(1)).removing(2, 1);
+		verify(observer, times(1)).removed(2, 1);
+		assertEquals(0, removed.observers.size());
+	}
+
+	@Test
+	public void addListMergesItems() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+		final ListMutator<TestItem> mutator3 = new ListMutator<>(monitor);
+		final IReadOnlyObservableList<TestItem> source3 = ListBuilder.<TestItem>create(monitor).mutable(mutator3).order(new ImmutableObservableReference<>(order)).build();
+		mutator3.add(0, Arrays.asList(new TestItem(0), new TestItem(3), new TestItem(4)));
+		sml.addObserver(observer);
+
+		sources.add(source3);
+
+		assertValues(sml, 0, 1, 2, 3, 4, 5, 6, 9);
+		verify(observer, times(1)).added(0, 1);
+		verify(observer, times(1)).added(3, 2);
+	}
+
+	@Test
+	public void removeListRemovesItems() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+
+		sources.remove(source2);
+
+		assertValues(sml, 1, 5, 9);
+	}
+
+	@Test
+	public void mutatedItemMoves() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+		sml.addObserver(observer);
+
+		//
+		// The item stays first in its source list but moves past an item of the other list.
+		//
+		source1.getAt(0).setValue(3);
+
+		assertValues(sml, 2, 3, 5, 6, 9);
+		verify(observer, times(1)).moved(0, 1, 1);
+	}
+
+	@Test
+	public void resetSourceReloadsItems() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+		sml.addObserver(observer);
+
+		mutator1.reset(Arrays.asList(new TestItem(8), new TestItem(3)));
+
+		assertValues(sml, 2, 3, 6, 8);
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+	}
+
+	@Test
+	public void itemsReadFromSources() {
+		SortedMergingReadOnlyObservableList<TestItem> sml = new SortedMergingReadOnlyObservableList<>(sources, order, monitor);
+
+		assertSame(source2.getAt(0), sml.getAt(1));
+	}
+
+	private static void assertValues(IReadOnlyObservableList<TestItem> list, int... values) {
+		assertEquals(values.length, list.getSize());
+		for (int i = 0; i < values.length; ++i) {
+			assertEquals(values[i], list.getAt(i).getValue());
+		}
+	}
+}
@@ -0,0 +1,329 @@
+package com.ambientbytes.observables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SourceOrderFilteringReadOnlyObservableListTests {
+
+	private static class TestItem implements IMutableObject {
+
+		private final List<IObjectMutationObserver> observers;
+		private int value;
+
+		public TestItem(int value) {
+			this.observers = new ArrayList<IObjectMutationObserver>();
+			this.value = value;
+		}
+
+		@Override
+		public void addObserver(IObjectMutationObserver observer) {
+			observers.add(observer);
+		}
+
+		@Override
+		public void removeObserver(IObjectMutationObserver observer) {
+			observers.remove(observer);
+		}
+
+		public int getValue() {
+			return value;
+		}
+
+		public void setValue(int value) {
+			if (this.value != value) {
+				this.value = value;
+				for (IObjectMutationObserver observer : new ArrayList<>(observers)) {
+					observer.mutated();
+				}
+			}
+		}
+	}
+
+	private static class TestFilter implements IItemFilter<TestItem> {
+		@Override
+		public boolean isIn(TestItem item) {
+			return item.getValue() < 10;
+		}
+	}
+
+	@Mock IListObserver observer;
+	@Mock IReadWriteMonitor mockMonitor;
+	@Mock IResource rLock;
+	@Mock IResource wLock;
+	private IReadWriteMonitor monitor;
+	private ListMutator<TestItem> mutator;
+	private IReadOnlyObservableList<TestItem> source;
+	private MutableObservableReference<IItemFilter<TestItem>> filter;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		when(mockMonitor.acquireRead()).thenReturn(rLock);
+		when(mockMonitor.acquireWrite()).thenReturn(wLock);
+		monitor = new DummyReadWriteMonitor();
+		mutator = new ListMutator<>(mockMonitor);
+		source = ListBuilder.<TestItem>create(mockMonitor).mutable(mutator).build();
+		filter = new MutableObservableReference<IItemFilter<TestItem>>(new TestFilter(), monitor);
+	}
+
+	@Test
+	public void newListKeepsSourceOrder() {
+		TestItem item1, item2;
+		mutator.add(0, Arrays.asList(item1 = new TestItem(1), new TestItem(11), item2 = new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+
+		assertEquals(2, fol.getSize());
+		assertSame(item1, fol.getAt(0));
+		assertSame(item2, fol.getAt(1));
+	}
+
+	@Test
+	public void snapshotKeepsItemsAfterChanges() {
+		TestItem item1, item2;
+		mutator.add(0, Arrays.asList(item1 = new TestItem(1), new TestItem(11), item2 = new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+
+		IListSnapshot<TestItem> snapshot = fol.snapshot();
+		item2.setValue(12);
+		mutator.add(0, new TestItem(3));
+		mutator.remove(1, 1);
+
+		assertEquals(1, fol.getSize());
+		assertEquals(2, snapshot.getSize());
+		assertSame(item1, snapshot.getAt(0));
+		assertSame(item2, snapshot.getAt(1));
+	}
+
+	@Test
+	public void addInsertsAtSourcePosition() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(11), new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		mutator.add(2, Arrays.asList(item = new TestItem(3), new TestItem(12)));
+
+		assertEquals(3, fol.getSize());
+		assertSame(item, fol.getAt(1));
+		verify(observer, times(1)).added(eq(1), eq(1));
+	}
+
+	@Test
+	public void addInvisibleNotReported() {
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		mutator.add(1, new TestItem(11));
+
+		assertEquals(2, fol.getSize());
+		verify(observer, never()).added(anyInt(), anyInt());
+	}
+
+	@Test
+	public void removeRangeReportsVisibleRange() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(2), new TestItem(11), new TestItem(3), item = new TestItem(4)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		mutator.remove(1, 3);
+
+		assertEquals(2, fol.getSize());
+		assertSame(item, fol.getAt(1));
+		verify(observer, times(1)).removing(eq(1), eq(2));
+		verify(observer, times(1)).removed(eq(1), eq(2));
+	}
+
+	@Test
+	public void moveReportsFilteredMove() {
+		TestItem item1, item2;
+		mutator.add(0, Arrays.asList(item1 = new TestItem(1), new TestItem(11), new TestItem(2), new TestItem(12), item2 = new TestItem(3)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		mutator.move(0, 3, 2);
+
+		assertEquals(3, fol.getSize());
+		assertSame(item2, fol.getAt(1));
+		assertSame(item1, fol.getAt(2));
+		verify(observer, times(1)).moved(eq(0), eq(2), eq(1));
+	}
+
+	@Test
+	public void permuteSourceReportsFilteredPermutation() {
+		TestItem item1, item2, item3;
+		mutator.add(0, Arrays.asList(item1 = new TestItem(3), new TestItem(11), item2 = new TestItem(1), item3 = new TestItem(2)));
+		MutableObservableReference<IItemsOrder<TestItem>> order = new MutableObservableReference<IItemsOrder<TestItem>>(new IItemsOrder<TestItem>() {
+			@Override
+			public boolean isLess(TestItem lesser, TestItem greater) {
+				return false;
+			}
+		}, monitor);
+		OrderingReadOnlyObservableList<TestItem> ordered = new OrderingReadOnlyObservableList<>(source, order, monitor);
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(ordered, filter, monitor);
+		fol.addObserver(observer);
+
+		order.setValue(new IItemsOrder<TestItem>() {
+			@Override
+			public boolean isLess(TestItem lesser, TestItem greater) {
+				return lesser.getValue() < greater.getValue();
+			}
+		});
+
+		assertEquals(3, fol.getSize());
+		assertSame(item2, fol.getAt(0));
+		assertSame(item3, fol.getAt(1));
+		assertSame(item1, fol.getAt(2));
+		verify(observer, times(1)).permuted(aryEq(new int[] { 2, 0, 1 }));
+	}
+
+	@Test
+	public void changeToFewerVisibleReportsChangedAndRemoved() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(2), new TestItem(3), new TestItem(4)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		mutator.set(1, Arrays.asList(item = new TestItem(5), new TestItem(15)));
+
+		assertEquals(3, fol.getSize());
+		assertSame(item, fol.getAt(1));
+		verify(observer, times(1)).changing(eq(1), eq(1));
+		verify(observer, times(1)).changed(eq(1), eq(1));
+		verify(observer, times(1)).removing(eq(2), eq(1));
+		verify(observer, times(1)).removed(eq(2), eq(1));
+	}
+
+	@Test
+	public void mutateToAllowedItemAppearsInSourcePosition() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), item = new TestItem(11), new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		item.setValue(3);
+
+		assertEquals(3, fol.getSize());
+		assertSame(item, fol.getAt(1));
+		verify(observer, times(1)).added(eq(1), eq(1));
+	}
+
+	@Test
+	public void mutateToDisallowedItemDisappears() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), item = new TestItem(2), new TestItem(3)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		item.setValue(12);
+
+		assertEquals(2, fol.getSize());
+		verify(observer, times(1)).removing(eq(1), eq(1));
+		verify(observer, times(1)).removed(eq(1), eq(1));
+	}
+
+	@Test
+	public void mutateAfterMoveAppearsInNewSourcePosition() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), item = new TestItem(11), new TestItem(2), new TestItem(3)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		mutator.move(1, 3, 1);
+		fol.addObserver(observer);
+
+		item.setValue(4);
+
+		assertEquals(4, fol.getSize());
+		assertSame(item, fol.getAt(3));
+		verify(observer, times(1)).added(eq(3), eq(1));
+	}
+
+	@Test
+	public void mutateRemovedItemIgnored() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), item = new TestItem(11), new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		final List<IObjectMutationObserver> advised = new ArrayList<>(item.observers);
+		mutator.remove(1, 1);
+		item.value = 3;
+
+		advised.get(0).mutated();
+
+		assertEquals(2, fol.getSize());
+	}
+
+	@Test
+	public void changeFilterReportsFlippedRanges() {
+		TestItem item1, item2;
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(2), item1 = new TestItem(11), new TestItem(3), new TestItem(4), item2 = new TestItem(12), new TestItem(5), new TestItem(6)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		filter.setValue(new IItemFilter<TestItem>() {
+			@Override
+			public boolean isIn(TestItem item) {
+				return item.getValue() != 2 && item.getValue() != 3;
+			}
+		});
+
+		assertEquals(6, fol.getSize());
+		assertSame(item1, fol.getAt(1));
+		assertSame(item2, fol.getAt(3));
+		verify(observer, never()).resetting();
+		verify(observer, times(1)).removing(eq(1), eq(1));
+		verify(observer, times(1)).added(eq(1), eq(1));
+		verify(observer, times(1)).removing(eq(2), eq(1));
+		verify(observer, times(1)).added(eq(3), eq(1));
+	}
+
+	@Test
+	public void changeFilterMostItemsFlipResets() {
+		mutator.add(0, Arrays.asList(new TestItem(1), new TestItem(2), new TestItem(11)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		filter.setValue(new IItemFilter<TestItem>() {
+			@Override
+			public boolean isIn(TestItem item) {
+				return item.getValue() >= 10;
+			}
+		});
+
+		assertEquals(1, fol.getSize());
+		verify(observer, times(1)).resetting();
+		verify(observer, times(1)).reset();
+		verify(observer, never()).removing(anyInt(), anyInt());
+	}
+
+	@Test
+	public void unlinkNoMoreUpdates() {
+		TestItem item;
+		mutator.add(0, Arrays.asList(new TestItem(1), item = new TestItem(2)));
+		SourceOrderFilteringReadOnlyObservableList<TestItem> fol = new SourceOrderFilteringReadOnlyObservableList<>(source, filter, monitor);
+		fol.addObserver(observer);
+
+		fol.unlink();
+		item.setValue(12);
+		mutator.add(new TestItem(3));
+
+		assertEquals(2, fol.getSize());
+		verify(observer, never()).removing(anyInt(), anyInt());
+		verify(observer, never()).added(anyInt(), anyInt());
+	}
+}